@@ -0,0 +1,125 @@
+package org.GCremez;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a JMH run saved with {@code -rf csv} against the checked-in baseline and lists every
+ * benchmark with its change. Benchmarks are matched by name and parameters; a score worse than the
+ * baseline by more than the threshold (10% by default) is a regression and makes the exit status 1.
+ * <p>
+ * Usage: {@code BaselineComparison <baseline.csv> <current.csv> [threshold-percent]}
+ */
+public final class BaselineComparison {
+
+    record Result(String key, String mode, double score, double error, String unit) {
+        // Throughput improves upwards, every other mode measures time
+        double change(Result baseline) {
+            double ratio = score / baseline.score;
+            return "thrpt".equals(mode) ? 1 / ratio - 1 : ratio - 1;
+        }
+    }
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.csv> <current.csv> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) / 100 : 0.10;
+        Map<String, Result> baseline = read(Path.of(args[0]));
+        Map<String, Result> current = read(Path.of(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-72s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Result result : current.values()) {
+            Result before = baseline.get(result.key());
+            if (before == null) {
+                System.out.printf("%-72s %14s %14s %9s%n", result.key(), "-", format(result), "new");
+                continue;
+            }
+            if (!before.unit().equals(result.unit()) || !before.mode().equals(result.mode())) {
+                System.out.printf("%-72s %14s %14s %9s%n", result.key(), format(before), format(result), "n/a");
+                continue;
+            }
+            double change = result.change(before);
+            boolean regressed = change > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-72s %14s %14s %+8.1f%%%s%n", result.key(), format(before), format(result),
+                    change * 100, regressed ? "  REGRESSION" : "");
+        }
+        for (Result missing : baseline.values()) {
+            if (!current.containsKey(missing.key())) {
+                System.out.printf("%-72s %14s %14s %9s%n", missing.key(), format(missing), "-", "not run");
+            }
+        }
+        System.out.printf("%d regression(s) beyond %.0f%%%n", regressions, threshold * 100);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    static Map<String, Result> read(Path csv) throws IOException {
+        List<String> lines = Files.readAllLines(csv);
+        if (lines.isEmpty()) {
+            throw new IOException(csv + " is empty");
+        }
+        List<String> header = split(lines.get(0));
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> row = split(line);
+            String benchmark = row.get(header.indexOf("Benchmark"));
+            // Secondary results such as ":gc.alloc.rate" are left out
+            if (benchmark.contains(":")) {
+                continue;
+            }
+            StringBuilder key = new StringBuilder(benchmark.replace("org.GCremez.", ""));
+            for (int i = 0; i < header.size() && i < row.size(); i++) {
+                if (header.get(i).startsWith("Param: ") && !row.get(i).isEmpty()) {
+                    key.append(' ').append(header.get(i).substring(7)).append('=').append(row.get(i));
+                }
+            }
+            String error = row.get(header.indexOf("Score Error (99.9%)"));
+            Result result = new Result(key.toString(), row.get(header.indexOf("Mode")),
+                    Double.parseDouble(row.get(header.indexOf("Score"))),
+                    error.isEmpty() || error.equals("NaN") ? Double.NaN : Double.parseDouble(error),
+                    row.get(header.indexOf("Unit")));
+            results.put(result.key(), result);
+        }
+        return results;
+    }
+
+    private static String format(Result result) {
+        return String.format("%.3f %s", result.score(), result.unit());
+    }
+
+    // Splits one CSV row as JMH writes it: fields optionally in double quotes, no embedded quotes
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,75 @@
+package org.GCremez.analytics;
+
+import org.GCremez.storage.SessionLogParser;
+import org.GCremez.storage.SessionRollup;
+import org.GCremez.storage.SyntheticSessionLog;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The analytics entry points over synthetic logs from {@link SyntheticSessionLog}:
+ * <ul>
+ *     <li>loadSessions - every session in the log read back as a {@code Session}</li>
+ *     <li>printStats - the dashboard, rendered to a discarding stream</li>
+ * </ul>
+ * The default sizes keep a run short; add {@code -p lines=10000000,100000000} for the large logs,
+ * which are generated once and reused from {@code java.io.tmpdir}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyticsServiceBenchmark {
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(9999, 1, 1, 0, 0);
+    // The default of pomodoro.analytics.max-recent-sessions
+    private static final int RECENT_SESSIONS = 5;
+
+    @Param({"1000", "1000000"})
+    public long lines;
+
+    private Path log;
+    private PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        log = SyntheticSessionLog.cached(lines);
+        // The rollup is rebuilt on the first printStats, which then measures the steady state
+        Files.deleteIfExists(SessionRollup.sidecarFor(log));
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.setOut(stdout);
+        Files.deleteIfExists(SessionRollup.sidecarFor(log));
+    }
+
+    @Benchmark
+    public long loadSessions(Blackhole bh) {
+        return AnalyticsService.forEachSessionBetween(log, EPOCH, END, (type, second, nano, duration) ->
+                bh.consume(SessionLogParser.toSession(type, second, nano, duration)));
+    }
+
+    @Benchmark
+    public void printStats() {
+        AnalyticsService.printStats(log, RECENT_SESSIONS);
+    }
+
+    @Benchmark
+    public SessionStats computeStats() {
+        return AnalyticsService.computeStats(log, LocalDate.of(2020, 6, 1), RECENT_SESSIONS);
+    }
+}
@@ -0,0 +1,74 @@
+package org.GCremez.analytics;
+
+import org.GCremez.model.Session;
+import org.GCremez.storage.SessionEncoder;
+import org.GCremez.storage.SessionRollup;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard latency as the session log grows. The log spans ten years whatever its size, so the
+ * rollup always holds about 3,650 days while the raw log goes from 10k to 10M records.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class DashboardBenchmark {
+    private static final long HISTORY_SECONDS = TimeUnit.DAYS.toSeconds(3650);
+    // The default of pomodoro.analytics.max-recent-sessions
+    private static final int RECENT_SESSIONS = 5;
+
+    @Param({"10000", "1000000", "10000000"})
+    public int sessions;
+
+    private Path directory;
+    private Path log;
+    private LocalDate today;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("dashboard-bench");
+        log = directory.resolve("Session_log.json");
+        LocalDateTime start = LocalDateTime.of(2014, 1, 1, 0, 0);
+        SessionType[] types = SessionType.values();
+        try (BufferedWriter writer = Files.newBufferedWriter(log)) {
+            for (int i = 0; i < sessions; i++) {
+                long offset = HISTORY_SECONDS * i / sessions;
+                writer.write(SessionEncoder.toJson(new Session(types[i % types.length], Duration.ofMinutes(5 + i % 25),
+                        start.plusSeconds(offset))));
+                writer.write('\n');
+            }
+        }
+        today = start.plusSeconds(HISTORY_SECONDS).toLocalDate();
+        SessionRollup.open(log);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(SessionRollup.sidecarFor(log));
+        Files.deleteIfExists(log);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public SessionStats rollup() {
+        return AnalyticsService.computeStats(log, today, RECENT_SESSIONS);
+    }
+
+    @Benchmark
+    public SessionStats fullScan() throws IOException {
+        return AnalyticsService.scanStats(log, today, RECENT_SESSIONS);
+    }
+}
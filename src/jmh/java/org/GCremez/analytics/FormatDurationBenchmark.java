@@ -0,0 +1,33 @@
+package org.GCremez.analytics;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of formatting one dashboard duration, for values under and over an hour.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatDurationBenchmark {
+
+    @Param({"PT25M", "PT137H42M"})
+    public String duration;
+
+    private Duration value;
+
+    @Setup
+    public void setUp() {
+        value = Duration.parse(duration);
+    }
+
+    @Benchmark
+    public String formatDuration() {
+        return AnalyticsService.formatDuration(value);
+    }
+}
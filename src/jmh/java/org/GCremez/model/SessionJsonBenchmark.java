@@ -0,0 +1,47 @@
+package org.GCremez.model;
+
+import org.GCremez.storage.SessionEncoder;
+import org.GCremez.storage.SessionLogParser;
+import org.GCremez.storage.SyntheticSessionLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one {@link SessionLogParser#fromJson} and {@link SessionEncoder#toJson} call, cycling through 1,024
+ * synthetic log lines so the branch predictor cannot learn a single record.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionJsonBenchmark {
+    private static final int RECORDS = 1024;
+
+    private String[] lines;
+    private Session[] sessions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> generated = SyntheticSessionLog.lines(RECORDS, SyntheticSessionLog.DEFAULT_SEED);
+        lines = generated.toArray(new String[0]);
+        sessions = new Session[RECORDS];
+        for (int i = 0; i < RECORDS; i++) {
+            sessions[i] = SessionLogParser.fromJson(lines[i]);
+        }
+    }
+
+    @Benchmark
+    public Session fromJson() {
+        return SessionLogParser.fromJson(lines[next++ & (RECORDS - 1)]);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return SessionEncoder.toJson(sessions[next++ & (RECORDS - 1)]);
+    }
+}
@@ -0,0 +1,59 @@
+package org.GCremez.sound;
+
+import org.GCremez.util.ValidationUtils;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Work to get the bundled work cue ready for a {@code Clip}: {@code perCue} is what every cue
+ * used to do (validate the file, open and decode it), {@code cached} is a {@link SoundClipCache}
+ * hit. Opening the clip itself needs an audio device and is left out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SoundCueBenchmark {
+
+    private Path wav;
+    private SoundClipCache cache;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        wav = Files.createTempFile("work", ".wav");
+        try (InputStream in = SoundCueBenchmark.class.getClassLoader().getResourceAsStream("sounds/work.wav")) {
+            Files.copy(in, wav, StandardCopyOption.REPLACE_EXISTING);
+        }
+        cache = new SoundClipCache();
+        cache.preload(wav.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(wav);
+    }
+
+    @Benchmark
+    public byte[] perCue() throws IOException, UnsupportedAudioFileException {
+        ValidationUtils.validateSoundFile(wav.toString());
+        try (AudioInputStream in = AudioSystem.getAudioInputStream(wav.toFile())) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    public SoundClipCache.DecodedSound cached() {
+        return cache.get(wav.toString());
+    }
+}
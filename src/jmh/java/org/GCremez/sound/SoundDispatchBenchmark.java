@@ -0,0 +1,74 @@
+package org.GCremez.sound;
+
+import org.GCremez.config.ConfigManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cue dispatch through {@link SoundService} against a mixer that discards its output, so no
+ * audio device is needed and results do not depend on one:
+ * <ul>
+ *     <li>request - what the timer pays to ask for a cue</li>
+ *     <li>playToEnd - cache lookup, hand-off to the mixer and mixing the whole cue out, which the
+ *     null mixer does as fast as it can instead of in real time</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SoundDispatchBenchmark {
+
+    private Path directory;
+    private SoundService soundService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("sound-bench");
+        Path work = copyResource("sounds/work.wav");
+        Path breakCue = copyResource("sounds/break.wav");
+        Path config = Files.writeString(directory.resolve("application.conf"),
+                "pomodoro.sound.work-sound-file = \"" + work + "\"\n"
+                        + "pomodoro.sound.break-sound-file = \"" + breakCue + "\"\n");
+        soundService = new SoundService(new ConfigManager(config), true);
+        // Decodes the cues and opens the mixer
+        soundService.playCue(SoundCue.WORK).join();
+        soundService.playCue(SoundCue.BREAK).join();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        soundService.close();
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public void request() {
+        soundService.playWorkSound();
+    }
+
+    @Benchmark
+    public void playToEnd() {
+        soundService.playCue(SoundCue.WORK).join();
+    }
+
+    private Path copyResource(String name) throws IOException {
+        Path target = directory.resolve(Path.of(name).getFileName());
+        try (InputStream in = SoundDispatchBenchmark.class.getClassLoader().getResourceAsStream(name)) {
+            Files.copy(in, target);
+        }
+        return target;
+    }
+}
@@ -0,0 +1,100 @@
+package org.GCremez.storage;
+
+import org.GCremez.model.Session;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Loads and aggregates the same generated history from the NDJSON log and from a
+ * {@link ColumnarSessionStore}. The setup prints both on-disk sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ColumnarStoreBenchmark {
+
+    @Param({"100000", "1000000", "10000000"})
+    public int sessions;
+
+    private Path directory;
+    private Path log;
+    private Path store;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("columnar-bench");
+        log = directory.resolve("Session_log.json");
+        store = directory.resolve("columns");
+        LocalDateTime start = LocalDateTime.of(2014, 1, 1, 0, 0);
+        SessionType[] types = SessionType.values();
+        try (BufferedWriter writer = Files.newBufferedWriter(log)) {
+            for (int i = 0; i < sessions; i++) {
+                writer.write(SessionEncoder.toJson(new Session(types[i % types.length], Duration.ofMinutes(5 + i % 25),
+                        start.plusSeconds(30L * i))));
+                writer.write('\n');
+            }
+        }
+        ColumnarSessionStore.fromLog(log, store);
+        long columnBytes;
+        try (Stream<Path> files = Files.list(store)) {
+            columnBytes = files.mapToLong(file -> file.toFile().length()).sum();
+        }
+        System.out.printf("%nNDJSON: %,d bytes, columnar: %,d bytes%n", Files.size(log), columnBytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted((a, b) -> b.compareTo(a)).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public Totals ndjson() throws IOException {
+        Totals totals = new Totals();
+        try (InputStream in = Files.newInputStream(log)) {
+            new SessionLogParser().parse(in, totals);
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public Totals columnar() throws IOException {
+        Totals totals = new Totals();
+        ColumnarSessionStore.open(store).forEach(totals);
+        return totals;
+    }
+
+    public static final class Totals implements SessionLogParser.Visitor {
+        private long workCount;
+        private long workSeconds;
+        private long breakCount;
+        private long breakSeconds;
+
+        @Override
+        public void session(SessionType type, long startEpochSecond, int startNano, long durationSeconds) {
+            if (type == SessionType.WORK) {
+                workCount++;
+                workSeconds += durationSeconds;
+            } else {
+                breakCount++;
+                breakSeconds += durationSeconds;
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.GCremez.storage;
+
+import org.GCremez.model.Session;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilds a per-day rollup from a generated 10M-line log with {@link ParallelSessionLoader} on
+ * 1 to 8 worker threads. {@code sequential} is the single-threaded stream parse for reference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ParallelLoadBenchmark {
+
+    @Param({"10000000"})
+    public int sessions;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private Path directory;
+    private Path log;
+    private ForkJoinPool pool;
+    private ParallelSessionLoader loader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("parallel-load-bench");
+        log = directory.resolve("Session_log.json");
+        LocalDateTime start = LocalDateTime.of(2014, 1, 1, 0, 0);
+        SessionType[] types = SessionType.values();
+        try (BufferedWriter writer = Files.newBufferedWriter(log)) {
+            for (int i = 0; i < sessions; i++) {
+                writer.write(SessionEncoder.toJson(new Session(types[i % types.length], Duration.ofMinutes(5 + i % 25),
+                        start.plusSeconds(30L * i))));
+                writer.write('\n');
+            }
+        }
+        pool = new ForkJoinPool(threads);
+        loader = new ParallelSessionLoader(pool, 1 << 20);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pool.shutdownNow();
+        Files.deleteIfExists(log);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public ParallelSessionLoader.Result<SessionRollupAccumulator> parallel() throws IOException {
+        return loader.load(log, 0, true, SessionRollupAccumulator::new);
+    }
+
+    @Benchmark
+    public SessionRollupAccumulator sequential() throws IOException {
+        SessionRollupAccumulator accumulator = new SessionRollupAccumulator();
+        try (var in = Files.newInputStream(log)) {
+            new SessionLogParser().parse(in, accumulator);
+        }
+        return accumulator;
+    }
+
+    public static final class SessionRollupAccumulator implements SessionLogParser.Visitor {
+        private long workSeconds;
+        private long breakSeconds;
+
+        @Override
+        public void session(SessionType type, long startEpochSecond, int startNano, long durationSeconds) {
+            if (type == SessionType.WORK) {
+                workSeconds += durationSeconds;
+            } else {
+                breakSeconds += durationSeconds;
+            }
+        }
+    }
+}
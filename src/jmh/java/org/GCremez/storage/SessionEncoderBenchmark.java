@@ -0,0 +1,60 @@
+package org.GCremez.storage;
+
+import org.GCremez.model.Session;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes a batch of sessions as strings with {@link SessionEncoder#toJson(Session)} and straight
+ * into a buffer with {@link SessionEncoder#encode(Session, ByteBuffer)}. Run with {@code -prof gc}
+ * to compare allocation per batch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionEncoderBenchmark {
+
+    @Param({"1", "512"})
+    public int batch;
+
+    private List<Session> sessions;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        sessions = new ArrayList<>(batch);
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 8, 0, 12, 345_678_000);
+        SessionType[] types = SessionType.values();
+        for (int i = 0; i < batch; i++) {
+            sessions.add(new Session(types[i % types.length], Duration.ofMinutes(5 + i % 25), start.plusMinutes(31L * i)));
+        }
+        buffer = ByteBuffer.allocateDirect(batch * SessionEncoder.MAX_LINE_BYTES);
+    }
+
+    @Benchmark
+    public ByteBuffer toJson() {
+        buffer.clear();
+        for (Session session : sessions) {
+            buffer.put((SessionEncoder.toJson(session) + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        return buffer;
+    }
+
+    @Benchmark
+    public ByteBuffer encoder() {
+        buffer.clear();
+        SessionEncoder.encodeAll(sessions, 0, buffer);
+        return buffer;
+    }
+}
@@ -0,0 +1,52 @@
+package org.GCremez.storage;
+
+import org.GCremez.model.Session;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sessions per second committed by {@link SessionJournal} under each fsync policy, with eight
+ * timers appending concurrently and each waiting for its record to be acknowledged.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class SessionJournalBenchmark {
+
+    @Param({"ALWAYS", "INTERVAL", "OS"})
+    public FsyncPolicy policy;
+
+    private Path directory;
+    private SessionJournal journal;
+    private Session session;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-bench");
+        journal = new SessionJournal(directory.resolve("Session_log.json"), policy, 100, 512);
+        session = new Session(SessionType.WORK, Duration.ofMinutes(25), LocalDateTime.of(2024, 1, 1, 9, 0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        Files.deleteIfExists(directory.resolve("Session_log.json"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public void appendAndAwait() {
+        journal.append(session).join();
+    }
+}
@@ -0,0 +1,109 @@
+package org.GCremez.storage;
+
+import org.GCremez.model.Session;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses an in-memory session log line by line with the previous regex-based
+ * {@code Session.fromJson} and with {@link SessionLogParser} streaming from the raw bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionParserBenchmark {
+
+    @Param({"100000"})
+    public int sessions;
+
+    private byte[] log;
+    private final SessionLogParser parser = new SessionLogParser();
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0, 0, 123_456_789);
+        SessionType[] types = SessionType.values();
+        for (int i = 0; i < sessions; i++) {
+            builder.append(SessionEncoder.toJson(new Session(types[i % types.length], Duration.ofMinutes(5 + i % 25),
+                    start.plusMinutes(30L * i)))).append('\n');
+        }
+        log = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void regexFromJson(Blackhole bh) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ByteArrayInputStream(log), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                bh.consume(legacyFromJson(line));
+            }
+        }
+    }
+
+    @Benchmark
+    public void streamingParser(Blackhole bh) throws IOException {
+        parser.parse(new ByteArrayInputStream(log), (type, second, nano, duration) -> {
+            bh.consume(type);
+            bh.consume(second);
+            bh.consume(duration);
+        });
+    }
+
+    @Benchmark
+    public void streamingParserToSession(Blackhole bh) throws IOException {
+        parser.parse(new ByteArrayInputStream(log), (type, second, nano, duration) ->
+                bh.consume(SessionLogParser.toSession(type, second, nano, duration)));
+    }
+
+    // The implementation Session.fromJson used before SessionLogParser, kept as the baseline
+    private static Session legacyFromJson(String json) {
+        try {
+            if (!json.startsWith("{") || !json.endsWith("}")) {
+                throw new IllegalArgumentException("Invalid JSON format");
+            }
+            String content = json.substring(1, json.length() - 1);
+            String[] parts = content.split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)");
+            String typeStr = null;
+            LocalDateTime startTime = null;
+            Duration duration = null;
+            for (String part : parts) {
+                String[] keyValue = part.split(":", 2);
+                if (keyValue.length != 2) continue;
+                String key = keyValue[0].replaceAll("[\"\\s]", "");
+                String value = keyValue[1].trim();
+                switch (key) {
+                    case "type":
+                        typeStr = value.replaceAll("^\"|\"$", "").toUpperCase();
+                        break;
+                    case "start_time":
+                        startTime = LocalDateTime.parse(value.replaceAll("^\"|\"$", ""));
+                        break;
+                    case "duration_seconds":
+                        duration = Duration.ofSeconds(Long.parseLong(value));
+                        break;
+                }
+            }
+            if (typeStr == null || startTime == null || duration == null) {
+                throw new IllegalArgumentException("Missing required fields");
+            }
+            return new Session(SessionType.valueOf(typeStr), duration, startTime);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
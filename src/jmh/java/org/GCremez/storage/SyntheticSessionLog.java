@@ -0,0 +1,136 @@
+package org.GCremez.storage;
+
+import org.GCremez.timer.PomodoroTimer.SessionType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deterministic synthetic session logs for benchmarks: the same line count and seed always give
+ * the same bytes, so runs on different machines measure the same input.
+ * <p>
+ * Sessions follow the pomodoro cycle (three work/short break pairs, then work and a long break)
+ * with random durations, microsecond start times like {@code LocalDateTime.now()} and start times
+ * spread evenly over ten years from 2014, so any size from 1K to 100M lines has a realistic
+ * number of days. Lines are written with {@link SessionEncoder}, about 85 bytes each.
+ * <p>
+ * Run {@code main} to write a log to a file: {@code <file> <lines> [seed]}.
+ */
+public final class SyntheticSessionLog {
+    public static final long DEFAULT_SEED = 42;
+
+    private static final long FIRST_START = LocalDateTime.of(2014, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    private static final long HISTORY_SECONDS = TimeUnit.DAYS.toSeconds(3650);
+    private static final SessionType[] CYCLE = {
+            SessionType.WORK, SessionType.SHORT_BREAK, SessionType.WORK, SessionType.SHORT_BREAK,
+            SessionType.WORK, SessionType.SHORT_BREAK, SessionType.WORK, SessionType.LONG_BREAK
+    };
+    private static final Path CACHE_DIRECTORY = Path.of(System.getProperty("java.io.tmpdir"), "pomodoro-bench");
+
+    private SyntheticSessionLog() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SyntheticSessionLog <file> <lines> [seed]");
+            System.exit(2);
+        }
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        write(Path.of(args[0]), Long.parseLong(args[1]), seed);
+    }
+
+    /**
+     * Writes a log of {@code lines} sessions to {@code file}, replacing it.
+     */
+    public static void write(Path file, long lines, long seed) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+        Generator generator = new Generator(lines, seed);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (long i = 0; i < lines; i++) {
+                if (buffer.remaining() < SessionEncoder.MAX_LINE_BYTES) {
+                    drain(buffer, channel);
+                }
+                generator.next(buffer);
+            }
+            drain(buffer, channel);
+        }
+    }
+
+    /**
+     * A log of {@code lines} sessions with the default seed, generated once per machine under
+     * {@code java.io.tmpdir} and reused afterwards, since large logs take minutes to write.
+     */
+    public static Path cached(long lines) throws IOException {
+        Path file = CACHE_DIRECTORY.resolve("sessions-" + lines + "-" + DEFAULT_SEED + ".json");
+        if (!Files.exists(file)) {
+            Files.createDirectories(CACHE_DIRECTORY);
+            Path partial = Files.createTempFile(CACHE_DIRECTORY, "sessions", ".tmp");
+            write(partial, lines, DEFAULT_SEED);
+            Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+
+    /**
+     * The lines {@link #write} would write for {@code count} and {@code seed}, without terminators.
+     */
+    public static List<String> lines(int count, long seed) {
+        List<String> lines = new ArrayList<>(count);
+        ByteBuffer buffer = ByteBuffer.allocate(SessionEncoder.MAX_LINE_BYTES);
+        Generator generator = new Generator(count, seed);
+        for (int i = 0; i < count; i++) {
+            buffer.clear();
+            int length = generator.next(buffer);
+            lines.add(new String(buffer.array(), 0, length - 1, StandardCharsets.US_ASCII));
+        }
+        return lines;
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static final class Generator {
+        private final SplittableRandom random;
+        private final long lines;
+        private long index;
+
+        Generator(long lines, long seed) {
+            this.random = new SplittableRandom(seed);
+            this.lines = Math.max(1, lines);
+        }
+
+        // Encodes the next session into out and returns its length, newline included
+        int next(ByteBuffer out) {
+            SessionType type = CYCLE[(int) (index % CYCLE.length)];
+            long slotStart = HISTORY_SECONDS * index / lines;
+            long slotLength = Math.max(1, HISTORY_SECONDS * (index + 1) / lines - slotStart);
+            long start = FIRST_START + slotStart + random.nextLong(slotLength);
+            int nano = random.nextInt(1_000_000) * 1000;
+            long duration = switch (type) {
+                case WORK -> random.nextLong(15 * 60, 50 * 60 + 1);
+                case SHORT_BREAK -> random.nextLong(3 * 60, 10 * 60 + 1);
+                case LONG_BREAK -> random.nextLong(15 * 60, 30 * 60 + 1);
+            };
+            index++;
+            return SessionEncoder.encode(type, start, nano, duration, out);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.GCremez.timer;
+
+import org.GCremez.config.ConfigManager;
+import org.GCremez.event.TimerEventBus;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of {@link PomodoroTimer#processUserCommand} on a running work session with a headless
+ * console and a bus nobody listens to, so only the command itself is measured. {@code pauseResume}
+ * runs two commands per operation to leave the timer as it found it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandBenchmark {
+
+    private Path directory;
+    private ConfigManager configManager;
+    private TimerEventBus eventBus;
+    private PomodoroTimer timer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        directory = Files.createTempDirectory("command-bench");
+        // Keep anything the timer journals out of the working directory
+        Path config = Files.writeString(directory.resolve("application.conf"),
+                "pomodoro.analytics.session-log-file = \"" + directory.resolve("Session_log.json") + "\"\n");
+        configManager = new ConfigManager(config);
+        eventBus = new TimerEventBus(Runnable::run);
+        timer = new PomodoroTimer(configManager, eventBus, HashedWheelTimerEngine.shared(), new HeadlessConsole());
+        timer.startWorkSession();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        timer.close();
+        eventBus.close();
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public void status() {
+        timer.processUserCommand("status");
+    }
+
+    @Benchmark
+    public void pauseResume() {
+        timer.processUserCommand("pause");
+        timer.processUserCommand("resume");
+    }
+
+    @Benchmark
+    public void help() {
+        timer.processUserCommand("help");
+    }
+
+    @Benchmark
+    public void invalid() {
+        timer.processUserCommand("bogus");
+    }
+}
@@ -0,0 +1,60 @@
+package org.GCremez.timer;
+
+import org.GCremez.util.ExecutionMode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts {@code sessions} blocking countdowns on an {@link ExecutorTimerEngine} and waits for all
+ * of them to fire, once with platform threads and once with virtual threads. Each countdown holds
+ * its thread for {@code countdownMillis}, so the platform run needs one OS thread per session.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public ExecutionMode mode;
+
+    @Param({"10000"})
+    public int sessions;
+
+    @Param({"200"})
+    public int countdownMillis;
+
+    private ExecutorService executor;
+    private ExecutorTimerEngine engine;
+    private int peakThreads;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = mode.newExecutor("bench");
+        engine = new ExecutorTimerEngine(executor);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        System.out.printf("%nmode=%s sessions=%d peakLiveThreads=%d%n", mode, sessions, peakThreads);
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public void concurrentCountdowns() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(sessions);
+        for (int i = 0; i < sessions; i++) {
+            engine.schedule(countdownMillis, TimeUnit.MILLISECONDS, done::countDown);
+        }
+        peakThreads = Math.max(peakThreads, Thread.activeCount());
+        if (!done.await(60, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Countdowns did not finish");
+        }
+    }
+}
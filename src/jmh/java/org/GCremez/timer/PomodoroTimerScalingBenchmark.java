@@ -0,0 +1,124 @@
+package org.GCremez.timer;
+
+import org.GCremez.config.ConfigManager;
+import org.GCremez.service.AnalyticsService;
+import org.GCremez.sound.SoundService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TimerEngineScalingBenchmark} with whole timers: a start/pause/resume/stop cycle through
+ * {@link PomodoroTimer} while {@code liveTimers} other timers run work sessions on the same wheel.
+ * Each timer has its own event bus with sound and analytics subscriptions, so the figures cover
+ * everything a timer allocates and not only its wheel entry. Set-up prints the heap retained per
+ * timer; tear-down prints the live thread count and the wheel worker's CPU per wall-clock second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PomodoroTimerScalingBenchmark {
+    private static final AnalyticsService NO_ANALYTICS = new AnalyticsService() {
+        @Override
+        public void logWorkSessionStart() {
+        }
+
+        @Override
+        public void logBreakSessionStart() {
+        }
+
+        @Override
+        public void logSessionComplete() {
+        }
+    };
+
+    @Param({"1", "1000", "10000", "100000"})
+    public int liveTimers;
+
+    private final List<PomodoroTimer> timers = new ArrayList<>();
+    private Path directory;
+    private ConfigManager configManager;
+    private SoundService soundService;
+    private HashedWheelTimerEngine engine;
+    private PomodoroTimer timer;
+    private long startNanos;
+    private long startCpuNanos;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        directory = Files.createTempDirectory("timer-scaling-bench");
+        // Silent, and the sessions the cycle completes are journaled outside the working directory
+        Path config = Files.writeString(directory.resolve("application.conf"), "pomodoro.sound.enabled = false\n"
+                + "pomodoro.analytics.session-log-file = \"" + directory.resolve("Session_log.json") + "\"\n");
+        configManager = new ConfigManager(config);
+        soundService = new SoundService(configManager);
+        engine = new HashedWheelTimerEngine();
+        long heapBefore = usedHeap();
+        for (int i = 0; i < liveTimers; i++) {
+            PomodoroTimer live = newTimer();
+            live.startWorkSession();
+            timers.add(live);
+        }
+        long heapPerTimer = Math.max(0, usedHeap() - heapBefore) / liveTimers;
+        System.out.printf("%nliveTimers=%d heapBytesPerTimer=%d%n", liveTimers, heapPerTimer);
+        timer = newTimer();
+        startNanos = System.nanoTime();
+        startCpuNanos = workerCpuNanos();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        double cpuMillisPerSecond = (workerCpuNanos() - startCpuNanos) / 1e6 / seconds;
+        System.out.printf("%nliveTimers=%d threads=%d wheelCpuMsPerSec=%.3f pending=%d%n",
+                liveTimers, Thread.activeCount(), cpuMillisPerSecond, engine.pendingTimeouts());
+        timer.close();
+        for (PomodoroTimer live : timers) {
+            live.close();
+        }
+        timers.clear();
+        engine.close();
+        soundService.close();
+        configManager.close();
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public void sessionLifecycle() throws InterruptedException {
+        timer.startWorkSession();
+        timer.processUserCommand("pause");
+        timer.processUserCommand("resume");
+        timer.stopSession();
+    }
+
+    private PomodoroTimer newTimer() {
+        return new PomodoroTimer(configManager, soundService, NO_ANALYTICS, engine, new HeadlessConsole());
+    }
+
+    private long workerCpuNanos() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        return threads.getThreadCpuTime(engine.workerThread().threadId());
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,62 @@
+package org.GCremez.timer;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a start/pause/resume/stop cycle on the timing wheel while {@code activeSessions}
+ * other countdowns are pending. At tear-down it prints the live thread count and the CPU the
+ * wheel worker burned per wall-clock second, which should both stay flat as sessions grow.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimerEngineScalingBenchmark {
+
+    @Param({"1", "1000", "10000", "100000"})
+    public int activeSessions;
+
+    private HashedWheelTimerEngine engine;
+    private long startNanos;
+    private long startCpuNanos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new HashedWheelTimerEngine();
+        for (int i = 0; i < activeSessions; i++) {
+            // Spread 25 minute countdowns across the wheel like real sessions started at different times
+            engine.schedule(25 * 60_000L + i % 60_000, TimeUnit.MILLISECONDS, () -> { });
+        }
+        startNanos = System.nanoTime();
+        startCpuNanos = workerCpuNanos();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        double cpuMillisPerSecond = (workerCpuNanos() - startCpuNanos) / 1e6 / seconds;
+        System.out.printf("%nactiveSessions=%d threads=%d wheelCpuMsPerSec=%.3f pending=%d%n",
+                activeSessions, Thread.activeCount(), cpuMillisPerSecond, engine.pendingTimeouts());
+        engine.close();
+    }
+
+    @Benchmark
+    public boolean sessionLifecycle() {
+        // start, pause (cancel), resume (reschedule), stop (cancel)
+        TimerEngine.Timeout countdown = engine.schedule(25, TimeUnit.MINUTES, () -> { });
+        countdown.cancel();
+        countdown = engine.schedule(20, TimeUnit.MINUTES, () -> { });
+        return countdown.cancel();
+    }
+
+    private long workerCpuNanos() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        return threads.getThreadCpuTime(engine.workerThread().threadId());
+    }
+}
@@ -0,0 +1,68 @@
+package org.GCremez.timer;
+
+import org.GCremez.config.ConfigManager;
+import org.GCremez.service.AnalyticsService;
+import org.GCremez.sound.SoundService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction cost of a timer with each console. Run with {@code -prof gc} to read the
+ * per-instance allocation from {@code gc.alloc.rate.norm}.
+ * <ul>
+ *     <li>HEADLESS - core only</li>
+ *     <li>TERMINAL_LAZY - terminal front-end attached but never used</li>
+ *     <li>TERMINAL_USED - terminal front-end that prints once, which builds the JLine terminal</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimerStartupBenchmark {
+
+    public enum ConsoleMode { HEADLESS, TERMINAL_LAZY, TERMINAL_USED }
+
+    @Param({"HEADLESS", "TERMINAL_LAZY", "TERMINAL_USED"})
+    public ConsoleMode consoleMode;
+
+    private ConfigManager configManager;
+    private SoundService soundService;
+    private AnalyticsService analyticsService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        configManager = new ConfigManager();
+        soundService = new SoundService(configManager);
+        analyticsService = new AnalyticsService() {
+            @Override
+            public void logWorkSessionStart() {
+            }
+
+            @Override
+            public void logBreakSessionStart() {
+            }
+
+            @Override
+            public void logSessionComplete() {
+            }
+        };
+    }
+
+    @Benchmark
+    public PomodoroTimer createAndClose() {
+        TimerConsole console = consoleMode == ConsoleMode.HEADLESS
+                ? new HeadlessConsole()
+                : new TerminalConsole(configManager);
+        PomodoroTimer timer = new PomodoroTimer(configManager, soundService, analyticsService,
+                HashedWheelTimerEngine.shared(), console);
+        if (consoleMode == ConsoleMode.TERMINAL_USED) {
+            console.println("", false);
+        }
+        timer.close();
+        return timer;
+    }
+}
@@ -1,18 +1,45 @@
 package org.GCremez;
 
 import org.GCremez.config.ConfigManager;
-import org.GCremez.service.AnalyticsService;
-import org.GCremez.service.DefaultAnalyticsService;
+import org.GCremez.metrics.MetricsHttpServer;
+import org.GCremez.metrics.MetricsRegistry;
+import org.GCremez.service.BatchingAnalyticsService;
 import org.GCremez.sound.SoundService;
+import org.GCremez.storage.ColumnarSessionStore;
+import org.GCremez.storage.SegmentedSessionLog;
+import org.GCremez.storage.SessionJournal;
 import org.GCremez.timer.PomodoroTimer;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Scanner;
 
 public class Main {
     public static void main(String[] args) {
+        if (args.length > 0) {
+            switch (args[0]) {
+                case "migrate-log" -> {
+                    migrateLog(args);
+                    return;
+                }
+                case "export-columnar" -> {
+                    exportColumnar(args);
+                    return;
+                }
+                case "import-columnar" -> {
+                    importColumnar(args);
+                    return;
+                }
+                default -> {
+                }
+            }
+        }
+
         ConfigManager configManager = new ConfigManager();
+        configManager.startWatching();
         SoundService soundService = new SoundService(configManager);
-        AnalyticsService analyticsService = new DefaultAnalyticsService(configManager);
+        BatchingAnalyticsService analyticsService = BatchingAnalyticsService.start(configManager);
+        MetricsHttpServer metricsServer = startMetricsServer(configManager);
 
         try (Scanner scanner = new Scanner(System.in);
              PomodoroTimer pomodoroTimer = new PomodoroTimer(configManager, soundService, analyticsService)) {
@@ -35,10 +62,21 @@ public class Main {
             // Start the Pomodoro session
             pomodoroTimer.startPomodoroCycle(duration);
 
+            // The journal the timer appends to; closing it commits and fsyncs the last batch
+            SessionJournal journal = SessionJournal.shared(configManager);
+
             // Create a shutdown hook to handle graceful termination
             Runtime.getRuntime().addShutdownHook(new Thread(() -> {
                 System.out.println("\nShutting down timer...");
                 pomodoroTimer.close();
+                if (journal != null) {
+                    journal.close();
+                }
+                analyticsService.close();
+                soundService.close();
+                if (metricsServer != null) {
+                    metricsServer.close();
+                }
             }));
 
             // Wait for the timer to complete or interrupt
@@ -52,4 +90,64 @@ public class Main {
             }
         }
     }
+
+    // Null unless pomodoro.metrics.http.enabled; a port in use is reported, not fatal
+    private static MetricsHttpServer startMetricsServer(ConfigManager configManager) {
+        if (!configManager.isMetricsHttpEnabled()) {
+            return null;
+        }
+        try {
+            return MetricsHttpServer.start(configManager.getMetricsHttpHost(), configManager.getMetricsHttpPort(),
+                    MetricsRegistry.shared());
+        } catch (IOException e) {
+            System.err.println("Could not start the metrics endpoint: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // migrate-log <session log> <segment directory>
+    private static void migrateLog(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Usage: migrate-log <session log file> <segment directory>");
+            System.exit(2);
+        }
+        try {
+            long migrated = SegmentedSessionLog.migrate(Path.of(args[1]), Path.of(args[2]));
+            System.out.println("Migrated " + migrated + " sessions into " + args[2]);
+        } catch (IOException e) {
+            System.err.println("Migration failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // export-columnar <session log> <store directory>
+    private static void exportColumnar(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Usage: export-columnar <session log file> <store directory>");
+            System.exit(2);
+        }
+        try {
+            long converted = ColumnarSessionStore.fromLog(Path.of(args[1]), Path.of(args[2]));
+            System.out.println("Converted " + converted + " sessions into " + args[2]);
+        } catch (IOException e) {
+            System.err.println("Conversion failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // import-columnar <store directory> <session log>
+    private static void importColumnar(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Usage: import-columnar <store directory> <session log file>");
+            System.exit(2);
+        }
+        try {
+            ColumnarSessionStore store = ColumnarSessionStore.open(Path.of(args[1]));
+            store.toLog(Path.of(args[2]));
+            System.out.println("Wrote " + store.size() + " sessions to " + args[2]);
+        } catch (IOException e) {
+            System.err.println("Conversion failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
 }
@@ -1,17 +1,32 @@
 package org.GCremez.analytics;
 
+import org.GCremez.config.ConfigManager;
+import org.GCremez.exception.StorageException;
+import org.GCremez.metrics.Counter;
+import org.GCremez.metrics.Histogram;
+import org.GCremez.metrics.MetricsRegistry;
 import org.GCremez.model.Session;
+import org.GCremez.storage.ParallelSessionLoader;
+import org.GCremez.storage.SegmentedSessionLog;
+import org.GCremez.storage.SessionLogParser;
+import org.GCremez.storage.SessionJournal;
+import org.GCremez.storage.SessionLogCache;
+import org.GCremez.timer.PomodoroTimer.SessionType;
 
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class AnalyticsService {
     private static final String ANSI_RESET = "\u001B[0m";
@@ -21,65 +36,265 @@ public class AnalyticsService {
     private static final String ANSI_BLUE = "\u001B[34m";
     private static final String ANSI_BOLD = "\u001B[1m";
 
+    // Parse throughput (records/s, bytes/s) is counted by SessionLogParser as sessionlog.parsed.*
+    private static final Histogram STATS_LATENCY = MetricsRegistry.shared().histogram("analytics.stats.nanos");
+    private static final Histogram QUERY_LATENCY = MetricsRegistry.shared().histogram("analytics.query.nanos");
+    private static final Counter QUERY_RECORDS = MetricsRegistry.shared().counter("analytics.query.records");
+
+    // Loaded on first use by the overloads that take no ConfigManager
+    private static ConfigManager defaultConfig;
+
+    /**
+     * Prints the dashboard for the configured session log, loading the configuration first.
+     */
     public static void printStats() {
-        List<Session> sessions = loadSessions();
-        List<Session> workSessions = sessions.stream()
-                .filter(s -> s.getType().equals("work"))
-                .collect(Collectors.toList());
+        printStats(defaultConfig());
+    }
 
-        List<Session> breakSessions = sessions.stream()
-                .filter(s -> !s.getType().equals("work"))
-                .collect(Collectors.toList());
+    /**
+     * Prints the dashboard for the session log {@code configManager} points at, a single file or a
+     * segmented log directory.
+     */
+    public static void printStats(ConfigManager configManager) {
+        Path logLocation = SessionJournal.location(configManager);
+        if (logLocation == null) {
+            System.out.println("No session log configured.");
+            return;
+        }
+        printStats(logLocation, configManager.getMaxRecentSessions());
+    }
 
-        Duration totalFocusTime = workSessions.stream()
-                .map(Session::getDuration)
-                .reduce(Duration.ZERO, Duration::plus);
+    /**
+     * Prints the dashboard for a single log file or a segmented log directory, listing up to
+     * {@code maxRecentSessions} of the latest sessions.
+     */
+    public static void printStats(Path logLocation, int maxRecentSessions) {
+        SessionStats stats = computeStats(logLocation, LocalDate.now(), maxRecentSessions);
 
-        Duration totalBreakTime = breakSessions.stream()
-                .map(Session::getDuration)
-                .reduce(Duration.ZERO, Duration::plus);
+        printDashboard(
+                stats.workCount(),
+                stats.breakCount(),
+                stats.totalWorkTime(),
+                stats.totalBreakTime(),
+                stats.averageWorkTime(),
+                stats.averageBreakTime(),
+                stats.todayWorkTime(),
+                stats.todayCount()
+        );
 
-        Duration averageWorkDuration = workSessions.isEmpty() ? Duration.ZERO :
-                totalFocusTime.dividedBy(workSessions.size());
+        List<Session> recentSessions = stats.recentSessions();
+        if (!recentSessions.isEmpty()) {
+            printRecentSessions(recentSessions);
+        }
+    }
 
-        Duration averageBreakDuration = breakSessions.isEmpty() ? Duration.ZERO :
-                totalBreakTime.dividedBy(breakSessions.size());
+    /**
+     * Dashboard figures for {@code logLocation}, a log file or segmented log directory: totals
+     * come from cached per-day rollups, which only parse what was appended since the last
+     * refresh, today's figures from today's rollup day and the recent sessions from the end of
+     * the newest file, so the cost does not grow with the number of sessions.
+     * A missing log yields empty statistics.
+     */
+    static SessionStats computeStats(Path logLocation, LocalDate today, int maxRecentSessions) {
+        long started = System.nanoTime();
+        SessionStats stats = new SessionStats(today, maxRecentSessions);
+        if (!Files.exists(logLocation)) {
+            System.out.println("No session history found. Starting fresh!");
+            return stats;
+        }
 
-        // Get today's sessions
-        LocalDateTime today = LocalDateTime.now().withHour(0).withMinute(0);
-        List<Session> todaySessions = workSessions.stream()
-                .filter(s -> s.getStartTime().isAfter(today))
-                .collect(Collectors.toList());
+        try {
+            List<Path> files = logFiles(logLocation);
+            for (Path file : files) {
+                SessionLogCache.shared().get(file).forEachDay(stats::addDay);
+            }
+            readRecentSessions(files, stats);
+        } catch (IOException | StorageException e) {
+            System.err.println("Error reading session log: " + e.getMessage());
+        }
+        STATS_LATENCY.record(System.nanoTime() - started);
+        return stats;
+    }
 
-        Duration todayFocusTime = todaySessions.stream()
-                .map(Session::getDuration)
-                .reduce(Duration.ZERO, Duration::plus);
+    /**
+     * Sessions in the configured session log whose start time lies in {@code [from, to)}, in log
+     * order. Only the part of the log the sparse start-time index points at is read. The
+     * configuration is loaded on the first call and reused.
+     *
+     * @throws StorageException if the log cannot be read
+     */
+    public static List<Session> sessionsBetween(LocalDateTime from, LocalDateTime to) {
+        return sessionsBetween(defaultConfig(), from, to);
+    }
 
-        printDashboard(
-                workSessions.size(),
-                breakSessions.size(),
-                totalFocusTime,
-                totalBreakTime,
-                averageWorkDuration,
-                averageBreakDuration,
-                todayFocusTime,
-                todaySessions.size()
-        );
+    /**
+     * Sessions in the log {@code configManager} points at whose start time lies in
+     * {@code [from, to)}, in log order.
+     *
+     * @throws StorageException if the log cannot be read
+     */
+    public static List<Session> sessionsBetween(ConfigManager configManager, LocalDateTime from, LocalDateTime to) {
+        List<Session> sessions = new ArrayList<>();
+        forEachSessionBetween(configManager, from, to, (type, startSecond, startNano, durationSeconds) ->
+                sessions.add(SessionLogParser.toSession(type, startSecond, startNano, durationSeconds)));
+        return sessions;
+    }
+
+    /**
+     * Streams the sessions in the configured session log whose start time lies in
+     * {@code [from, to)} to {@code visitor} without building {@link Session} objects. The
+     * configuration is loaded on the first call and reused.
+     *
+     * @return the number of sessions visited
+     * @throws StorageException if the log cannot be read
+     */
+    public static long forEachSessionBetween(LocalDateTime from, LocalDateTime to, SessionLogParser.Visitor visitor) {
+        return forEachSessionBetween(defaultConfig(), from, to, visitor);
+    }
+
+    /**
+     * Streams the sessions in the log {@code configManager} points at whose start time lies in
+     * {@code [from, to)} to {@code visitor}. Visits nothing if no log is configured or it does not
+     * exist yet.
+     *
+     * @return the number of sessions visited
+     * @throws StorageException if the log cannot be read
+     */
+    public static long forEachSessionBetween(ConfigManager configManager, LocalDateTime from, LocalDateTime to,
+                                             SessionLogParser.Visitor visitor) {
+        Path logLocation = SessionJournal.location(configManager);
+        if (logLocation == null || !Files.exists(logLocation)) {
+            return 0;
+        }
+        return forEachSessionBetween(logLocation, from, to, visitor);
+    }
+
+    static long forEachSessionBetween(Path logLocation, LocalDateTime from, LocalDateTime to,
+                                      SessionLogParser.Visitor visitor) {
+        return forEachSessionBetween(logLocation, from.toEpochSecond(ZoneOffset.UTC), to.toEpochSecond(ZoneOffset.UTC),
+                visitor);
+    }
+
+    private static long forEachSessionBetween(Path logLocation, long fromSecond, long toSecond,
+                                              SessionLogParser.Visitor visitor) {
+        long started = System.nanoTime();
+        long visited = querySessionsBetween(logLocation, fromSecond, toSecond, visitor);
+        QUERY_LATENCY.record(System.nanoTime() - started);
+        QUERY_RECORDS.add(visited);
+        return visited;
+    }
+
+    // Sealed segments outside the range are skipped without being opened
+    private static long querySessionsBetween(Path logLocation, long fromSecond, long toSecond,
+                                             SessionLogParser.Visitor visitor) {
+        try {
+            if (!SegmentedSessionLog.isSegmented(logLocation)) {
+                return SessionLogCache.shared().index(logLocation).query(fromSecond, toSecond, visitor);
+            }
+            long visited = 0;
+            for (SegmentedSessionLog.Segment segment
+                    : SegmentedSessionLog.open(logLocation).segmentsOverlapping(fromSecond, toSecond)) {
+                if (Files.exists(segment.file())) {
+                    visited += SessionLogCache.shared().index(segment.file()).query(fromSecond, toSecond, visitor);
+                }
+            }
+            return visited;
+        } catch (IOException e) {
+            throw new StorageException("Cannot query session log " + logLocation, e);
+        }
+    }
+
+    private static synchronized ConfigManager defaultConfig() {
+        if (defaultConfig == null) {
+            defaultConfig = new ConfigManager();
+        }
+        return defaultConfig;
+    }
+
+    private static List<Path> logFiles(Path logLocation) throws IOException {
+        if (!SegmentedSessionLog.isSegmented(logLocation)) {
+            return List.of(logLocation);
+        }
+        List<Path> files = new ArrayList<>();
+        for (SegmentedSessionLog.Segment segment : SegmentedSessionLog.open(logLocation).segments()) {
+            if (Files.exists(segment.file())) {
+                files.add(segment.file());
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Aggregates the whole log session by session, without using the rollup. Chunks of the log
+     * are parsed in parallel and merged in file order.
+     */
+    static SessionStats scanStats(Path logFile, LocalDate today, int maxRecentSessions) throws IOException {
+        SessionStats stats = new SessionStats(today, maxRecentSessions);
+        ParallelSessionLoader.Result<SessionStats> result = new ParallelSessionLoader()
+                .load(logFile, 0, true, () -> new SessionStats(today, maxRecentSessions));
+        result.chunks().forEach(stats::merge);
+        return stats;
+    }
 
-        if (!sessions.isEmpty()) {
-            printRecentSessions(sessions);
+    // Walks back from the newest file until enough recent sessions are found, then adds them in order
+    private static void readRecentSessions(List<Path> files, SessionStats stats) throws IOException {
+        List<SessionStats> tails = new ArrayList<>();
+        int found = 0;
+        for (int i = files.size() - 1; i >= 0 && found < stats.recentCapacity(); i--) {
+            SessionStats tail = new SessionStats(LocalDate.EPOCH, stats.recentCapacity());
+            readRecentSessions(files.get(i), tail);
+            found += tail.recentSessions().size();
+            tails.add(0, tail);
+        }
+        tails.forEach(stats::merge);
+    }
+
+    // Reads backwards from the end of the log until the chunk holds enough complete lines
+    private static void readRecentSessions(Path logFile, SessionStats stats) throws IOException {
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int chunk = 4096;
+            while (true) {
+                long start = Math.max(0, size - chunk);
+                ByteBuffer buffer = ByteBuffer.allocate((int) (size - start));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, start + buffer.position()) < 0) {
+                        break;
+                    }
+                }
+                byte[] bytes = buffer.array();
+                int from = 0;
+                if (start > 0) {
+                    while (from < bytes.length && bytes[from] != '\n') {
+                        from++;
+                    }
+                    from++;
+                }
+                int lines = 0;
+                for (int i = from; i < bytes.length; i++) {
+                    if (bytes[i] == '\n') {
+                        lines++;
+                    }
+                }
+                if (start == 0 || lines > stats.recentCapacity()) {
+                    new SessionLogParser().parse(new ByteArrayInputStream(bytes, from, bytes.length - from),
+                            stats::recordRecent);
+                    return;
+                }
+                chunk *= 2;
+            }
         }
     }
 
     private static void printDashboard(
-            int focusCount,
-            int breakCount,
+            long focusCount,
+            long breakCount,
             Duration totalFocusTime,
             Duration totalBreakTime,
             Duration avgWorkDuration,
             Duration avgBreakDuration,
             Duration todayFocusTime,
-            int todaySessions
+            long todaySessions
     ) {
         String line = "═".repeat(50);
         System.out.println();
@@ -118,16 +333,15 @@ public class AnalyticsService {
 
     private static void printRecentSessions(List<Session> sessions) {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd HH:mm");
-        int recentCount = Math.min(5, sessions.size());
-        List<Session> recentSessions = sessions.subList(Math.max(0, sessions.size() - recentCount), sessions.size());
+        int recentCount = sessions.size();
 
         String line = "═".repeat(50);
         System.out.println(ANSI_YELLOW + "╔" + line + "╗" + ANSI_RESET);
         System.out.println(ANSI_YELLOW + "║" + ANSI_BOLD + "              Recent Sessions (Last " + recentCount + ")             " + ANSI_RESET + ANSI_YELLOW + "║" + ANSI_RESET);
         System.out.println(ANSI_YELLOW + "╠" + line + "╣" + ANSI_RESET);
 
-        for (Session session : recentSessions) {
-            String type = session.getType().equals("work") ? "🎯 Focus" : "☕ Break";
+        for (Session session : sessions) {
+            String type = session.getType() == SessionType.WORK ? "🎯 Focus" : "☕ Break";
             String time = formatter.format(session.getStartTime());
             String duration = formatDuration(session.getDuration());
 
@@ -143,38 +357,6 @@ public class AnalyticsService {
         System.out.println();
     }
 
-    private static List<Session> loadSessions() {
-        List<Session> sessions = new ArrayList<>();
-        File logFile = new File("Session_log.json");
-        
-        if (!logFile.exists()) {
-            System.out.println("No session history found. Starting fresh!");
-            return sessions;
-        }
-        
-        try (BufferedReader reader = new BufferedReader(new FileReader(logFile))) {
-            String line;
-            int lineNumber = 0;
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                try {
-                    Session session = Session.fromJson(line);
-                    if (session != null) {
-                        sessions.add(session);
-                    } else {
-                        System.err.println("Warning: Invalid session data at line " + lineNumber);
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error parsing session at line " + lineNumber + ": " + e.getMessage());
-                }
-            }
-        } catch (IOException e) {
-            System.err.println("Error reading session log: " + e.getMessage());
-        }
-        
-        return sessions;
-    }
-
     static String formatDuration(Duration duration) {
         long hours = duration.toHours();
         long minutes = duration.minusHours(hours).toMinutes();
@@ -0,0 +1,168 @@
+package org.GCremez.analytics;
+
+import org.GCremez.model.Session;
+import org.GCremez.storage.SessionLogParser;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Every figure the analytics dashboard shows, accumulated either session by session in a single
+ * pass over the log or day by day from a {@link org.GCremez.storage.SessionRollup}.
+ * <p>
+ * Memory is constant: totals are plain counters and the most recent sessions are kept in a
+ * fixed-size ring, so a log with years of history costs no more than an empty one.
+ */
+public final class SessionStats implements SessionLogParser.Visitor {
+    private final long todayEpochDay;
+    private final long todayStartSecond;
+    private final long tomorrowStartSecond;
+
+    private long workCount;
+    private long breakCount;
+    private long workSeconds;
+    private long breakSeconds;
+    private long todayCount;
+    private long todaySeconds;
+
+    // Ring of the last recentTypes.length sessions; recentTotal counts every session seen
+    private final SessionType[] recentTypes;
+    private final long[] recentStartSeconds;
+    private final int[] recentStartNanos;
+    private final long[] recentDurations;
+    private long recentTotal;
+
+    public SessionStats(LocalDate today, int recentCapacity) {
+        if (recentCapacity < 0) {
+            throw new IllegalArgumentException("recentCapacity must not be negative, got: " + recentCapacity);
+        }
+        this.todayEpochDay = today.toEpochDay();
+        this.todayStartSecond = today.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        this.tomorrowStartSecond = today.plusDays(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        this.recentTypes = new SessionType[recentCapacity];
+        this.recentStartSeconds = new long[recentCapacity];
+        this.recentStartNanos = new int[recentCapacity];
+        this.recentDurations = new long[recentCapacity];
+    }
+
+    @Override
+    public void session(SessionType type, long startEpochSecond, int startNano, long durationSeconds) {
+        if (type == SessionType.WORK) {
+            workCount++;
+            workSeconds += durationSeconds;
+            if (startEpochSecond >= todayStartSecond && startEpochSecond < tomorrowStartSecond) {
+                todayCount++;
+                todaySeconds += durationSeconds;
+            }
+        } else {
+            breakCount++;
+            breakSeconds += durationSeconds;
+        }
+        recordRecent(type, startEpochSecond, startNano, durationSeconds);
+    }
+
+    /**
+     * Adds a whole day of totals, as reported by {@link org.GCremez.storage.SessionRollup}, which
+     * buckets sessions by UTC start day like {@link #session}. The day for {@code today} also
+     * gives today's figures.
+     */
+    public void addDay(long epochDay, long dayWorkCount, long dayWorkSeconds, long dayBreakCount, long dayBreakSeconds) {
+        workCount += dayWorkCount;
+        workSeconds += dayWorkSeconds;
+        breakCount += dayBreakCount;
+        breakSeconds += dayBreakSeconds;
+        if (epochDay == todayEpochDay) {
+            todayCount += dayWorkCount;
+            todaySeconds += dayWorkSeconds;
+        }
+    }
+
+    /**
+     * How many recent sessions are kept.
+     */
+    public int recentCapacity() {
+        return recentTypes.length;
+    }
+
+    /**
+     * Offers a session to the recent-sessions ring without counting it in the totals.
+     */
+    public void recordRecent(SessionType type, long startEpochSecond, int startNano, long durationSeconds) {
+        if (recentTypes.length > 0) {
+            int slot = (int) (recentTotal % recentTypes.length);
+            recentTypes[slot] = type;
+            recentStartSeconds[slot] = startEpochSecond;
+            recentStartNanos[slot] = startNano;
+            recentDurations[slot] = durationSeconds;
+        }
+        recentTotal++;
+    }
+
+    /**
+     * Folds in statistics gathered over a later part of the same log.
+     */
+    public void merge(SessionStats later) {
+        workCount += later.workCount;
+        workSeconds += later.workSeconds;
+        breakCount += later.breakCount;
+        breakSeconds += later.breakSeconds;
+        todayCount += later.todayCount;
+        todaySeconds += later.todaySeconds;
+        int count = (int) Math.min(later.recentTotal, later.recentTypes.length);
+        for (long i = later.recentTotal - count; i < later.recentTotal; i++) {
+            int slot = (int) (i % later.recentTypes.length);
+            recordRecent(later.recentTypes[slot], later.recentStartSeconds[slot],
+                    later.recentStartNanos[slot], later.recentDurations[slot]);
+        }
+    }
+
+    public long workCount() {
+        return workCount;
+    }
+
+    public long breakCount() {
+        return breakCount;
+    }
+
+    public Duration totalWorkTime() {
+        return Duration.ofSeconds(workSeconds);
+    }
+
+    public Duration totalBreakTime() {
+        return Duration.ofSeconds(breakSeconds);
+    }
+
+    public Duration averageWorkTime() {
+        return workCount == 0 ? Duration.ZERO : Duration.ofSeconds(workSeconds / workCount);
+    }
+
+    public Duration averageBreakTime() {
+        return breakCount == 0 ? Duration.ZERO : Duration.ofSeconds(breakSeconds / breakCount);
+    }
+
+    public long todayCount() {
+        return todayCount;
+    }
+
+    public Duration todayWorkTime() {
+        return Duration.ofSeconds(todaySeconds);
+    }
+
+    /**
+     * The most recent sessions, oldest first.
+     */
+    public List<Session> recentSessions() {
+        int count = (int) Math.min(recentTotal, recentTypes.length);
+        List<Session> recent = new ArrayList<>(count);
+        for (long i = recentTotal - count; i < recentTotal; i++) {
+            int slot = (int) (i % recentTypes.length);
+            recent.add(SessionLogParser.toSession(recentTypes[slot], recentStartSeconds[slot],
+                    recentStartNanos[slot], recentDurations[slot]));
+        }
+        return recent;
+    }
+}
@@ -1,72 +1,298 @@
 package org.GCremez.config;
 
 import com.typesafe.config.Config;
+import com.typesafe.config.ConfigException;
 import com.typesafe.config.ConfigFactory;
+import org.GCremez.exception.ConfigurationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-public class ConfigManager {
-    private final Config config;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * The application settings: {@code reference.conf} overlaid with a user {@code application.conf}
+ * ({@code ./application.conf} by default) and system properties.
+ * <p>
+ * Settings are compiled into an immutable {@link ConfigSnapshot}, so getters read a field. Once
+ * {@link #startWatching()} is called, edits to the user file are picked up without a restart: the
+ * snapshot is rebuilt and swapped in whole, and a file that does not parse or validate is rejected
+ * with a warning while the previous snapshot stays in effect.
+ */
+public class ConfigManager implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigManager.class);
+    private static final Path DEFAULT_USER_CONFIG = Path.of("application.conf");
+
+    private final Path userConfig;
+    private volatile ConfigSnapshot snapshot;
+    private final List<Consumer<ConfigSnapshot>> reloadListeners = new CopyOnWriteArrayList<>();
+    private WatchService watcher;
 
     public ConfigManager() {
-        this.config = ConfigFactory.load();
+        this(DEFAULT_USER_CONFIG);
+    }
+
+    /**
+     * Loads the settings, overlaying {@code userConfig} if it exists.
+     *
+     * @throws ConfigurationException if the settings do not parse or validate
+     */
+    public ConfigManager(Path userConfig) {
+        this.userConfig = userConfig.toAbsolutePath();
+        this.snapshot = ConfigSnapshot.from(load(this.userConfig));
+    }
+
+    /**
+     * The settings currently in effect.
+     */
+    public ConfigSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Rebuilds the snapshot from the user file, keeping the current one if the file is invalid.
+     *
+     * @return whether the new settings were applied
+     */
+    public boolean reload() {
+        try {
+            ConfigSnapshot reloaded = ConfigSnapshot.from(load(userConfig));
+            if (!reloaded.equals(snapshot)) {
+                snapshot = reloaded;
+                logger.info("Configuration reloaded from {}", userConfig);
+                notifyReloadListeners(reloaded);
+            }
+            return true;
+        } catch (ConfigurationException | ConfigException e) {
+            logger.warn("Ignoring invalid configuration in {}: {}", userConfig, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Calls {@code listener} with the new snapshot after each reload that changes a setting, on
+     * the thread that reloaded.
+     */
+    public void addReloadListener(Consumer<ConfigSnapshot> listener) {
+        reloadListeners.add(listener);
+    }
+
+    public void removeReloadListener(Consumer<ConfigSnapshot> listener) {
+        reloadListeners.remove(listener);
+    }
+
+    /**
+     * Watches the user file on a daemon thread and reloads whenever it is created, changed or
+     * deleted. Does nothing if already watching.
+     */
+    public synchronized void startWatching() {
+        if (watcher != null) {
+            return;
+        }
+        Path directory = userConfig.getParent();
+        try {
+            watcher = FileSystems.getDefault().newWatchService();
+            directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            throw new ConfigurationException("Cannot watch " + directory + " for configuration changes", e);
+        }
+        Thread thread = new Thread(() -> watch(watcher), "pomodoro-config-watch");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops watching the user file.
+     */
+    @Override
+    public synchronized void close() {
+        if (watcher == null) {
+            return;
+        }
+        try {
+            watcher.close();
+        } catch (IOException e) {
+            logger.debug("Error closing configuration watcher", e);
+        }
+        watcher = null;
+    }
+
+    private void notifyReloadListeners(ConfigSnapshot reloaded) {
+        for (Consumer<ConfigSnapshot> listener : reloadListeners) {
+            try {
+                listener.accept(reloaded);
+            } catch (RuntimeException e) {
+                logger.warn("Configuration reload listener failed", e);
+            }
+        }
+    }
+
+    private void watch(WatchService service) {
+        Path fileName = userConfig.getFileName();
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context());
+                }
+                if (changed) {
+                    reload();
+                }
+                if (!key.reset()) {
+                    logger.warn("Stopped watching {}: directory is no longer accessible", userConfig.getParent());
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed by close()
+        }
+    }
+
+    private static Config load(Path userConfig) {
+        ConfigFactory.invalidateCaches();
+        return ConfigFactory.defaultOverrides()
+                .withFallback(ConfigFactory.parseFile(userConfig.toFile()))
+                .withFallback(ConfigFactory.defaultApplication())
+                .withFallback(ConfigFactory.defaultReference())
+                .resolve();
     }
 
     public int getWorkDuration() {
-        return config.getInt("pomodoro.work.duration");
+        return snapshot.defaultWorkDuration();
     }
 
     public int getBreakDuration() {
-        return config.getInt("pomodoro.break.duration");
+        return snapshot.shortBreakDuration();
     }
 
     public int getLongBreakDuration() {
-        return config.getInt("pomodoro.timer.long-break-duration");
+        return snapshot.longBreakDuration();
     }
 
     public int getShortBreakDuration() {
-        return config.getInt("pomodoro.timer.short-break-duration");
+        return snapshot.shortBreakDuration();
     }
 
     public int getSessionsBeforeLongBreak() {
-        return config.getInt("pomodoro.timer.sessions-before-long-break");
+        return snapshot.sessionsBeforeLongBreak();
     }
 
     public int getDefaultWorkDuration() {
-        return config.getInt("pomodoro.timer.default-work-duration");
+        return snapshot.defaultWorkDuration();
+    }
+
+    public String getTimerEngine() {
+        return snapshot.timerEngine();
+    }
+
+    public String getExecutionMode() {
+        return snapshot.executionMode();
+    }
+
+    public int getEventQueueCapacity() {
+        return snapshot.eventQueueCapacity();
     }
 
-    public String getSoundDirectory() {
-        return config.getString("pomodoro.sound.directory");
+    public String getEventBackpressure() {
+        return snapshot.eventBackpressure();
+    }
+
+    public int getTickIntervalSeconds() {
+        return snapshot.tickIntervalSeconds();
     }
 
     public String getWorkSoundFile() {
-        return config.getString("pomodoro.sound.work");
+        return snapshot.workSoundFile();
     }
 
     public String getBreakSoundFile() {
-        return config.getString("pomodoro.sound.break");
+        return snapshot.breakSoundFile();
     }
 
     public boolean isAnalyticsEnabled() {
-        return config.getBoolean("pomodoro.analytics.enabled");
+        return snapshot.analyticsEnabled();
     }
 
     public String getAnalyticsFilePath() {
-        return config.getString("pomodoro.analytics.file");
+        return snapshot.analyticsFile();
+    }
+
+    public int getAnalyticsQueueCapacity() {
+        return snapshot.analyticsQueueCapacity();
+    }
+
+    public int getAnalyticsBatchSize() {
+        return snapshot.analyticsBatchSize();
+    }
+
+    public long getAnalyticsFlushIntervalMillis() {
+        return snapshot.analyticsFlushIntervalMillis();
+    }
+
+    public String getSessionLogFile() {
+        return snapshot.sessionLogFile();
+    }
+
+    public String getSessionSegmentsDir() {
+        return snapshot.sessionSegmentsDir();
+    }
+
+    public int getMaxRecentSessions() {
+        return snapshot.maxRecentSessions();
+    }
+
+    public String getJournalFsyncPolicy() {
+        return snapshot.journalFsyncPolicy();
+    }
+
+    public long getJournalFsyncIntervalMillis() {
+        return snapshot.journalFsyncIntervalMillis();
+    }
+
+    public int getJournalMaxBatch() {
+        return snapshot.journalMaxBatch();
     }
 
     public boolean isSoundEnabled() {
-        return config.getBoolean("pomodoro.sound.enabled");
+        return snapshot.soundEnabled();
     }
 
     public double getSoundVolume() {
-        return config.getDouble("pomodoro.sound.volume");
+        return snapshot.soundVolume();
+    }
+
+    public int getSoundBufferMillis() {
+        return snapshot.soundBufferMillis();
+    }
+
+    public boolean isMetricsHttpEnabled() {
+        return snapshot.metricsHttpEnabled();
+    }
+
+    public String getMetricsHttpHost() {
+        return snapshot.metricsHttpHost();
+    }
+
+    public int getMetricsHttpPort() {
+        return snapshot.metricsHttpPort();
     }
 
     public int getCommandHistorySize() {
-        return config.getInt("pomodoro.terminal.command-history-size");
+        return snapshot.commandHistorySize();
     }
 
     public boolean shouldClearScreenOnStart() {
-        return config.getBoolean("pomodoro.terminal.clear-screen-on-start");
+        return snapshot.clearScreenOnStart();
     }
 }
@@ -0,0 +1,135 @@
+package org.GCremez.config;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigException;
+import org.GCremez.event.BackpressurePolicy;
+import org.GCremez.exception.ConfigurationException;
+import org.GCremez.exception.ValidationException;
+import org.GCremez.storage.FsyncPolicy;
+import org.GCremez.util.ExecutionMode;
+import org.GCremez.util.ValidationUtils;
+
+/**
+ * Every setting the application reads, compiled once from a Typesafe {@link Config} and validated,
+ * so the hot paths read plain fields instead of looking up paths.
+ */
+public record ConfigSnapshot(
+        int defaultWorkDuration,
+        int shortBreakDuration,
+        int longBreakDuration,
+        int sessionsBeforeLongBreak,
+        String timerEngine,
+        String executionMode,
+        int eventQueueCapacity,
+        String eventBackpressure,
+        int tickIntervalSeconds,
+        boolean soundEnabled,
+        double soundVolume,
+        String workSoundFile,
+        String breakSoundFile,
+        int soundBufferMillis,
+        boolean analyticsEnabled,
+        String analyticsFile,
+        int analyticsQueueCapacity,
+        int analyticsBatchSize,
+        long analyticsFlushIntervalMillis,
+        String sessionLogFile,
+        String sessionSegmentsDir,
+        int maxRecentSessions,
+        String journalFsyncPolicy,
+        long journalFsyncIntervalMillis,
+        int journalMaxBatch,
+        boolean metricsHttpEnabled,
+        String metricsHttpHost,
+        int metricsHttpPort,
+        boolean clearScreenOnStart,
+        int commandHistorySize) {
+
+    /**
+     * Reads and validates every setting under {@code pomodoro}.
+     *
+     * @throws ConfigurationException if a setting is missing, has the wrong type or is out of range
+     */
+    public static ConfigSnapshot from(Config config) {
+        try {
+            ConfigSnapshot snapshot = new ConfigSnapshot(
+                    config.getInt("pomodoro.timer.default-work-duration"),
+                    config.getInt("pomodoro.timer.short-break-duration"),
+                    config.getInt("pomodoro.timer.long-break-duration"),
+                    config.getInt("pomodoro.timer.sessions-before-long-break"),
+                    config.getString("pomodoro.timer.engine"),
+                    config.getString("pomodoro.execution.mode"),
+                    config.getInt("pomodoro.events.queue-capacity"),
+                    config.getString("pomodoro.events.backpressure"),
+                    config.getInt("pomodoro.events.tick-interval"),
+                    config.getBoolean("pomodoro.sound.enabled"),
+                    config.getDouble("pomodoro.sound.volume"),
+                    config.getString("pomodoro.sound.work-sound-file"),
+                    config.getString("pomodoro.sound.break-sound-file"),
+                    config.getInt("pomodoro.sound.buffer-ms"),
+                    config.getBoolean("pomodoro.analytics.enabled"),
+                    config.getString("pomodoro.analytics.file"),
+                    config.getInt("pomodoro.analytics.events.queue-capacity"),
+                    config.getInt("pomodoro.analytics.events.batch-size"),
+                    config.getLong("pomodoro.analytics.events.flush-interval-ms"),
+                    config.getString("pomodoro.analytics.session-log-file"),
+                    config.getString("pomodoro.analytics.session-segments-dir"),
+                    config.getInt("pomodoro.analytics.max-recent-sessions"),
+                    config.getString("pomodoro.analytics.journal.fsync"),
+                    config.getLong("pomodoro.analytics.journal.fsync-interval-ms"),
+                    config.getInt("pomodoro.analytics.journal.max-batch"),
+                    config.getBoolean("pomodoro.metrics.http.enabled"),
+                    config.getString("pomodoro.metrics.http.host"),
+                    config.getInt("pomodoro.metrics.http.port"),
+                    config.getBoolean("pomodoro.terminal.clear-screen-on-start"),
+                    config.getInt("pomodoro.terminal.command-history-size"));
+            snapshot.validate();
+            return snapshot;
+        } catch (ConfigException | ValidationException e) {
+            throw new ConfigurationException("Invalid configuration: " + e.getMessage(), e);
+        }
+    }
+
+    private void validate() {
+        ValidationUtils.validateDuration(defaultWorkDuration, "Default work duration");
+        ValidationUtils.validateDuration(shortBreakDuration, "Short break duration");
+        ValidationUtils.validateDuration(longBreakDuration, "Long break duration");
+        ValidationUtils.validatePositive(sessionsBeforeLongBreak, "Sessions before long break");
+        ValidationUtils.validateNotBlank(timerEngine, "Timer engine");
+        ValidationUtils.validateNotBlank(executionMode, "Execution mode");
+        ValidationUtils.validatePositive(eventQueueCapacity, "Event queue capacity");
+        ValidationUtils.validateNotBlank(eventBackpressure, "Event backpressure");
+        ValidationUtils.validateRange(tickIntervalSeconds, 0, Integer.MAX_VALUE, "Tick interval");
+        ValidationUtils.validateVolume(soundVolume);
+        ValidationUtils.validateNotBlank(workSoundFile, "Work sound file");
+        ValidationUtils.validateNotBlank(breakSoundFile, "Break sound file");
+        ValidationUtils.validatePositive(soundBufferMillis, "Sound buffer");
+        ValidationUtils.validateNotBlank(analyticsFile, "Analytics file");
+        ValidationUtils.validatePositive(analyticsQueueCapacity, "Analytics queue capacity");
+        ValidationUtils.validatePositive(analyticsBatchSize, "Analytics batch size");
+        ValidationUtils.validateNotBlank(sessionLogFile, "Session log file");
+        ValidationUtils.validatePositive(maxRecentSessions, "Max recent sessions");
+        ValidationUtils.validateNotBlank(journalFsyncPolicy, "Journal fsync policy");
+        ValidationUtils.validatePositive(journalMaxBatch, "Journal max batch");
+        ValidationUtils.validatePositive(commandHistorySize, "Command history size");
+        ValidationUtils.validateNotBlank(metricsHttpHost, "Metrics HTTP host");
+        ValidationUtils.validateRange(metricsHttpPort, 0, 65_535, "Metrics HTTP port");
+        if (analyticsFlushIntervalMillis <= 0) {
+            throw new ValidationException("Analytics flush interval must be positive, got: " + analyticsFlushIntervalMillis);
+        }
+        if (journalFsyncIntervalMillis < 0) {
+            throw new ValidationException("Journal fsync interval must not be negative, got: " + journalFsyncIntervalMillis);
+        }
+        // Parsed here so a bad value is rejected on reload instead of failing the next timer or journal
+        if (!"wheel".equalsIgnoreCase(timerEngine) && !"executor".equalsIgnoreCase(timerEngine)) {
+            throw new ValidationException("Unknown timer engine: " + timerEngine + ". Use 'wheel' or 'executor'.");
+        }
+        try {
+            ExecutionMode.fromConfig(executionMode);
+            BackpressurePolicy.fromConfig(eventBackpressure);
+            FsyncPolicy.fromConfig(journalFsyncPolicy);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(e.getMessage(), e);
+        }
+    }
+}
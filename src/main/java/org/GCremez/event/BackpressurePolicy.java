@@ -0,0 +1,31 @@
+package org.GCremez.event;
+
+import java.util.Locale;
+
+/**
+ * What a listener queue does with a new event when it is full.
+ */
+public enum BackpressurePolicy {
+    /** Discard the new event. */
+    DROP,
+    /**
+     * Queue overflowing events in order behind the full queue, keeping only the newest of
+     * consecutive ticks. Lifecycle events are never merged or reordered; they are dropped only
+     * when the overflow, which holds as many events as the queue, is full too.
+     */
+    COALESCE,
+    /** Make the publisher wait for space. This lets the listener stall the timer. */
+    BLOCK;
+
+    public static BackpressurePolicy fromConfig(String value) {
+        if (value == null || value.isBlank()) {
+            return COALESCE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown backpressure policy: " + value
+                    + ". Use 'drop', 'coalesce' or 'block'.", e);
+        }
+    }
+}
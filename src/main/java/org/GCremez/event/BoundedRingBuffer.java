@@ -0,0 +1,119 @@
+package org.GCremez.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue (Vyukov's sequence-per-slot ring). Any number of producers may offer
+ * concurrently; polling must be done by one consumer at a time. Each element carries the
+ * {@link System#nanoTime()} at which it was offered so the consumer can measure lag, or any
+ * other {@code long} the producer wants to pass along without allocating.
+ */
+public final class BoundedRingBuffer<E> {
+    private final Object[] elements;
+    private final long[] stamps;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    // Stamp of the element returned by the last poll(); consumer-only
+    private long lastStamp;
+
+    public BoundedRingBuffer(int capacity) {
+        int size = sizeFor(capacity);
+        this.elements = new Object[size];
+        this.stamps = new long[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * The capacity a ring created with {@code capacity} has: the next power of two, at least two.
+     */
+    public static int sizeFor(int capacity) {
+        return Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+    }
+
+    /**
+     * Adds {@code element} unless the ring is full.
+     *
+     * @return false if the ring was full
+     */
+    public boolean offer(E element, long stamp) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    stamps[index] = stamp;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element, or returns {@code null} if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E element = (E) elements[index];
+                    lastStamp = stamps[index];
+                    elements[index] = null;
+                    sequences.set(index, position + mask + 1);
+                    return element;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * The stamp offered with the element returned by the last {@link #poll()}.
+     */
+    public long lastPolledStamp() {
+        return lastStamp;
+    }
+
+    /**
+     * Elements ever accepted by {@link #offer}, so a consumer can tell when it has caught up with
+     * a point in time.
+     */
+    public long offeredCount() {
+        return tail.get();
+    }
+
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return elements.length;
+    }
+}
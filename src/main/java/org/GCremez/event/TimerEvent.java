@@ -0,0 +1,25 @@
+package org.GCremez.event;
+
+import org.GCremez.timer.PomodoroTimer.SessionType;
+
+/**
+ * Lifecycle event published by a {@link org.GCremez.timer.PomodoroTimer}.
+ *
+ * @param remainingNanos time left in the session when the event was raised
+ * @param timestampNanos timer clock reading when the event was raised
+ */
+public record TimerEvent(Type type,
+                         SessionType sessionType,
+                         int durationMinutes,
+                         long remainingNanos,
+                         long timestampNanos) {
+
+    public enum Type {
+        STARTED,
+        TICK,
+        PAUSED,
+        RESUMED,
+        SKIPPED,
+        COMPLETED
+    }
+}
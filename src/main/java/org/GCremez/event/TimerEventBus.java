@@ -0,0 +1,279 @@
+package org.GCremez.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fans timer events out to listeners without letting any listener hold up the publisher.
+ * <p>
+ * Every subscription owns a bounded lock-free ring, allocated on the first event it receives so
+ * subscriptions of idle timers cost a few fields. {@link #publish} only offers into those rings;
+ * a subscription drains its ring on {@code executor} as a short task that is scheduled when events
+ * arrive and ends when the ring is empty, so idle listeners hold no thread. What happens when a ring
+ * is full is decided per subscription by its {@link BackpressurePolicy}.
+ */
+public class TimerEventBus implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TimerEventBus.class);
+    private static final int DRAIN_BATCH = 256;
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final Executor executor;
+    private volatile Subscription[] subscriptions = new Subscription[0];
+    private volatile boolean closed;
+
+    public TimerEventBus(Executor executor) {
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    public synchronized Subscription subscribe(String name, TimerEventListener listener, int capacity,
+                                               BackpressurePolicy policy) {
+        Subscription subscription = new Subscription(name, listener,
+                capacity > 0 ? capacity : DEFAULT_CAPACITY, policy != null ? policy : BackpressurePolicy.COALESCE);
+        Subscription[] current = subscriptions;
+        Subscription[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = subscription;
+        subscriptions = updated;
+        return subscription;
+    }
+
+    public synchronized void unsubscribe(Subscription subscription) {
+        subscriptions = Arrays.stream(subscriptions)
+                .filter(s -> s != subscription)
+                .toArray(Subscription[]::new);
+    }
+
+    /**
+     * Offers {@code event} to every listener. Never blocks unless a listener uses
+     * {@link BackpressurePolicy#BLOCK} and its queue is full.
+     */
+    public void publish(TimerEvent event) {
+        if (closed) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(event, now);
+        }
+    }
+
+    public List<SubscriptionMetrics> metrics() {
+        List<SubscriptionMetrics> metrics = new ArrayList<>();
+        for (Subscription subscription : subscriptions) {
+            metrics.add(subscription.metrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * Waits until every queued event has been delivered or {@code timeout} passes.
+     * Returns whether all queues drained.
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Subscription subscription : subscriptions) {
+            while (!subscription.isIdle()) {
+                if (System.nanoTime() - deadline > 0) {
+                    return false;
+                }
+                LockSupport.parkNanos(100_000);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stops accepting events and gives listeners a short grace period to drain.
+     */
+    @Override
+    public void close() {
+        if (!flush(500, TimeUnit.MILLISECONDS)) {
+            logger.warn("Timer event listeners did not drain before close");
+        }
+        closed = true;
+    }
+
+    public record SubscriptionMetrics(String name,
+                                      int queueDepth,
+                                      int capacity,
+                                      long published,
+                                      long delivered,
+                                      long dropped,
+                                      long coalesced,
+                                      long lastLagNanos,
+                                      long maxLagNanos) {
+    }
+
+    public final class Subscription {
+        private final String name;
+        private final TimerEventListener listener;
+        private final BackpressurePolicy policy;
+        private final int capacity;
+        // Created by the first offer; never null once an event was published
+        private volatile BoundedRingBuffer<TimerEvent> ring;
+        // COALESCE overflow, in publish order and at most as long as the ring; guarded by itself
+        private final ArrayDeque<TimerEvent> overflow = new ArrayDeque<>();
+        private final int overflowCapacity;
+        private volatile boolean overflowing;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final LongAdder published = new LongAdder();
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+        private final LongAccumulator maxLag = new LongAccumulator(Math::max, 0);
+        private volatile long lastLag;
+
+        private Subscription(String name, TimerEventListener listener, int capacity, BackpressurePolicy policy) {
+            this.name = name;
+            this.listener = Objects.requireNonNull(listener, "listener");
+            this.policy = policy;
+            this.capacity = BoundedRingBuffer.sizeFor(capacity);
+            this.overflowCapacity = this.capacity;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        private void offer(TimerEvent event, long now) {
+            published.increment();
+            BoundedRingBuffer<TimerEvent> ring = ring();
+            // Once events overflow, later ones queue behind them so delivery stays in order
+            if (overflowing || !ring.offer(event, now)) {
+                switch (policy) {
+                    case DROP:
+                        dropped.increment();
+                        return;
+                    case COALESCE:
+                        if (!addOverflow(event)) {
+                            dropped.increment();
+                            return;
+                        }
+                        break;
+                    case BLOCK:
+                        while (!ring.offer(event, now)) {
+                            if (closed) {
+                                dropped.increment();
+                                return;
+                            }
+                            schedule();
+                            LockSupport.parkNanos(50_000);
+                        }
+                        break;
+                }
+            }
+            schedule();
+        }
+
+        private BoundedRingBuffer<TimerEvent> ring() {
+            BoundedRingBuffer<TimerEvent> current = ring;
+            if (current == null) {
+                synchronized (this) {
+                    current = ring;
+                    if (current == null) {
+                        ring = current = new BoundedRingBuffer<>(capacity);
+                    }
+                }
+            }
+            return current;
+        }
+
+        // Only a tick directly behind another tick replaces it; lifecycle events are never merged.
+        // Returns false when the overflow is full as well, so a stalled listener cannot grow it
+        private boolean addOverflow(TimerEvent event) {
+            synchronized (overflow) {
+                TimerEvent last = overflow.peekLast();
+                if (event.type() == TimerEvent.Type.TICK && last != null && last.type() == TimerEvent.Type.TICK) {
+                    overflow.pollLast();
+                    coalesced.increment();
+                } else if (overflow.size() >= overflowCapacity) {
+                    return false;
+                }
+                overflow.addLast(event);
+                overflowing = true;
+                return true;
+            }
+        }
+
+        private TimerEvent pollOverflow() {
+            if (!overflowing) {
+                return null;
+            }
+            synchronized (overflow) {
+                TimerEvent event = overflow.pollFirst();
+                overflowing = !overflow.isEmpty();
+                return event;
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    logger.debug("Dropping events for listener {}: executor is shut down", name);
+                }
+            }
+        }
+
+        private void drain() {
+            // Only scheduled after an offer, so the ring exists
+            BoundedRingBuffer<TimerEvent> ring = this.ring;
+            try {
+                for (int processed = 0; processed < DRAIN_BATCH; processed++) {
+                    TimerEvent event = ring.poll();
+                    if (event != null) {
+                        deliver(event, System.nanoTime() - ring.lastPolledStamp());
+                    } else if ((event = pollOverflow()) != null) {
+                        // Overflow was published after everything in the ring
+                        deliver(event, -1);
+                    } else {
+                        break;
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+                if (!ring.isEmpty() || overflowing) {
+                    schedule();
+                }
+            }
+        }
+
+        private void deliver(TimerEvent event, long lagNanos) {
+            try {
+                listener.onEvent(event);
+            } catch (Throwable t) {
+                logger.warn("Timer event listener {} failed on {}", name, event.type(), t);
+            }
+            delivered.increment();
+            if (lagNanos >= 0) {
+                lastLag = lagNanos;
+                maxLag.accumulate(lagNanos);
+            }
+        }
+
+        private boolean isIdle() {
+            BoundedRingBuffer<TimerEvent> ring = this.ring;
+            return !scheduled.get() && (ring == null || ring.isEmpty()) && !overflowing;
+        }
+
+        public SubscriptionMetrics metrics() {
+            BoundedRingBuffer<TimerEvent> ring = this.ring;
+            return new SubscriptionMetrics(name, ring != null ? ring.size() : 0, capacity, published.sum(),
+                    delivered.sum(), dropped.sum(), coalesced.sum(), lastLag, maxLag.get());
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package org.GCremez.event;
+
+/**
+ * Consumer of {@link TimerEvent}s. Each listener runs on its own drain task, so a slow listener
+ * only delays its own queue.
+ */
+@FunctionalInterface
+public interface TimerEventListener {
+    void onEvent(TimerEvent event);
+}
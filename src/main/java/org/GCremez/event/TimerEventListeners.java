@@ -0,0 +1,51 @@
+package org.GCremez.event;
+
+import org.GCremez.service.AnalyticsService;
+import org.GCremez.sound.SoundService;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+
+/**
+ * Adapters that turn the existing services into event bus sinks.
+ */
+public final class TimerEventListeners {
+
+    private TimerEventListeners() {
+    }
+
+    /**
+     * Plays the work or break cue when a session starts.
+     */
+    public static TimerEventListener soundCues(SoundService soundService) {
+        return event -> {
+            if (event.type() == TimerEvent.Type.STARTED) {
+                if (event.sessionType() == SessionType.WORK) {
+                    soundService.playWorkSound();
+                } else {
+                    soundService.playBreakSound();
+                }
+            }
+        };
+    }
+
+    /**
+     * Forwards session starts and completions to {@code analyticsService}.
+     */
+    public static TimerEventListener analytics(AnalyticsService analyticsService) {
+        return event -> {
+            switch (event.type()) {
+                case STARTED:
+                    if (event.sessionType() == SessionType.WORK) {
+                        analyticsService.logWorkSessionStart();
+                    } else {
+                        analyticsService.logBreakSessionStart();
+                    }
+                    break;
+                case COMPLETED:
+                    analyticsService.logSessionComplete();
+                    break;
+                default:
+                    break;
+            }
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package org.GCremez.exception;
+
+/**
+ * Exception thrown when session history cannot be read or written.
+ */
+public class StorageException extends PomodoroException {
+    public StorageException(String message) {
+        super(message);
+    }
+
+    public StorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
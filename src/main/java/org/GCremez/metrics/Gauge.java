@@ -0,0 +1,22 @@
+package org.GCremez.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A value that goes up and down, such as the number of running sessions. Like {@link Counter} it
+ * is backed by a {@link LongAdder}, so many timers can update it without contending.
+ */
+public final class Gauge {
+    private final LongAdder value = new LongAdder();
+
+    Gauge() {
+    }
+
+    public void add(long delta) {
+        value.add(delta);
+    }
+
+    public long value() {
+        return value.sum();
+    }
+}
@@ -0,0 +1,142 @@
+package org.GCremez.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of non-negative {@code long} values (latencies in nanos, durations in seconds)
+ * in fixed log-linear buckets, in the style of HdrHistogram: values below 16 are counted exactly
+ * and every power of two above is split into 16 buckets, so any recorded value is known to within
+ * 6.25%. The 976 buckets cover the whole {@code long} range.
+ * <p>
+ * {@link #record(long)} is lock-free and allocates nothing; {@link #snapshot()} copies the
+ * buckets for reading.
+ */
+public final class Histogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    Histogram() {
+    }
+
+    /**
+     * Records one value; negative values count as zero.
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        buckets.incrementAndGet(bucketOf(v));
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        return new Snapshot(count, sum.sum(), max.get(), counts);
+    }
+
+    long sum() {
+        return sum.sum();
+    }
+
+    /**
+     * Fills {@code values} with the value at each of {@code quantiles} (ascending, 0 to 1) in one
+     * pass over the live buckets, without copying them.
+     *
+     * @return the number of values counted
+     */
+    long quantiles(double[] quantiles, long[] values) {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += buckets.get(i);
+        }
+        long highest = max.get();
+        int next = 0;
+        long seen = 0;
+        for (int i = 0; i < BUCKETS && next < quantiles.length; i++) {
+            seen += buckets.get(i);
+            while (next < quantiles.length && seen >= Math.max(1, (long) Math.ceil(quantiles[next] * count))) {
+                values[next++] = Math.min(upperBound(i), highest);
+            }
+        }
+        while (next < quantiles.length) {
+            values[next++] = count == 0 ? 0 : highest;
+        }
+        return count;
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - SUB_BUCKET_BITS - 1 - Long.numberOfLeadingZeros(value);
+        int mantissa = (int) (value >>> shift);
+        return (shift + 1) * SUB_BUCKETS + mantissa - SUB_BUCKETS;
+    }
+
+    // Largest value that falls in bucket
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long mantissa = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        long next = (mantissa + 1) << shift;
+        return next <= 0 ? Long.MAX_VALUE : next - 1;
+    }
+
+    /**
+     * The histogram at one point in time. Values may be recorded while it is taken, so
+     * {@code count}, {@code sum} and {@code max} can disagree by the values in flight.
+     */
+    public record Snapshot(long count, long sum, long max, long[] bucketCounts) {
+
+        public double mean() {
+            return count == 0 ? 0.0 : (double) sum / count;
+        }
+
+        /**
+         * The value at or below which {@code percentile} percent of the recorded values fall,
+         * as the upper bound of its bucket.
+         */
+        public long percentile(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("percentile must be between 0 and 100, got: " + percentile);
+            }
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < bucketCounts.length; i++) {
+                seen += bucketCounts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        /**
+         * How many values are at most {@code value}, counting whole buckets.
+         */
+        public long countAtOrBelow(long value) {
+            int last = bucketOf(Math.max(0, value));
+            long total = 0;
+            for (int i = 0; i <= last; i++) {
+                total += bucketCounts[i];
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.GCremez.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves a {@link MetricsRegistry} at {@code /metrics} in the Prometheus text format on the JDK's
+ * built-in HTTP server. Scrapes are handled one at a time on a single daemon thread, which lets
+ * them share one {@link PrometheusFormat} and its buffers.
+ */
+public final class MetricsHttpServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsHttpServer.class);
+    public static final String PATH = "/metrics";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final MetricsRegistry registry;
+    private final PrometheusFormat format = new PrometheusFormat();
+
+    private MetricsHttpServer(HttpServer server, MetricsRegistry registry) {
+        this.server = server;
+        this.registry = registry;
+        this.executor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "pomodoro-metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext(PATH, this::handle);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Starts serving {@code registry} on {@code host}:{@code port}; port 0 picks a free port.
+     */
+    public static MetricsHttpServer start(String host, int port, MetricsRegistry registry) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        MetricsHttpServer metricsServer = new MetricsHttpServer(server, registry);
+        server.start();
+        logger.info("Serving metrics at http://{}:{}{}", host, metricsServer.address().getPort(), PATH);
+        return metricsServer;
+    }
+
+    public InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            format.render(registry);
+            exchange.getResponseHeaders().set("Content-Type", PrometheusFormat.CONTENT_TYPE);
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, format.length());
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(format.bytes(), 0, format.length());
+            }
+        }
+    }
+}
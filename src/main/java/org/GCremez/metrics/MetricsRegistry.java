@@ -0,0 +1,94 @@
+package org.GCremez.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Named {@link Counter}s, {@link Gauge}s and {@link Histogram}s. Look a metric up once, keep the reference and
+ * record through it; only the lookup touches the registry's map.
+ * <p>
+ * Names are dot-separated and end in the unit where there is one, e.g.
+ * {@code timer.wakeup.drift.nanos}.
+ */
+public final class MetricsRegistry {
+    private static final MetricsRegistry SHARED = new MetricsRegistry();
+
+    // Sorted, so snapshots and exports list metrics in a stable order without sorting
+    private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentSkipListMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+
+    /**
+     * The registry the application's own metrics are recorded in.
+     */
+    public static MetricsRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * The counter called {@code name}, created on first use.
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> new Counter());
+    }
+
+    /**
+     * The gauge called {@code name}, created on first use.
+     */
+    public Gauge gauge(String name) {
+        return gauges.computeIfAbsent(name, n -> new Gauge());
+    }
+
+    /**
+     * The histogram called {@code name}, created on first use.
+     */
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> new Histogram());
+    }
+
+    /**
+     * Current values of every metric, sorted by name. {@code nanoTime} lets callers turn two
+     * snapshots into rates.
+     */
+    public Snapshot snapshot() {
+        SortedMap<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.sum()));
+        SortedMap<String, Long> gaugeValues = new TreeMap<>();
+        gauges.forEach((name, gauge) -> gaugeValues.put(name, gauge.value()));
+        SortedMap<String, Histogram.Snapshot> histogramValues = new TreeMap<>();
+        histograms.forEach((name, histogram) -> histogramValues.put(name, histogram.snapshot()));
+        return new Snapshot(System.nanoTime(), Collections.unmodifiableSortedMap(counterValues),
+                Collections.unmodifiableSortedMap(gaugeValues), Collections.unmodifiableSortedMap(histogramValues));
+    }
+
+    Map<String, Counter> counters() {
+        return counters;
+    }
+
+    Map<String, Gauge> gauges() {
+        return gauges;
+    }
+
+    Map<String, Histogram> histograms() {
+        return histograms;
+    }
+
+    public record Snapshot(long nanoTime, SortedMap<String, Long> counters, SortedMap<String, Long> gauges,
+                           SortedMap<String, Histogram.Snapshot> histograms) {
+
+        public long counter(String name) {
+            return counters.getOrDefault(name, 0L);
+        }
+
+        /**
+         * Per-second rate of {@code name} between {@code earlier} and this snapshot.
+         */
+        public double rate(String name, Snapshot earlier) {
+            long elapsed = nanoTime - earlier.nanoTime;
+            return elapsed <= 0 ? 0.0 : (counter(name) - earlier.counter(name)) * 1e9 / elapsed;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.GCremez.metrics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Renders a {@link MetricsRegistry} in the Prometheus text exposition format (version 0.0.4).
+ * <p>
+ * Names get a {@code pomodoro_} prefix and underscores for dots; counters end in {@code _total}
+ * and {@code .nanos} metrics are exported in seconds. Histograms become summaries with the
+ * {@link #QUANTILES}, computed in one pass over the live buckets.
+ * <p>
+ * Output goes to a text buffer and a byte buffer that are reused between renders, and exported
+ * names are translated once, so a scrape allocates almost nothing and costs the same however many
+ * timers feed the registry. An instance is not thread-safe; give each scraper its own.
+ */
+public final class PrometheusFormat {
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+    private static final String[] QUANTILE_LABELS = {"{quantile=\"0.5\"} ", "{quantile=\"0.9\"} ", "{quantile=\"0.99\"} "};
+    private static final String NANOS_SUFFIX = ".nanos";
+
+    private final StringBuilder text = new StringBuilder(4096);
+    private final long[] quantileValues = new long[QUANTILES.length];
+    private final Map<String, String> counterNames = new HashMap<>();
+    private final Map<String, String> exportedNames = new HashMap<>();
+    private byte[] bytes = new byte[4096];
+    private int length;
+
+    /**
+     * Renders the current values of every metric in {@code registry}; read the result with
+     * {@link #bytes()} and {@link #length()}.
+     */
+    public void render(MetricsRegistry registry) {
+        text.setLength(0);
+        registry.counters().forEach((name, counter) -> {
+            String exported = counterNames.computeIfAbsent(name, n -> exportedName(n) + "_total");
+            type(exported, "counter");
+            text.append(exported).append(' ').append(counter.sum()).append('\n');
+        });
+        registry.gauges().forEach((name, gauge) -> {
+            String exported = exportedNames.computeIfAbsent(name, PrometheusFormat::exportedName);
+            type(exported, "gauge");
+            text.append(exported).append(' ').append(gauge.value()).append('\n');
+        });
+        registry.histograms().forEach(this::summary);
+        encode();
+    }
+
+    /**
+     * The rendered text as ASCII, valid for {@link #length()} bytes until the next render.
+     */
+    public byte[] bytes() {
+        return bytes;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+
+    private void summary(String name, Histogram histogram) {
+        boolean nanos = name.endsWith(NANOS_SUFFIX);
+        String exported = exportedNames.computeIfAbsent(name, PrometheusFormat::exportedName);
+        type(exported, "summary");
+        long count = histogram.quantiles(QUANTILES, quantileValues);
+        for (int i = 0; i < QUANTILES.length; i++) {
+            text.append(exported).append(QUANTILE_LABELS[i]);
+            value(quantileValues[i], nanos);
+        }
+        text.append(exported).append("_sum ");
+        value(histogram.sum(), nanos);
+        text.append(exported).append("_count ").append(count).append('\n');
+    }
+
+    private void type(String exported, String type) {
+        text.append("# TYPE ").append(exported).append(' ').append(type).append('\n');
+    }
+
+    private void value(long value, boolean nanos) {
+        if (nanos) {
+            appendSeconds(value);
+        } else {
+            text.append(value);
+        }
+        text.append('\n');
+    }
+
+    // Nanos as decimal seconds, e.g. 1500000 as 0.0015; formatting a double would allocate
+    private void appendSeconds(long nanos) {
+        text.append(nanos / 1_000_000_000L);
+        long fraction = nanos % 1_000_000_000L;
+        if (fraction == 0) {
+            return;
+        }
+        text.append('.');
+        int digits = 9;
+        while (fraction % 10 == 0) {
+            fraction /= 10;
+            digits--;
+        }
+        // Leading zeros the fraction's own digits do not cover
+        for (long rest = fraction; rest >= 10; rest /= 10) {
+            digits--;
+        }
+        for (int i = 1; i < digits; i++) {
+            text.append('0');
+        }
+        text.append(fraction);
+    }
+
+    // pomodoro_ + name with dots as underscores and .nanos as _seconds
+    private static String exportedName(String name) {
+        String base = name.endsWith(NANOS_SUFFIX)
+                ? name.substring(0, name.length() - NANOS_SUFFIX.length()) + ".seconds"
+                : name;
+        StringBuilder exported = new StringBuilder("pomodoro_");
+        for (int i = 0; i < base.length(); i++) {
+            char c = base.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+            exported.append(valid ? c : '_');
+        }
+        return exported.toString();
+    }
+
+    // Everything rendered is ASCII, so each char is one byte
+    private void encode() {
+        length = text.length();
+        if (bytes.length < length) {
+            bytes = Arrays.copyOf(bytes, Math.max(length, bytes.length * 2));
+        }
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) text.charAt(i);
+        }
+    }
+}
@@ -4,4 +4,10 @@ public interface AnalyticsService {
     void logWorkSessionStart();
     void logBreakSessionStart();
     void logSessionComplete();
+
+    /**
+     * Writes out anything the service buffers; a no-op for services that do not.
+     */
+    default void flush() {
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,253 @@
+package org.GCremez.service;
+
+import org.GCremez.config.ConfigManager;
+import org.GCremez.event.BoundedRingBuffer;
+import org.GCremez.exception.StorageException;
+import org.GCremez.metrics.Counter;
+import org.GCremez.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records analytics events in an NDJSON event file ({@code pomodoro.analytics.file}) without
+ * doing any work on the caller's thread beyond one offer to a bounded lock-free queue. The event
+ * is a shared constant and its wall-clock time travels in the queue slot, so nothing is
+ * allocated either.
+ * <p>
+ * A background thread wakes every {@code flush-interval-ms}, drains the queue and writes the
+ * events in batches of up to {@code batch-size}, one {@code write} per batch. Whether analytics
+ * is enabled is checked there too, so a configuration reload applies without touching the
+ * callers. When the queue is full events are dropped and counted in
+ * {@code analytics.events.dropped}.
+ * <p>
+ * {@link #flush()} and {@link #close()} wait until everything recorded before the call is
+ * written; {@code PomodoroTimer.close()} and the shutdown hook in {@code Main} rely on that.
+ * Each line reads {@code {"event":"work_started","timestamp_ms":1760781330123}}.
+ */
+public class BatchingAnalyticsService implements AnalyticsService, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(BatchingAnalyticsService.class);
+    private static final long FLUSH_TIMEOUT_SECONDS = 5;
+
+    private enum Event {
+        WORK_STARTED,
+        BREAK_STARTED,
+        SESSION_COMPLETED;
+
+        // Everything before the timestamp, as ASCII
+        private final byte[] prefix = ("{\"event\":\"" + name().toLowerCase() + "\",\"timestamp_ms\":")
+                .getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private final ConfigManager configManager;
+    private final Path file;
+    private final BoundedRingBuffer<Event> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Thread writer;
+    private final Counter written = MetricsRegistry.shared().counter("analytics.events.written");
+    private final Counter dropped = MetricsRegistry.shared().counter("analytics.events.dropped");
+    private final Object progress = new Object();
+    private final ByteBuffer buffer;
+    private FileChannel channel;
+    // Queue positions handled so far (written, or discarded while disabled); guarded by progress
+    private long handled;
+    private volatile boolean closed;
+
+    private BatchingAnalyticsService(ConfigManager configManager, Path file, int queueCapacity, int batchSize,
+                                     long flushIntervalMillis) {
+        this.configManager = configManager;
+        this.file = file;
+        this.queue = new BoundedRingBuffer<>(queueCapacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMillis));
+        this.buffer = ByteBuffer.allocateDirect(this.batchSize * 64);
+        this.writer = new Thread(this::run, "pomodoro-analytics");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Creates the service for the configured event file and starts its writer thread.
+     */
+    public static BatchingAnalyticsService start(ConfigManager configManager) {
+        return start(configManager, Path.of(configManager.getAnalyticsFilePath()),
+                configManager.getAnalyticsQueueCapacity(), configManager.getAnalyticsBatchSize(),
+                configManager.getAnalyticsFlushIntervalMillis());
+    }
+
+    // The writer starts once construction is complete, so it never sees a partly built service
+    static BatchingAnalyticsService start(ConfigManager configManager, Path file, int queueCapacity, int batchSize,
+                                          long flushIntervalMillis) {
+        BatchingAnalyticsService service = new BatchingAnalyticsService(configManager, file, queueCapacity,
+                batchSize, flushIntervalMillis);
+        service.writer.start();
+        return service;
+    }
+
+    @Override
+    public void logWorkSessionStart() {
+        record(Event.WORK_STARTED);
+    }
+
+    @Override
+    public void logBreakSessionStart() {
+        record(Event.BREAK_STARTED);
+    }
+
+    @Override
+    public void logSessionComplete() {
+        record(Event.SESSION_COMPLETED);
+    }
+
+    /**
+     * Writes out every event recorded so far, waiting up to five seconds.
+     */
+    @Override
+    public void flush() {
+        if (!flush(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            logger.warn("Analytics events were not written to {} within {}s", file, FLUSH_TIMEOUT_SECONDS);
+        }
+    }
+
+    /**
+     * Blocks until every event recorded before the call is written, or {@code timeout} passes.
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        long target = queue.offeredCount();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (progress) {
+            while (handled < target) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !writer.isAlive()) {
+                    return false;
+                }
+                LockSupport.unpark(writer);
+                try {
+                    progress.wait(Math.max(1, TimeUnit.NANOSECONDS.toMillis(Math.min(remaining, flushIntervalNanos))));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Flushes, stops the writer thread and closes the event file.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void record(Event event) {
+        if (!queue.offer(event, System.currentTimeMillis())) {
+            dropped.increment();
+        }
+    }
+
+    private void run() {
+        try {
+            while (!closed) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                drain();
+            }
+            drain();
+        } finally {
+            closeFile();
+        }
+    }
+
+    // Writes everything queued, batchSize events per write
+    private void drain() {
+        while (true) {
+            int count = 0;
+            buffer.clear();
+            Event event;
+            while (count < batchSize && (event = queue.poll()) != null) {
+                buffer.put(event.prefix);
+                putLong(buffer, queue.lastPolledStamp());
+                buffer.put((byte) '}').put((byte) '\n');
+                count++;
+            }
+            if (count == 0) {
+                return;
+            }
+            write(count);
+        }
+    }
+
+    private void write(int count) {
+        buffer.flip();
+        try {
+            if (configManager.isAnalyticsEnabled()) {
+                if (channel == null) {
+                    channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                            StandardOpenOption.APPEND);
+                }
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                written.add(count);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to write analytics events", new StorageException("Cannot append to " + file, e));
+            // Reopened for the next batch
+            closeFile();
+        } finally {
+            synchronized (progress) {
+                handled += count;
+                progress.notifyAll();
+            }
+        }
+    }
+
+    private void closeFile() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Error closing analytics event file {}", file, e);
+        }
+        channel = null;
+    }
+
+    private static void putLong(ByteBuffer out, long value) {
+        if (value < 0) {
+            out.put((byte) '-');
+            value = -value;
+        }
+        int start = out.position();
+        do {
+            out.put((byte) ('0' + value % 10));
+            value /= 10;
+        } while (value > 0);
+        // Digits went in least significant first
+        for (int i = start, j = out.position() - 1; i < j; i++, j--) {
+            byte digit = out.get(i);
+            out.put(i, out.get(j));
+            out.put(j, digit);
+        }
+    }
+}
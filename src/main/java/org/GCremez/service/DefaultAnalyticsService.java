@@ -1,20 +1,30 @@
 package org.GCremez.service;
 
 import org.GCremez.config.ConfigManager;
+import org.GCremez.metrics.Counter;
+import org.GCremez.metrics.MetricsRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class DefaultAnalyticsService implements AnalyticsService {
     private static final Logger logger = LoggerFactory.getLogger(DefaultAnalyticsService.class);
     private final ConfigManager configManager;
+    private final Counter workSessionsStarted;
+    private final Counter breakSessionsStarted;
+    private final Counter sessionsCompleted;
 
     public DefaultAnalyticsService(ConfigManager configManager) {
         this.configManager = configManager;
+        MetricsRegistry metrics = MetricsRegistry.shared();
+        this.workSessionsStarted = metrics.counter("analytics.work.started");
+        this.breakSessionsStarted = metrics.counter("analytics.break.started");
+        this.sessionsCompleted = metrics.counter("analytics.sessions.completed");
     }
 
     @Override
     public void logWorkSessionStart() {
         if (configManager.isAnalyticsEnabled()) {
+            workSessionsStarted.increment();
             logger.info("Work session started");
         }
     }
@@ -22,6 +32,7 @@ public class DefaultAnalyticsService implements AnalyticsService {
     @Override
     public void logBreakSessionStart() {
         if (configManager.isAnalyticsEnabled()) {
+            breakSessionsStarted.increment();
             logger.info("Break session started");
         }
     }
@@ -29,7 +40,8 @@ public class DefaultAnalyticsService implements AnalyticsService {
     @Override
     public void logSessionComplete() {
         if (configManager.isAnalyticsEnabled()) {
+            sessionsCompleted.increment();
             logger.info("Session completed");
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,115 @@
+package org.GCremez.sound;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Starts cues on a dedicated thread, so whoever asks for a sound never waits for it.
+ * <p>
+ * The thread hands each cue to the player and moves straight on, so cues of different kinds play
+ * over each other in the mixer. At most one cue of each kind is waiting or playing: asking for a
+ * cue whose kind has not finished yet is a no-op, so a burst of skips plays the cue once rather
+ * than once per skip.
+ */
+public final class AudioDispatcher implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(AudioDispatcher.class);
+    // A cue whose playback never reports completion must not block its kind for good
+    private static final long MAX_CUE_SECONDS = 30;
+
+    /**
+     * Starts playing a cue without waiting for it and returns a future completed when playback stops.
+     */
+    @FunctionalInterface
+    public interface CuePlayer {
+        CompletableFuture<Void> play(SoundCue cue) throws Exception;
+    }
+
+    private final CuePlayer player;
+    private final BlockingQueue<SoundCue> queue = new ArrayBlockingQueue<>(SoundCue.values().length);
+    // 1 while a cue of that kind is waiting in the queue or playing
+    private final AtomicIntegerArray queued = new AtomicIntegerArray(SoundCue.values().length);
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final Thread thread;
+
+    public AudioDispatcher(CuePlayer player, ThreadFactory threadFactory) {
+        this.player = player;
+        this.thread = threadFactory.newThread(this::run);
+        this.thread.start();
+    }
+
+    /**
+     * Queues {@code cue} unless one of its kind is already waiting or playing. Never blocks.
+     *
+     * @return false if the request was coalesced into an unfinished cue or the dispatcher is closed
+     */
+    public boolean submit(SoundCue cue) {
+        if (closed.get()) {
+            return false;
+        }
+        if (!queued.compareAndSet(cue.ordinal(), 0, 1)) {
+            coalesced.incrementAndGet();
+            return false;
+        }
+        // Cannot fail: the queue has a slot per kind and each kind holds at most one
+        queue.offer(cue);
+        return true;
+    }
+
+    /**
+     * Requests dropped because a cue of the same kind was already waiting or playing.
+     */
+    public long coalescedCount() {
+        return coalesced.get();
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        while (!closed.get()) {
+            SoundCue cue;
+            try {
+                cue = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            CompletableFuture<Void> playback;
+            try {
+                playback = player.play(cue);
+            } catch (Exception e) {
+                logger.warn("Failed to play {} cue: {}", cue, e.getMessage());
+                queued.set(cue.ordinal(), 0);
+                continue;
+            }
+            // Cleared once the cue stops, so a request after that plays it again
+            playback.copy()
+                    .orTimeout(MAX_CUE_SECONDS, TimeUnit.SECONDS)
+                    .whenComplete((ignored, failure) -> {
+                        queued.set(cue.ordinal(), 0);
+                        if (failure instanceof TimeoutException) {
+                            logger.warn("{} cue did not finish within {}s", cue, MAX_CUE_SECONDS);
+                        } else if (failure != null) {
+                            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                                    ? failure.getCause() : failure;
+                            logger.warn("{} cue failed: {}", cue, cause.toString());
+                        }
+                    });
+        }
+    }
+}
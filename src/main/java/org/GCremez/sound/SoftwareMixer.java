@@ -0,0 +1,262 @@
+package org.GCremez.sound;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Mixes any number of sounds in software onto one {@link SourceDataLine} that stays open for the
+ * life of the mixer, so a cue never waits for a line to be acquired and overlapping cues never
+ * compete for hardware lines.
+ * <p>
+ * The mixer thread sums the active voices into a buffer of {@link #bufferFrames()} frames, scales
+ * the sum by a fixed-point gain precomputed from the volume, clips it and writes it to the line;
+ * the buffer size is the latency. With no voices the thread parks. When no audio device is
+ * available the mixer writes to a null sink that discards the output, so callers behave the same
+ * with or without sound hardware.
+ */
+public final class SoftwareMixer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(SoftwareMixer.class);
+
+    /**
+     * The only format the mixer plays: 44.1 kHz, 16-bit signed little-endian stereo. Decode cues
+     * to it with {@link SoundClipCache#SoundClipCache(AudioFormat)}.
+     */
+    public static final AudioFormat FORMAT = new AudioFormat(44_100, 16, 2, true, false);
+    public static final int DEFAULT_BUFFER_MILLIS = 20;
+
+    private static final int UNITY_GAIN = 1 << 16;
+
+    /**
+     * Where mixed audio goes. {@link #write} may block to pace the mixer to real time.
+     */
+    interface Sink {
+        void write(byte[] buffer, int length);
+
+        void close();
+    }
+
+    private final Sink sink;
+    private final boolean nullSink;
+    private final int bufferFrames;
+    private final Queue<Voice> incoming = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private volatile int gain = UNITY_GAIN;
+    private volatile double volume = 1.0;
+    private volatile boolean closed;
+
+    SoftwareMixer(Sink sink, boolean nullSink, int bufferFrames, ThreadFactory threadFactory) {
+        if (bufferFrames <= 0) {
+            throw new IllegalArgumentException("bufferFrames must be positive, got: " + bufferFrames);
+        }
+        this.sink = sink;
+        this.nullSink = nullSink;
+        this.bufferFrames = bufferFrames;
+        this.thread = threadFactory.newThread(this::run);
+        this.thread.start();
+    }
+
+    /**
+     * Opens the default audio device with a buffer of {@code bufferMillis} milliseconds (the
+     * default if not positive), or a null sink if there is none.
+     */
+    public static SoftwareMixer open(int bufferMillis, ThreadFactory threadFactory) {
+        int millis = bufferMillis > 0 ? bufferMillis : DEFAULT_BUFFER_MILLIS;
+        int frames = framesFor(millis);
+        try {
+            SourceDataLine line = AudioSystem.getSourceDataLine(FORMAT);
+            // Twice the mix buffer, so one buffer plays while the next is written
+            line.open(FORMAT, 2 * frames * FORMAT.getFrameSize());
+            line.start();
+            logger.debug("Audio mixer opened with {} ms buffers", millis);
+            return new SoftwareMixer(new LineSink(line), false, frames, threadFactory);
+        } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+            logger.info("No audio device available, sounds will be silent: {}", e.getMessage());
+            return new SoftwareMixer(new NullSink(), true, frames, threadFactory);
+        }
+    }
+
+    /**
+     * A mixer that discards its output without touching the audio system. Nothing paces it to
+     * real time, so a sound is mixed out as fast as the mixer thread runs.
+     */
+    public static SoftwareMixer openNull(int bufferMillis, ThreadFactory threadFactory) {
+        int millis = bufferMillis > 0 ? bufferMillis : DEFAULT_BUFFER_MILLIS;
+        return new SoftwareMixer(new NullSink(), true, framesFor(millis), threadFactory);
+    }
+
+    private static int framesFor(int millis) {
+        return Math.max(1, (int) (FORMAT.getFrameRate() * millis / 1000));
+    }
+
+    /**
+     * Starts mixing {@code sound} in.
+     *
+     * @return a future completed once the whole sound has been written to the line
+     * @throws IllegalArgumentException if the sound is not in {@link #FORMAT}
+     */
+    public CompletableFuture<Void> play(SoundClipCache.DecodedSound sound) {
+        if (!sound.format().matches(FORMAT)) {
+            throw new IllegalArgumentException("Sound " + sound.path() + " is " + sound.format() + ", expected " + FORMAT);
+        }
+        Voice voice = new Voice(sound.data());
+        if (closed) {
+            voice.done.complete(null);
+            return voice.done;
+        }
+        incoming.add(voice);
+        LockSupport.unpark(thread);
+        return voice.done;
+    }
+
+    /**
+     * Sets the output volume, 0.0 to 1.0, as a linear gain applied to every sample.
+     */
+    public void setVolume(double volume) {
+        if (volume != this.volume) {
+            this.volume = volume;
+            this.gain = (int) Math.round(Math.max(0.0, Math.min(1.0, volume)) * UNITY_GAIN);
+        }
+    }
+
+    public int bufferFrames() {
+        return bufferFrames;
+    }
+
+    /**
+     * Time one mix buffer takes to play: the delay between a cue starting and being heard.
+     */
+    public Duration latency() {
+        return Duration.ofNanos((long) (bufferFrames * 1_000_000_000.0 / FORMAT.getFrameRate()));
+    }
+
+    /**
+     * Whether the output is discarded because no audio device was available.
+     */
+    public boolean isNullSink() {
+        return nullSink;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Voice voice;
+        while ((voice = incoming.poll()) != null) {
+            voice.done.complete(null);
+        }
+    }
+
+    private void run() {
+        int channels = FORMAT.getChannels();
+        int[] mix = new int[bufferFrames * channels];
+        byte[] out = new byte[mix.length * 2];
+        List<Voice> active = new ArrayList<>();
+        try {
+            while (!closed) {
+                Voice added;
+                while ((added = incoming.poll()) != null) {
+                    active.add(added);
+                }
+                if (active.isEmpty()) {
+                    LockSupport.park(this);
+                    continue;
+                }
+                int samples = mixInto(mix, active);
+                int scale = gain;
+                for (int i = 0; i < samples; i++) {
+                    int value = (int) (((long) mix[i] * scale) >> 16);
+                    value = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value));
+                    out[2 * i] = (byte) value;
+                    out[2 * i + 1] = (byte) (value >> 8);
+                }
+                sink.write(out, samples * 2);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Audio mixer stopped", e);
+        } finally {
+            active.forEach(voice -> voice.done.complete(null));
+            sink.close();
+        }
+    }
+
+    // Sums up to one buffer of every voice into mix, retiring finished voices; returns the samples used
+    private static int mixInto(int[] mix, List<Voice> active) {
+        Arrays.fill(mix, 0);
+        int used = 0;
+        for (int v = active.size() - 1; v >= 0; v--) {
+            Voice voice = active.get(v);
+            byte[] data = voice.data;
+            int count = Math.min(mix.length, (data.length - voice.position) / 2);
+            int p = voice.position;
+            for (int i = 0; i < count; i++, p += 2) {
+                mix[i] += (short) ((data[p + 1] << 8) | (data[p] & 0xFF));
+            }
+            voice.position = p;
+            used = Math.max(used, count);
+            if (data.length - voice.position < 2) {
+                active.remove(v);
+                voice.done.complete(null);
+            }
+        }
+        // Keep whole frames
+        return used - used % FORMAT.getChannels();
+    }
+
+    private static final class Voice {
+        private final byte[] data;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private int position;
+
+        Voice(byte[] data) {
+            this.data = data;
+        }
+    }
+
+    private static final class LineSink implements Sink {
+        private final SourceDataLine line;
+
+        LineSink(SourceDataLine line) {
+            this.line = line;
+        }
+
+        @Override
+        public void write(byte[] buffer, int length) {
+            line.write(buffer, 0, length);
+        }
+
+        @Override
+        public void close() {
+            line.drain();
+            line.close();
+        }
+    }
+
+    private static final class NullSink implements Sink {
+        @Override
+        public void write(byte[] buffer, int length) {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
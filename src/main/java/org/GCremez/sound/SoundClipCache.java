@@ -0,0 +1,156 @@
+package org.GCremez.sound;
+
+import org.GCremez.exception.SoundSystemException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sound files decoded to PCM once and kept in memory, so a cue costs a {@code stat} of the file
+ * rather than opening and decoding it again.
+ * <p>
+ * An entry is reloaded only when the file's modification time changes. A path that is not on
+ * disk is looked up on the classpath instead (the bundled {@code sounds/*.wav}); such entries
+ * never change. A cache built with a target format converts every sound to it while decoding,
+ * so playback can use the data as is.
+ */
+public final class SoundClipCache {
+    private static final Logger logger = LoggerFactory.getLogger(SoundClipCache.class);
+    private static final FileTime CLASSPATH = FileTime.fromMillis(Long.MIN_VALUE);
+
+    /**
+     * A decoded sound: PCM {@code data} in {@code format}, read from a file last modified at
+     * {@code modified}.
+     */
+    public record DecodedSound(String path, AudioFormat format, byte[] data, FileTime modified) {
+    }
+
+    private final Map<String, DecodedSound> sounds = new ConcurrentHashMap<>();
+    private final AudioFormat target;
+
+    /**
+     * A cache that decodes to PCM in each file's own sample rate and layout.
+     */
+    public SoundClipCache() {
+        this(null);
+    }
+
+    /**
+     * A cache that converts every sound to {@code target}.
+     */
+    public SoundClipCache(AudioFormat target) {
+        this.target = target;
+    }
+
+    /**
+     * The decoded sound at {@code path}, decoding it if it is new or its file changed.
+     *
+     * @throws SoundSystemException if the sound cannot be found or decoded
+     */
+    public DecodedSound get(String path) {
+        if (path == null || path.isBlank()) {
+            throw new SoundSystemException("Sound file path is empty");
+        }
+        FileTime modified = modifiedTime(path);
+        DecodedSound cached = sounds.get(path);
+        if (cached != null && cached.modified().equals(modified)) {
+            return cached;
+        }
+        return sounds.compute(path, (key, current) ->
+                current != null && current.modified().equals(modified) ? current : decode(key, modified));
+    }
+
+    /**
+     * Decodes {@code paths} ahead of the first cue, logging rather than failing on bad files.
+     */
+    public void preload(String... paths) {
+        for (String path : paths) {
+            try {
+                get(path);
+            } catch (SoundSystemException e) {
+                logger.warn("Could not preload sound {}: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    public int size() {
+        return sounds.size();
+    }
+
+    private static FileTime modifiedTime(String path) {
+        Path file = Path.of(path);
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (NoSuchFileException e) {
+            if (SoundClipCache.class.getClassLoader().getResource(path) != null) {
+                return CLASSPATH;
+            }
+            throw new SoundSystemException("Sound file not found: " + path, e);
+        } catch (IOException e) {
+            throw new SoundSystemException("Error reading sound file: " + path, e);
+        }
+    }
+
+    private DecodedSound decode(String path, FileTime modified) {
+        if (!path.toLowerCase().endsWith(".wav")) {
+            throw new SoundSystemException("Sound file must be a .wav file: " + path);
+        }
+        long started = System.nanoTime();
+        try (AudioInputStream source = open(path, modified);
+             AudioInputStream pcm = convert(toPcm(source))) {
+            DecodedSound sound = new DecodedSound(path, pcm.getFormat(), pcm.readAllBytes(), modified);
+            logger.debug("Decoded {} ({} bytes) in {} us", path, sound.data().length,
+                    (System.nanoTime() - started) / 1000);
+            return sound;
+        } catch (UnsupportedAudioFileException | IllegalArgumentException e) {
+            throw new SoundSystemException("Unsupported audio format: " + path, e);
+        } catch (IOException e) {
+            throw new SoundSystemException("Error reading sound file: " + path, e);
+        }
+    }
+
+    private static AudioInputStream open(String path, FileTime modified) throws IOException, UnsupportedAudioFileException {
+        if (!modified.equals(CLASSPATH)) {
+            return AudioSystem.getAudioInputStream(Path.of(path).toFile());
+        }
+        URL resource = SoundClipCache.class.getClassLoader().getResource(path);
+        if (resource == null) {
+            throw new IOException("Sound resource disappeared: " + path);
+        }
+        InputStream in = new BufferedInputStream(resource.openStream());
+        return AudioSystem.getAudioInputStream(in);
+    }
+
+    // Resamples and remixes to the target format; the JDK's float converter handles rate and channels
+    private AudioInputStream convert(AudioInputStream pcm) {
+        if (target == null || pcm.getFormat().matches(target)) {
+            return pcm;
+        }
+        return AudioSystem.getAudioInputStream(target, pcm);
+    }
+
+    private static AudioInputStream toPcm(AudioInputStream source) {
+        AudioFormat format = source.getFormat();
+        AudioFormat.Encoding encoding = format.getEncoding();
+        if (encoding.equals(AudioFormat.Encoding.PCM_SIGNED) || encoding.equals(AudioFormat.Encoding.PCM_UNSIGNED)) {
+            return source;
+        }
+        AudioFormat pcm = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, format.getSampleRate(), 16,
+                format.getChannels(), format.getChannels() * 2, format.getSampleRate(), false);
+        return AudioSystem.getAudioInputStream(pcm, source);
+    }
+}
@@ -0,0 +1,9 @@
+package org.GCremez.sound;
+
+/**
+ * The sounds the timer plays.
+ */
+public enum SoundCue {
+    WORK,
+    BREAK
+}
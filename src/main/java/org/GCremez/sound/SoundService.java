@@ -1,116 +1,148 @@
 package org.GCremez.sound;
 
 import org.GCremez.config.ConfigManager;
+import org.GCremez.config.ConfigSnapshot;
 import org.GCremez.exception.SoundSystemException;
 import org.GCremez.exception.ValidationException;
+import org.GCremez.metrics.Histogram;
+import org.GCremez.metrics.MetricsRegistry;
+import org.GCremez.util.ExecutionMode;
 import org.GCremez.util.ValidationUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.sound.sampled.*;
-import java.io.File;
-import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
 
-public class SoundService {
+/**
+ * Plays the work and break cues. Requests return immediately: cues are decoded once and started
+ * by an {@link AudioDispatcher} on a {@link SoftwareMixer} that keeps a single audio line open, so
+ * a work cue and a break cue that overlap are mixed together.
+ * <p>
+ * {@code pomodoro.sound.enabled} is checked on every cue, and cues are pre-warmed again whenever a
+ * reload leaves sound enabled, so turning sound on takes effect without a restart.
+ */
+public class SoundService implements AutoCloseable {
     private static final Logger logger = LoggerFactory.getLogger(SoundService.class);
     private final ConfigManager configManager;
-    private boolean soundsAvailable;
+    private final SoundClipCache clipCache = new SoundClipCache(SoftwareMixer.FORMAT);
+    private final AudioDispatcher dispatcher;
+    private final ThreadFactory threads;
+    private final ThreadFactory mixerThreads;
+    private final Consumer<ConfigSnapshot> reloadListener = this::reloaded;
+    private final boolean nullOutput;
+    private final Histogram mixerOpenLatency = MetricsRegistry.shared().histogram("sound.mixer.open.nanos");
+    private final Histogram cueStartLatency = MetricsRegistry.shared().histogram("sound.cue.start.nanos");
+    private SoftwareMixer mixer;
+    private boolean closed;
 
     public SoundService(ConfigManager configManager) {
+        this(configManager, false);
+    }
+
+    // With nullOutput the mixer discards its output instead of opening the audio device
+    SoundService(ConfigManager configManager, boolean nullOutput) {
         this.configManager = configManager;
+        this.nullOutput = nullOutput;
+        this.threads = ExecutionMode.fromConfig(configManager.getExecutionMode()).threadFactory("pomodoro-sound");
+        this.dispatcher = new AudioDispatcher(this::playCue, threads);
+        // The mixer thread paces itself to the audio line, so it is always a platform thread
+        this.mixerThreads = ExecutionMode.PLATFORM.threadFactory("pomodoro-mixer");
         initializeSoundSystem();
+        configManager.addReloadListener(reloadListener);
     }
 
+    // Missing or unreadable sound files are reported when prewarm() decodes them
     private void initializeSoundSystem() {
         if (configManager.isSoundEnabled()) {
-            try {
-                // These calls will validate the files
-                String breakFile = configManager.getBreakSoundFile();
-                String workFile = configManager.getWorkSoundFile();
-                soundsAvailable = true;
-                logger.info("Sound system initialized successfully");
-            } catch (ValidationException e) {
-                logger.warn("Sound system initialization failed: {}", e.getMessage());
-                logger.info("To enable sounds, add WAV files at:");
-                logger.info("- {}", configManager.getBreakSoundFile());
-                logger.info("- {}", configManager.getWorkSoundFile());
-                soundsAvailable = false;
-            } catch (Exception e) {
-                logger.error("Unexpected error during sound system initialization", e);
-                soundsAvailable = false;
-            }
+            logger.info("Sound system initialized successfully");
+            threads.newThread(this::prewarm).start();
         } else {
             logger.info("Sound system disabled by configuration");
         }
     }
 
+    // Decoded cues stay cached, so this only decodes files that were changed or never loaded
+    private void reloaded(ConfigSnapshot snapshot) {
+        if (snapshot.soundEnabled()) {
+            threads.newThread(this::prewarm).start();
+        }
+    }
+
     public void playBreakSound() {
-        if (soundsAvailable && configManager.isSoundEnabled()) {
+        if (configManager.isSoundEnabled()) {
             logger.debug("Playing break sound");
-            try {
-                playSound(configManager.getBreakSoundFile());
-            } catch (Exception e) {
-                logger.error("Failed to play break sound", e);
-            }
+            dispatcher.submit(SoundCue.BREAK);
         }
     }
 
     public void playWorkSound() {
-        if (soundsAvailable && configManager.isSoundEnabled()) {
+        if (configManager.isSoundEnabled()) {
             logger.debug("Playing work sound");
-            try {
-                playSound(configManager.getWorkSoundFile());
-            } catch (Exception e) {
-                logger.error("Failed to play work sound", e);
+            dispatcher.submit(SoundCue.WORK);
+        }
+    }
+
+    /**
+     * Stops the dispatcher and the mixer, releasing the audio line.
+     */
+    @Override
+    public void close() {
+        configManager.removeReloadListener(reloadListener);
+        dispatcher.close();
+        synchronized (this) {
+            closed = true;
+            if (mixer != null) {
+                mixer.close();
             }
         }
     }
 
-    private void playSound(String soundFile) {
+    // Decodes both cues and opens the audio line off the caller's thread, so the first cue does
+    // not pay for decoding or for initialising the audio system
+    private void prewarm() {
+        long started = System.nanoTime();
         try {
-            // Validate sound file before playing
-            ValidationUtils.validateSoundFile(soundFile);
-            
-            try (AudioInputStream audioStream = AudioSystem.getAudioInputStream(new File(soundFile))) {
-                Clip clip = AudioSystem.getClip();
-                clip.open(audioStream);
-                
-                // Set volume if supported
-                if (clip.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
-                    FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-                    float volume = (float) configManager.getSoundVolume();
-                    float dB = (float) (Math.log(volume) / Math.log(10.0) * 20.0);
-                    gainControl.setValue(Math.max(gainControl.getMinimum(), Math.min(gainControl.getMaximum(), dB)));
-                }
-                
-                // Add listener before starting playback
-                clip.addLineListener(event -> {
-                    if (event.getType() == LineEvent.Type.STOP) {
-                        clip.close();
-                    }
-                });
-                
-                clip.start();
-                
-                // Wait for the clip to finish to prevent premature resource cleanup
-                while (clip.isRunning()) {
-                    Thread.sleep(100);
-                }
-            }
-        } catch (ValidationException e) {
-            throw new SoundSystemException("Sound file validation failed: " + e.getMessage(), e);
-        } catch (UnsupportedAudioFileException e) {
-            throw new SoundSystemException("Unsupported audio format: " + soundFile, e);
-        } catch (IOException e) {
-            throw new SoundSystemException("Error reading sound file: " + soundFile, e);
-        } catch (LineUnavailableException e) {
-            throw new SoundSystemException("Audio system unavailable", e);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new SoundSystemException("Sound playback interrupted", e);
+            clipCache.preload(configManager.getWorkSoundFile(), configManager.getBreakSoundFile());
+            mixer();
+            logger.debug("Sound cues ready in {} ms", (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            logger.debug("Sound pre-warming incomplete: {}", e.getMessage());
+        }
+    }
+
+    // Runs on the dispatcher thread; the returned future completes once the cue has been mixed out
+    CompletableFuture<Void> playCue(SoundCue cue) {
+        long started = System.nanoTime();
+        String soundFile = cue == SoundCue.WORK ? configManager.getWorkSoundFile() : configManager.getBreakSoundFile();
+        SoundClipCache.DecodedSound sound = clipCache.get(soundFile);
+        SoftwareMixer output = mixer();
+        output.setVolume(configManager.getSoundVolume());
+        CompletableFuture<Void> played = output.play(sound);
+        cueStartLatency.record(System.nanoTime() - started);
+        return played;
+    }
+
+    // The mixer, opening the audio line on first use
+    private synchronized SoftwareMixer mixer() {
+        if (closed) {
+            throw new SoundSystemException("Sound service is closed");
+        }
+        if (mixer == null) {
+            long started = System.nanoTime();
+            int bufferMillis = configManager.getSoundBufferMillis();
+            mixer = nullOutput
+                    ? SoftwareMixer.openNull(bufferMillis, mixerThreads)
+                    : SoftwareMixer.open(bufferMillis, mixerThreads);
+            mixerOpenLatency.record(System.nanoTime() - started);
         }
+        return mixer;
     }
 
+    /**
+     * Plays the {@code "break"} or {@code "work"} cue; anything else is logged and ignored.
+     */
     public void testPlaySound(String which) {
         logger.info("Testing sound playback: {}", which);
         
@@ -118,27 +150,14 @@ public class SoundService {
             ValidationUtils.validateNotBlank(which, "Sound type");
             
             if ("break".equalsIgnoreCase(which)) {
-                new Thread(() -> {
-                    try {
-                        playSound(configManager.getBreakSoundFile());
-                    } catch (Exception e) {
-                        logger.error("Failed to play test break sound", e);
-                    }
-                }).start();
+                dispatcher.submit(SoundCue.BREAK);
             } else if ("work".equalsIgnoreCase(which)) {
-                new Thread(() -> {
-                    try {
-                        playSound(configManager.getWorkSoundFile());
-                    } catch (Exception e) {
-                        logger.error("Failed to play test work sound", e);
-                    }
-                }).start();
+                dispatcher.submit(SoundCue.WORK);
             } else {
                 throw new ValidationException("Invalid sound type. Use 'break' or 'work'.");
             }
         } catch (ValidationException e) {
             logger.warn("Invalid sound test request: {}", e.getMessage());
-            throw new SoundSystemException("Invalid sound test request", e);
         }
     }
-}
\ No newline at end of file
+}
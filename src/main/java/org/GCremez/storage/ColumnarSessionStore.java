@@ -0,0 +1,255 @@
+package org.GCremez.storage;
+
+import org.GCremez.timer.PomodoroTimer.SessionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Session history stored as fixed-width binary columns, one file per column inside a directory:
+ * start epoch seconds ({@code long}), start nanos ({@code int}), duration seconds ({@code int})
+ * and type ({@code byte}), 17 bytes per session against roughly 90 for a JSON line.
+ * <p>
+ * Columns are read through memory-mapped buffers and {@link #forEach} hands each session to a
+ * {@link SessionLogParser.Visitor} as primitives, so aggregating the whole history allocates
+ * nothing per session. Start times follow the visitor convention: the log's local date-time as
+ * epoch seconds on the UTC timeline.
+ * <p>
+ * A store is written once, by {@link #create} or {@link #fromLog}; the {@code header} holding the
+ * session count is written last, so an interrupted conversion is never mistaken for a store.
+ */
+public final class ColumnarSessionStore {
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarSessionStore.class);
+    private static final int MAGIC = 0x504F4343;
+    private static final int VERSION = 1;
+    private static final String HEADER = "header";
+    private static final String START_SECONDS = "start-seconds.col";
+    private static final String START_NANOS = "start-nanos.col";
+    private static final String DURATIONS = "duration-seconds.col";
+    private static final String TYPES = "type.col";
+    // Sessions per mapping, keeping the widest column's mappings at 1 GB
+    private static final int WINDOW = 1 << 27;
+    private static final SessionType[] TYPE_VALUES = SessionType.values();
+
+    private final long size;
+    private final MappedByteBuffer[] startSeconds;
+    private final MappedByteBuffer[] startNanos;
+    private final MappedByteBuffer[] durations;
+    private final MappedByteBuffer[] types;
+
+    private ColumnarSessionStore(Path directory, long size) throws IOException {
+        this.size = size;
+        this.startSeconds = map(directory.resolve(START_SECONDS), size, Long.BYTES);
+        this.startNanos = map(directory.resolve(START_NANOS), size, Integer.BYTES);
+        this.durations = map(directory.resolve(DURATIONS), size, Integer.BYTES);
+        this.types = map(directory.resolve(TYPES), size, Byte.BYTES);
+    }
+
+    /**
+     * Maps the store in {@code directory}.
+     *
+     * @throws IOException if there is no complete store there
+     */
+    public static ColumnarSessionStore open(Path directory) throws IOException {
+        Path header = directory.resolve(HEADER);
+        if (!Files.exists(header)) {
+            throw new IOException("No columnar session store in " + directory);
+        }
+        long size;
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(header))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unknown columnar session store format in " + directory);
+            }
+            size = in.readLong();
+        }
+        return new ColumnarSessionStore(directory, size);
+    }
+
+    /**
+     * Starts a new, empty store in {@code directory}; it becomes readable once the writer is
+     * closed.
+     */
+    public static Writer create(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Files.deleteIfExists(directory.resolve(HEADER));
+        return new Writer(directory);
+    }
+
+    /**
+     * Converts the NDJSON session log {@code log} into a store in {@code directory} in one
+     * streaming pass, skipping malformed lines.
+     *
+     * @return the number of sessions converted
+     */
+    public static long fromLog(Path log, Path directory) throws IOException {
+        Writer writer = create(directory);
+        long malformed;
+        boolean complete = false;
+        try (InputStream in = Files.newInputStream(log)) {
+            malformed = new SessionLogParser().parse(in, writer);
+            complete = true;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            writer.close(complete);
+        }
+        if (malformed > 0) {
+            logger.warn("Skipped {} invalid session record(s) while converting {}", malformed, log);
+        }
+        return writer.count;
+    }
+
+    /**
+     * Writes every session back out as an NDJSON session log.
+     */
+    public void toLog(Path log) throws IOException {
+        try (SessionLogWriter writer = new SessionLogWriter(log)) {
+            forEach(writer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public SessionType type(long index) {
+        return TYPE_VALUES[types[window(index)].get(slot(index))];
+    }
+
+    public long startEpochSecond(long index) {
+        return startSeconds[window(index)].getLong(slot(index) * Long.BYTES);
+    }
+
+    public long durationSeconds(long index) {
+        return durations[window(index)].getInt(slot(index) * Integer.BYTES);
+    }
+
+    /**
+     * Hands every session to {@code visitor}, in the order they were written.
+     */
+    public void forEach(SessionLogParser.Visitor visitor) {
+        for (int w = 0; w < types.length; w++) {
+            MappedByteBuffer typeColumn = types[w];
+            MappedByteBuffer secondColumn = startSeconds[w];
+            MappedByteBuffer nanoColumn = startNanos[w];
+            MappedByteBuffer durationColumn = durations[w];
+            int count = typeColumn.capacity();
+            for (int i = 0; i < count; i++) {
+                visitor.session(TYPE_VALUES[typeColumn.get(i)], secondColumn.getLong(i * Long.BYTES),
+                        nanoColumn.getInt(i * Integer.BYTES), durationColumn.getInt(i * Integer.BYTES));
+            }
+        }
+    }
+
+    private static int window(long index) {
+        return (int) (index / WINDOW);
+    }
+
+    private static int slot(long index) {
+        return (int) (index % WINDOW);
+    }
+
+    private static MappedByteBuffer[] map(Path column, long size, int width) throws IOException {
+        try (FileChannel channel = FileChannel.open(column, StandardOpenOption.READ)) {
+            if (channel.size() < size * width) {
+                throw new IOException("Column " + column + " is shorter than its header says");
+            }
+            int windows = (int) ((size + WINDOW - 1) / WINDOW);
+            MappedByteBuffer[] mapped = new MappedByteBuffer[windows];
+            for (int w = 0; w < windows; w++) {
+                long first = (long) w * WINDOW;
+                long count = Math.min(WINDOW, size - first);
+                // The mapping stays valid after the channel is closed
+                mapped[w] = channel.map(FileChannel.MapMode.READ_ONLY, first * width, count * width);
+            }
+            return mapped;
+        }
+    }
+
+    /**
+     * Appends sessions to a new store. Not thread-safe.
+     */
+    public static final class Writer implements SessionLogParser.Visitor, Closeable {
+        private final Path directory;
+        private final DataOutputStream startSeconds;
+        private final DataOutputStream startNanos;
+        private final DataOutputStream durations;
+        private final DataOutputStream types;
+        private long count;
+
+        private Writer(Path directory) throws IOException {
+            this.directory = directory;
+            this.startSeconds = column(directory.resolve(START_SECONDS));
+            this.startNanos = column(directory.resolve(START_NANOS));
+            this.durations = column(directory.resolve(DURATIONS));
+            this.types = column(directory.resolve(TYPES));
+        }
+
+        /**
+         * Appends one session.
+         *
+         * @throws UncheckedIOException if a column cannot be written
+         * @throws IllegalArgumentException if the duration does not fit the column
+         */
+        @Override
+        public void session(SessionType type, long startEpochSecond, int startNano, long durationSeconds) {
+            if (durationSeconds < 0 || durationSeconds > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Duration out of range: " + durationSeconds);
+            }
+            try {
+                startSeconds.writeLong(startEpochSecond);
+                startNanos.writeInt(startNano);
+                durations.writeInt((int) durationSeconds);
+                types.writeByte(type.ordinal());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            count++;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        /**
+         * Flushes the columns and writes the header, which makes the store readable.
+         */
+        @Override
+        public void close() throws IOException {
+            close(true);
+        }
+
+        private void close(boolean complete) throws IOException {
+            startSeconds.close();
+            startNanos.close();
+            durations.close();
+            types.close();
+            if (!complete) {
+                return;
+            }
+            try (DataOutputStream header = new DataOutputStream(Files.newOutputStream(directory.resolve(HEADER)))) {
+                header.writeInt(MAGIC);
+                header.writeInt(VERSION);
+                header.writeLong(count);
+            }
+        }
+
+        private static DataOutputStream column(Path file) throws IOException {
+            return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.GCremez.storage;
+
+import java.util.Locale;
+
+/**
+ * When {@link SessionJournal} forces appended records to disk.
+ */
+public enum FsyncPolicy {
+    /** fsync every group commit before acknowledging its records. */
+    ALWAYS,
+    /** fsync at most once per configured interval; records are acknowledged once written. */
+    INTERVAL,
+    /** Never fsync; the OS flushes the page cache when it likes. */
+    OS;
+
+    public static FsyncPolicy fromConfig(String value) {
+        if (value == null || value.isBlank()) {
+            return INTERVAL;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown fsync policy: " + value
+                    + ". Use 'always', 'interval' or 'os'.", e);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package org.GCremez.storage;
+
+import org.GCremez.timer.PomodoroTimer.SessionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+/**
+ * Loads a session log on several cores at once.
+ * <p>
+ * The file is memory-mapped and split into newline-aligned chunks, each parsed by its own
+ * {@link SessionLogParser} on a fork-join pool into its own visitor. Visitors come back in file
+ * order, so callers can merge per-chunk aggregates or concatenate per-chunk session lists and get
+ * the same result as a sequential pass.
+ */
+public final class ParallelSessionLoader {
+    private static final Logger logger = LoggerFactory.getLogger(ParallelSessionLoader.class);
+    private static final long DEFAULT_MIN_CHUNK_BYTES = 1 << 20;
+    // Stay well below the 2 GB limit of a single mapping
+    private static final long MAX_CHUNK_BYTES = 1L << 30;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Per-chunk visitors in file order, the number of malformed lines skipped overall and the
+     * offset where parsing stopped.
+     */
+    public record Result<V>(List<V> chunks, long malformed, long end) {
+    }
+
+    private final ForkJoinPool pool;
+    private final long minChunkBytes;
+
+    public ParallelSessionLoader() {
+        this(ForkJoinPool.commonPool(), DEFAULT_MIN_CHUNK_BYTES);
+    }
+
+    public ParallelSessionLoader(ForkJoinPool pool, long minChunkBytes) {
+        if (minChunkBytes <= 0) {
+            throw new IllegalArgumentException("minChunkBytes must be positive, got: " + minChunkBytes);
+        }
+        this.pool = pool;
+        this.minChunkBytes = minChunkBytes;
+    }
+
+    /**
+     * Parses {@code log} from {@code offset} to its end, feeding each chunk to a fresh visitor
+     * from {@code perChunk}. When {@code includePartialLine} is false a trailing line without a
+     * newline is left out, so a later call can resume from {@link Result#end()}.
+     */
+    public <V extends SessionLogParser.Visitor> Result<V> load(Path log, long offset, boolean includePartialLine,
+                                                                  Supplier<V> perChunk) throws IOException {
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.READ)) {
+            long end = includePartialLine ? channel.size() : lineAlignedEnd(channel, offset);
+            long[] bounds = split(channel, offset, end);
+            List<ForkJoinTask<ChunkResult<V>>> tasks = new ArrayList<>(bounds.length - 1);
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                long from = bounds[i];
+                long to = bounds[i + 1];
+                tasks.add(pool.submit(() -> parseChunk(channel, from, to, perChunk.get())));
+            }
+            List<V> chunks = new ArrayList<>(tasks.size());
+            long malformed = 0;
+            for (ForkJoinTask<ChunkResult<V>> task : tasks) {
+                ChunkResult<V> result = join(task);
+                chunks.add(result.visitor);
+                malformed += result.malformed;
+            }
+            return new Result<>(chunks, malformed, end);
+        }
+    }
+
+    /**
+     * Reads every session in {@code log}, in file order, into a packed {@link SessionStore}.
+     * Records the store cannot hold (starts outside 1677 to 2262) are skipped like malformed
+     * lines instead of failing the load.
+     */
+    public SessionStore loadSessions(Path log) throws IOException {
+        Result<StoreChunk> result = load(log, 0, true, StoreChunk::new);
+        int total = 0;
+        long skipped = result.malformed();
+        for (StoreChunk chunk : result.chunks()) {
+            total += chunk.sessions.size();
+            skipped += chunk.rejected;
+        }
+        if (skipped > 0) {
+            logger.warn("Skipped {} invalid session record(s) while loading {}", skipped, log);
+        }
+        SessionStore sessions = new SessionStore(total);
+        for (StoreChunk chunk : result.chunks()) {
+            sessions.addAll(chunk.sessions);
+        }
+        return sessions;
+    }
+
+    /**
+     * The offset just past the last newline at or after {@code offset}, or {@code offset} if
+     * there is none.
+     */
+    public static long lineAlignedEnd(FileChannel channel, long offset) throws IOException {
+        long size = channel.size();
+        ByteBuffer block = ByteBuffer.allocate(8192);
+        long position = size;
+        while (position > offset) {
+            int length = (int) Math.min(block.capacity(), position - offset);
+            long start = position - length;
+            block.clear().limit(length);
+            readFully(channel, block, start);
+            for (int i = length - 1; i >= 0; i--) {
+                if (block.get(i) == '\n') {
+                    return start + i + 1;
+                }
+            }
+            position = start;
+        }
+        return offset;
+    }
+
+    private long[] split(FileChannel channel, long start, long end) throws IOException {
+        long length = end - start;
+        int parallelism = Math.max(1, pool.getParallelism());
+        long chunkBytes = Math.max(minChunkBytes, length / ((long) parallelism * CHUNKS_PER_THREAD));
+        chunkBytes = Math.min(chunkBytes, MAX_CHUNK_BYTES);
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(start);
+        long previous = start;
+        while (end - previous > chunkBytes) {
+            long next = nextLineStart(channel, previous + chunkBytes, end);
+            if (next >= end) {
+                break;
+            }
+            bounds.add(next);
+            previous = next;
+        }
+        bounds.add(end);
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    // First offset at or after position that starts a line
+    private static long nextLineStart(FileChannel channel, long position, long end) throws IOException {
+        ByteBuffer block = ByteBuffer.allocate(8192);
+        long scan = position - 1;
+        while (scan < end) {
+            int length = (int) Math.min(block.capacity(), end - scan);
+            block.clear().limit(length);
+            readFully(channel, block, scan);
+            for (int i = 0; i < length; i++) {
+                if (block.get(i) == '\n') {
+                    return scan + i + 1;
+                }
+            }
+            scan += length;
+        }
+        return end;
+    }
+
+    private static <V extends SessionLogParser.Visitor> ChunkResult<V> parseChunk(FileChannel channel, long from,
+                                                                                 long to, V visitor) {
+        try {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+            long malformed = new SessionLogParser().parse(new ByteBufferInputStream(mapped), visitor);
+            return new ChunkResult<>(visitor, malformed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> T join(ForkJoinTask<T> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading session log", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IOException("Failed to load session log", e.getCause());
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Session log shrank while it was being read");
+            }
+        }
+    }
+
+    private record ChunkResult<V>(V visitor, long malformed) {
+    }
+
+    // One chunk of loadSessions; a record that does not fit throws inside a fork-join task otherwise
+    private static final class StoreChunk implements SessionLogParser.Visitor {
+        private final SessionStore sessions = new SessionStore();
+        private long rejected;
+
+        @Override
+        public void session(SessionType type, long startEpochSecond, int startNano, long durationSeconds) {
+            try {
+                sessions.session(type, startEpochSecond, startNano, durationSeconds);
+            } catch (IllegalArgumentException e) {
+                rejected++;
+            }
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package org.GCremez.storage;
+
+import org.GCremez.timer.PomodoroTimer.SessionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Session log split into one NDJSON segment per month ({@code sessions-2024-05.ndjson}) inside
+ * a directory, described by a small {@code manifest} holding each segment's start-time bounds,
+ * record count and whether it is sealed.
+ * <p>
+ * Only the newest segment takes appends. When a session for a later month arrives its segment is
+ * created, and the writer seals the older ones: their files become read-only and their manifest
+ * bounds final. Readers prune sealed segments by those bounds; unsealed segments are always read
+ * because their manifest entry may lag behind the file.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class SegmentedSessionLog {
+    private static final Logger logger = LoggerFactory.getLogger(SegmentedSessionLog.class);
+    private static final String MANIFEST = "manifest";
+    private static final Pattern SEGMENT_NAME = Pattern.compile("sessions-(\\d{4}-\\d{2})\\.ndjson");
+
+    /**
+     * One month of the log. {@code minStart} and {@code maxStart} are epoch seconds of the log's
+     * local time on the UTC timeline, as {@link SessionLogParser.Visitor} reports them.
+     */
+    public record Segment(YearMonth month, Path file, long minStart, long maxStart, long records, boolean sealed) {
+
+        /**
+         * Whether this segment can hold sessions starting in {@code [from, to)}.
+         */
+        public boolean mayOverlap(long from, long to) {
+            return !sealed || (records > 0 && minStart < to && maxStart >= from);
+        }
+    }
+
+    private final Path directory;
+    private final TreeMap<YearMonth, Segment> segments = new TreeMap<>();
+
+    private SegmentedSessionLog(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Opens the segmented log in {@code directory}, creating the directory if needed. Segment
+     * files the manifest does not know about yet are picked up as unsealed.
+     */
+    public static SegmentedSessionLog open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        SegmentedSessionLog log = new SegmentedSessionLog(directory);
+        log.readManifest();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "sessions-*.ndjson")) {
+            for (Path file : files) {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    YearMonth month = YearMonth.parse(matcher.group(1));
+                    log.segments.putIfAbsent(month, new Segment(month, file, Long.MAX_VALUE, Long.MIN_VALUE, 0, false));
+                }
+            }
+        }
+        return log;
+    }
+
+    /**
+     * Whether {@code path} is a segmented log directory rather than a single log file.
+     */
+    public static boolean isSegmented(Path path) {
+        return Files.isDirectory(path);
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * All segments, oldest first.
+     */
+    public List<Segment> segments() {
+        return new ArrayList<>(segments.values());
+    }
+
+    /**
+     * Segments that may hold sessions starting in {@code [from, to)}, oldest first.
+     */
+    public List<Segment> segmentsOverlapping(long fromEpochSecond, long toEpochSecond) {
+        List<Segment> result = new ArrayList<>();
+        for (Segment segment : segments.values()) {
+            if (segment.mayOverlap(fromEpochSecond, toEpochSecond)) {
+                result.add(segment);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The segment file a session starting at {@code startEpochSecond} should be appended to,
+     * registering a new segment if it is for a later month than any so far. Sessions for a
+     * month whose segment is sealed go to the newest segment; its manifest bounds widen to
+     * cover them, so pruning stays correct.
+     */
+    public Path route(long startEpochSecond) {
+        YearMonth month = monthOf(startEpochSecond);
+        Map.Entry<YearMonth, Segment> newest = segments.lastEntry();
+        if (newest == null || month.isAfter(newest.getKey())) {
+            Segment segment = new Segment(month, directory.resolve(fileName(month)), Long.MAX_VALUE, Long.MIN_VALUE, 0, false);
+            segments.put(month, segment);
+            return segment.file;
+        }
+        Segment segment = segments.get(month);
+        if (segment != null && !segment.sealed) {
+            return segment.file;
+        }
+        return newest.getValue().file;
+    }
+
+    /**
+     * Records that a session starting at {@code startEpochSecond} was appended to {@code file}.
+     */
+    public void recordAppended(Path file, long startEpochSecond) {
+        for (Map.Entry<YearMonth, Segment> entry : segments.descendingMap().entrySet()) {
+            Segment segment = entry.getValue();
+            if (segment.file.equals(file)) {
+                entry.setValue(new Segment(segment.month, segment.file, Math.min(segment.minStart, startEpochSecond),
+                        Math.max(segment.maxStart, startEpochSecond), segment.records + 1, segment.sealed));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Seals every unsealed segment older than the one stored in {@code file}: makes the file
+     * read-only, settles its bounds from its contents and saves the manifest.
+     */
+    public void sealOlderThan(Path file) throws IOException {
+        sealOlderThan(file, true);
+    }
+
+    private void sealOlderThan(Path file, boolean recount) throws IOException {
+        boolean changed = false;
+        for (Map.Entry<YearMonth, Segment> entry : segments.entrySet()) {
+            Segment segment = entry.getValue();
+            if (segment.file.equals(file)) {
+                break;
+            }
+            if (!segment.sealed) {
+                entry.setValue(seal(segment, recount));
+                changed = true;
+            }
+        }
+        if (changed) {
+            saveManifest();
+        }
+    }
+
+    public void saveManifest() throws IOException {
+        Path manifest = directory.resolve(MANIFEST);
+        Path temp = Files.createTempFile(directory, MANIFEST, ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp)) {
+                writer.write("# month\tmin-start\tmax-start\trecords\tstate\n");
+                for (Segment segment : segments.values()) {
+                    writer.write(segment.month + "\t" + segment.minStart + "\t" + segment.maxStart + "\t"
+                            + segment.records + "\t" + (segment.sealed ? "sealed" : "open") + "\n");
+                }
+            }
+            try {
+                Files.move(temp, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, manifest, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Splits the monolithic log {@code source} into monthly segments under {@code directory} in
+     * one streaming pass. Every segment but the newest is sealed.
+     *
+     * @return the number of sessions migrated
+     */
+    public static long migrate(Path source, Path directory) throws IOException {
+        SegmentedSessionLog log = open(directory);
+        if (!log.segments.isEmpty()) {
+            throw new IOException("Segment directory " + directory + " is not empty");
+        }
+        Map<Path, SessionLogWriter> writers = new HashMap<>();
+        long[] migrated = new long[1];
+        long malformed;
+        try (InputStream in = Files.newInputStream(source)) {
+            malformed = new SessionLogParser().parse(in, (type, second, nano, duration) -> {
+                Path file = log.route(second);
+                SessionLogWriter writer = writers.get(file);
+                if (writer == null) {
+                    try {
+                        writer = new SessionLogWriter(file);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    writers.put(file, writer);
+                }
+                writer.session(type, second, nano, duration);
+                log.recordAppended(file, second);
+                migrated[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            for (SessionLogWriter writer : writers.values()) {
+                writer.close();
+            }
+        }
+        if (malformed > 0) {
+            logger.warn("Skipped {} invalid session record(s) while migrating {}", malformed, source);
+        }
+        // The bounds were tracked exactly on the way through, so sealing need not re-read
+        if (!log.segments.isEmpty()) {
+            log.sealOlderThan(log.segments.lastEntry().getValue().file, false);
+        }
+        log.saveManifest();
+        return migrated[0];
+    }
+
+    private Segment seal(Segment segment, boolean recount) throws IOException {
+        long[] bounds = {segment.minStart, segment.maxStart, segment.records};
+        if (Files.exists(segment.file)) {
+            if (recount) {
+                bounds[0] = Long.MAX_VALUE;
+                bounds[1] = Long.MIN_VALUE;
+                bounds[2] = 0;
+                try (InputStream in = Files.newInputStream(segment.file)) {
+                    new SessionLogParser().parse(in, (SessionType type, long second, int nano, long duration) -> {
+                        bounds[0] = Math.min(bounds[0], second);
+                        bounds[1] = Math.max(bounds[1], second);
+                        bounds[2]++;
+                    });
+                }
+            }
+            if (!segment.file.toFile().setReadOnly()) {
+                logger.warn("Could not make sealed segment {} read-only", segment.file);
+            }
+        }
+        return new Segment(segment.month, segment.file, bounds[0], bounds[1], bounds[2], true);
+    }
+
+    private void readManifest() throws IOException {
+        Path manifest = directory.resolve(MANIFEST);
+        if (!Files.exists(manifest)) {
+            return;
+        }
+        for (String line : Files.readAllLines(manifest)) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\t");
+            try {
+                YearMonth month = YearMonth.parse(fields[0]);
+                segments.put(month, new Segment(month, directory.resolve(fileName(month)), Long.parseLong(fields[1]),
+                        Long.parseLong(fields[2]), Long.parseLong(fields[3]), "sealed".equals(fields[4])));
+            } catch (RuntimeException e) {
+                logger.warn("Ignoring bad manifest line in {}: {}", manifest, line);
+            }
+        }
+    }
+
+    private static YearMonth monthOf(long epochSecond) {
+        return YearMonth.from(LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC));
+    }
+
+    private static String fileName(YearMonth month) {
+        return "sessions-" + month + ".ndjson";
+    }
+}
@@ -0,0 +1,189 @@
+package org.GCremez.storage;
+
+import org.GCremez.model.Session;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes session log lines straight into a {@link ByteBuffer} without allocating. This is the only
+ * session serialiser: {@link #toJson(Session)} is the same line as a string without its newline.
+ * <p>
+ * Each type's line prefix is a precomputed byte literal and the timestamp, which follows
+ * {@link LocalDateTime#toString()}, and the duration are encoded digit by digit. A line never
+ * exceeds {@link #MAX_LINE_BYTES}, so callers can size buffers up front.
+ */
+public final class SessionEncoder {
+    /**
+     * Upper bound on the length of one encoded line, newline included.
+     */
+    public static final int MAX_LINE_BYTES = 128;
+
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final byte[][] PREFIXES;
+    private static final byte[] DURATION_FIELD = "\",\"duration_seconds\":".getBytes(StandardCharsets.US_ASCII);
+
+    static {
+        SessionType[] types = SessionType.values();
+        PREFIXES = new byte[types.length][];
+        for (SessionType type : types) {
+            PREFIXES[type.ordinal()] = ("{\"type\":\"" + type.name().toLowerCase() + "\",\"start_time\":\"")
+                    .getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private SessionEncoder() {
+    }
+
+    /**
+     * Appends {@code session} as one log line.
+     *
+     * @return the number of bytes written
+     * @throws BufferOverflowException if fewer than {@link #MAX_LINE_BYTES} bytes remain
+     */
+    public static int encode(Session session, ByteBuffer out) {
+        LocalDateTime start = session.getStartTime();
+        int begin = begin(session.getType(), out);
+        putDateTime(out, start.getYear(), start.getMonthValue(), start.getDayOfMonth(),
+                start.getHour(), start.getMinute(), start.getSecond(), start.getNano());
+        return end(session.getDuration().getSeconds(), out, begin);
+    }
+
+    /**
+     * {@code session} as one session log record, without a line terminator.
+     */
+    public static String toJson(Session session) {
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_LINE_BYTES);
+        int length = encode(session, buffer);
+        // Drop the newline every line ends with
+        return new String(buffer.array(), 0, length - 1, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Appends one log line for a session given as {@link SessionLogParser.Visitor} primitives.
+     *
+     * @return the number of bytes written
+     * @throws BufferOverflowException if fewer than {@link #MAX_LINE_BYTES} bytes remain
+     */
+    public static int encode(SessionType type, long startEpochSecond, int startNano, long durationSeconds,
+                             ByteBuffer out) {
+        int begin = begin(type, out);
+        long epochDay = Math.floorDiv(startEpochSecond, SECONDS_PER_DAY);
+        int secondOfDay = Math.floorMod(startEpochSecond, SECONDS_PER_DAY);
+        // Days to civil date, proleptic Gregorian (H. Hinnant's algorithm)
+        long shifted = epochDay + 719_468;
+        long era = Math.floorDiv(shifted, 146_097);
+        long dayOfEra = shifted - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthIndex = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * monthIndex + 2) / 5 + 1);
+        int month = (int) (monthIndex < 10 ? monthIndex + 3 : monthIndex - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        putDateTime(out, (int) year, month, day, secondOfDay / 3600, secondOfDay / 60 % 60, secondOfDay % 60, startNano);
+        return end(durationSeconds, out, begin);
+    }
+
+    /**
+     * Appends as many of {@code sessions}, starting at {@code from}, as fit in {@code out}, so a
+     * whole batch can go out in one write.
+     *
+     * @return the index of the first session not written
+     */
+    public static int encodeAll(List<Session> sessions, int from, ByteBuffer out) {
+        int index = from;
+        while (index < sessions.size() && out.remaining() >= MAX_LINE_BYTES) {
+            encode(sessions.get(index++), out);
+        }
+        return index;
+    }
+
+    private static int begin(SessionType type, ByteBuffer out) {
+        if (out.remaining() < MAX_LINE_BYTES) {
+            throw new BufferOverflowException();
+        }
+        int begin = out.position();
+        out.put(PREFIXES[type.ordinal()]);
+        return begin;
+    }
+
+    private static int end(long durationSeconds, ByteBuffer out, int begin) {
+        out.put(DURATION_FIELD);
+        putLong(out, durationSeconds);
+        out.put((byte) '}').put((byte) '\n');
+        return out.position() - begin;
+    }
+
+    // Same text as LocalDateTime.toString()
+    private static void putDateTime(ByteBuffer out, int year, int month, int day, int hour, int minute,
+                                    int second, int nano) {
+        if (Math.abs(year) < 1000) {
+            if (year < 0) {
+                out.put((byte) '-');
+            }
+            putDigits(out, Math.abs(year), 4);
+        } else {
+            if (year > 9999) {
+                out.put((byte) '+');
+            }
+            putLong(out, year);
+        }
+        out.put((byte) '-');
+        putDigits(out, month, 2);
+        out.put((byte) '-');
+        putDigits(out, day, 2);
+        out.put((byte) 'T');
+        putDigits(out, hour, 2);
+        out.put((byte) ':');
+        putDigits(out, minute, 2);
+        if (second > 0 || nano > 0) {
+            out.put((byte) ':');
+            putDigits(out, second, 2);
+            if (nano > 0) {
+                out.put((byte) '.');
+                if (nano % 1_000_000 == 0) {
+                    putDigits(out, nano / 1_000_000, 3);
+                } else if (nano % 1000 == 0) {
+                    putDigits(out, nano / 1000, 6);
+                } else {
+                    putDigits(out, nano, 9);
+                }
+            }
+        }
+    }
+
+    // Writes value zero-padded to exactly width digits
+    private static void putDigits(ByteBuffer out, int value, int width) {
+        int end = out.position() + width;
+        for (int i = end - 1; i >= end - width; i--) {
+            out.put(i, (byte) ('0' + value % 10));
+            value /= 10;
+        }
+        out.position(end);
+    }
+
+    private static void putLong(ByteBuffer out, long value) {
+        if (value == Long.MIN_VALUE) {
+            out.put(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        if (value < 0) {
+            out.put((byte) '-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long bound = 10; digits < 19 && value >= bound; bound *= 10) {
+            digits++;
+        }
+        int end = out.position() + digits;
+        for (int i = end - 1; i >= end - digits; i--) {
+            out.put(i, (byte) ('0' + value % 10));
+            value /= 10;
+        }
+        out.position(end);
+    }
+}
@@ -0,0 +1,187 @@
+package org.GCremez.storage;
+
+import org.GCremez.timer.PomodoroTimer.SessionType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Sparse start-time index over a session log: one entry per block of {@code stride} records
+ * holding the block's byte offset, its earliest start time and the latest start time seen up to
+ * the end of the block.
+ * <p>
+ * A range query binary-searches the running maximum for the first block that can hold a match,
+ * finds the last block whose earliest start is still in range, and streams only the bytes in
+ * between. Logs are appended in time order, so that is usually one or two blocks; a log that is
+ * not ordered still gets correct answers, just from a wider scan.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class SessionIndex implements SessionLogParser.Visitor {
+    public static final int DEFAULT_STRIDE = 1024;
+
+    private final Path log;
+    private final int stride;
+    private long coveredBytes;
+    // One entry per block; the last block may still be filling up
+    private long[] offsets = new long[16];
+    private long[] minStarts = new long[16];
+    private long[] maxStarts = new long[16];
+    private int[] counts = new int[16];
+    private int blocks;
+    // Set while catching up, so the visitor can read each record's offset
+    private SessionLogParser parser;
+    private long parseBase;
+
+    private SessionIndex(Path log, int stride) {
+        this.log = log;
+        this.stride = stride;
+    }
+
+    public static SessionIndex build(Path log) throws IOException {
+        return build(log, DEFAULT_STRIDE);
+    }
+
+    public static SessionIndex build(Path log, int stride) throws IOException {
+        if (stride <= 0) {
+            throw new IllegalArgumentException("stride must be positive, got: " + stride);
+        }
+        SessionIndex index = new SessionIndex(log, stride);
+        index.catchUp();
+        return index;
+    }
+
+    /**
+     * Indexes every complete line appended since the last call.
+     */
+    public void catchUp() throws IOException {
+        if (!Files.exists(log) || Files.size(log) <= coveredBytes) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.READ)) {
+            channel.position(coveredBytes);
+            parser = new SessionLogParser();
+            parseBase = coveredBytes;
+            parser.parse(Channels.newInputStream(channel), this, false);
+            coveredBytes += parser.bytesConsumed();
+        } finally {
+            parser = null;
+        }
+    }
+
+    @Override
+    public void session(SessionType type, long startEpochSecond, int startNano, long durationSeconds) {
+        if (blocks == 0 || counts[blocks - 1] == stride) {
+            ensureCapacity(blocks + 1);
+            offsets[blocks] = parseBase + parser.bytesConsumed();
+            minStarts[blocks] = startEpochSecond;
+            maxStarts[blocks] = blocks == 0 ? startEpochSecond : maxStarts[blocks - 1];
+            blocks++;
+        }
+        int last = blocks - 1;
+        minStarts[last] = Math.min(minStarts[last], startEpochSecond);
+        maxStarts[last] = Math.max(maxStarts[last], startEpochSecond);
+        counts[last]++;
+    }
+
+    public long coveredBytes() {
+        return coveredBytes;
+    }
+
+    public int blockCount() {
+        return blocks;
+    }
+
+    /**
+     * Streams every indexed session whose start lies in {@code [fromEpochSecond, toEpochSecond)}
+     * to {@code visitor}, in log order. Start times are the log's local date-times on the UTC
+     * timeline, as {@link SessionLogParser.Visitor} reports them.
+     *
+     * @return the number of sessions visited
+     */
+    public long query(long fromEpochSecond, long toEpochSecond, SessionLogParser.Visitor visitor) throws IOException {
+        if (blocks == 0 || fromEpochSecond >= toEpochSecond) {
+            return 0;
+        }
+        // maxStarts is a running maximum, so it is sorted
+        int first = Arrays.binarySearch(maxStarts, 0, blocks, fromEpochSecond);
+        if (first < 0) {
+            first = -first - 1;
+        } else {
+            while (first > 0 && maxStarts[first - 1] == fromEpochSecond) {
+                first--;
+            }
+        }
+        int last = blocks - 1;
+        while (last >= first && minStarts[last] >= toEpochSecond) {
+            last--;
+        }
+        if (first > last) {
+            return 0;
+        }
+        long start = offsets[first];
+        long end = last + 1 < blocks ? offsets[last + 1] : coveredBytes;
+        long[] matched = new long[1];
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.READ)) {
+            InputStream in = Channels.newInputStream(channel.position(start));
+            new SessionLogParser().parse(new BoundedInputStream(in, end - start), (type, second, nano, duration) -> {
+                if (second >= fromEpochSecond && second < toEpochSecond) {
+                    matched[0]++;
+                    visitor.session(type, second, nano, duration);
+                }
+            });
+        }
+        return matched[0];
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= offsets.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, offsets.length * 2);
+        offsets = Arrays.copyOf(offsets, newLength);
+        minStarts = Arrays.copyOf(minStarts, newLength);
+        maxStarts = Arrays.copyOf(maxStarts, newLength);
+        counts = Arrays.copyOf(counts, newLength);
+    }
+
+    private static final class BoundedInputStream extends InputStream {
+        private final InputStream in;
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long limit) {
+            this.in = in;
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int value = in.read();
+            if (value >= 0) {
+                remaining--;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = in.read(bytes, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+    }
+}
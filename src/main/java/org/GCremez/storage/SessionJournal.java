@@ -0,0 +1,438 @@
+package org.GCremez.storage;
+
+import org.GCremez.config.ConfigManager;
+import org.GCremez.exception.StorageException;
+import org.GCremez.model.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only NDJSON journal of completed sessions.
+ * <p>
+ * Appends from any number of timers are queued and written by one writer thread in group commits:
+ * everything queued since the last commit goes out in a single {@code write}, followed by an
+ * fsync according to the {@link FsyncPolicy}. One journal exists per file, shared through
+ * {@link #shared(ConfigManager)}.
+ * <p>
+ * The writer also keeps the log's {@link SessionRollup} current, saving it at most once a
+ * second; anything appended after the last save is picked up by the next reader that opens it.
+ * <p>
+ * A journal opened with {@link #segmented} writes into a {@link SegmentedSessionLog} instead,
+ * keeping only the newest segment open and sealing older ones as months roll over.
+ */
+public class SessionJournal implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(SessionJournal.class);
+    private static final Map<Path, SessionJournal> SHARED = new ConcurrentHashMap<>();
+    private static final int DEFAULT_MAX_BATCH = 512;
+    private static final long ROLLUP_SAVE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // Queued by close(); the writer commits what is ahead of it, closes the file and exits
+    private static final Entry STOP = new Entry(null, new CompletableFuture<>());
+
+    private final Path path;
+    private final SegmentedSessionLog segments;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalNanos;
+    private final int maxBatch;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean closed;
+    // Set by the writer once it has closed the file and will not take from the queue again
+    private volatile boolean stopped;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    private long lastFsyncNanos = System.nanoTime();
+    private boolean dirty;
+    // The file being appended to and its rollup; only touched by the writer thread once it has started,
+    // which also closes them as it exits
+    private Path target;
+    private FileChannel channel;
+    private SessionRollup rollup;
+    private long lastRollupSaveNanos = System.nanoTime();
+    private boolean rollupDirty;
+    private final List<Session> pending = new ArrayList<>();
+
+    public SessionJournal(Path path, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis, int maxBatch) throws IOException {
+        this(path, null, fsyncPolicy, fsyncIntervalMillis, maxBatch);
+    }
+
+    private SessionJournal(Path path, SegmentedSessionLog segments, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis,
+                           int maxBatch) throws IOException {
+        this.path = path;
+        this.segments = segments;
+        this.fsyncPolicy = Objects.requireNonNull(fsyncPolicy, "fsyncPolicy");
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, fsyncIntervalMillis));
+        this.maxBatch = maxBatch > 0 ? maxBatch : DEFAULT_MAX_BATCH;
+        if (segments == null) {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                parent.toFile().mkdirs();
+            }
+            switchTo(path);
+        }
+        this.writer = new Thread(this::run, "pomodoro-journal");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * A journal that appends to the monthly segments in {@code directory}.
+     */
+    public static SessionJournal segmented(Path directory, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis,
+                                           int maxBatch) throws IOException {
+        return new SessionJournal(directory, SegmentedSessionLog.open(directory), fsyncPolicy, fsyncIntervalMillis,
+                maxBatch);
+    }
+
+    /**
+     * The journal for {@code pomodoro.analytics.session-segments-dir}, or failing that
+     * {@code pomodoro.analytics.session-log-file}, shared by every timer in the JVM. Returns
+     * {@code null} if neither is configured or the journal cannot be opened.
+     */
+    public static SessionJournal shared(ConfigManager configManager) {
+        Path path = location(configManager);
+        if (path == null) {
+            return null;
+        }
+        boolean segmented = isSegmentedConfig(configManager);
+        try {
+            return SHARED.computeIfAbsent(path, p -> {
+                FsyncPolicy policy = FsyncPolicy.fromConfig(configManager.getJournalFsyncPolicy());
+                long interval = configManager.getJournalFsyncIntervalMillis();
+                int batch = configManager.getJournalMaxBatch();
+                try {
+                    return segmented
+                            ? segmented(p, policy, interval, batch)
+                            : new SessionJournal(p, policy, interval, batch);
+                } catch (IOException e) {
+                    throw new StorageException("Cannot open session journal " + p, e);
+                }
+            });
+        } catch (StorageException e) {
+            logger.error(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Where the session log is kept: the {@code pomodoro.analytics.session-segments-dir} directory
+     * if set, otherwise the {@code pomodoro.analytics.session-log-file} file, or {@code null} if
+     * neither is configured.
+     */
+    public static Path location(ConfigManager configManager) {
+        String file = isSegmentedConfig(configManager)
+                ? configManager.getSessionSegmentsDir()
+                : configManager.getSessionLogFile();
+        if (file == null || file.isBlank()) {
+            return null;
+        }
+        return Path.of(file).toAbsolutePath().normalize();
+    }
+
+    private static boolean isSegmentedConfig(ConfigManager configManager) {
+        String directory = configManager.getSessionSegmentsDir();
+        return directory != null && !directory.isBlank();
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * Queues {@code session} for the next group commit. The future completes once the record is
+     * written, and also fsynced under {@link FsyncPolicy#ALWAYS}.
+     */
+    public CompletableFuture<Void> append(Session session) {
+        Entry entry = new Entry(session, new CompletableFuture<>());
+        if (closed) {
+            entry.done.completeExceptionally(new StorageException("Session journal is closed: " + path));
+            return entry.done;
+        }
+        queue.add(entry);
+        if (stopped) {
+            // Raced close() and was queued after the writer's last look at the queue
+            failQueued();
+        }
+        return entry.done;
+    }
+
+    /**
+     * Blocks until everything appended so far has been committed, or {@code timeout} passes.
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        CompletableFuture<Void> marker = new CompletableFuture<>();
+        queue.add(new Entry(null, marker));
+        if (stopped) {
+            failQueued();
+        }
+        try {
+            marker.get(timeout, unit);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Commits everything queued so far, then closes the file on the writer thread. If the writer
+     * does not finish within five seconds it is left to do so in the background.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.add(STOP);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            logger.warn("Session journal {} is still writing; it will be closed in the background", path);
+        }
+        SHARED.remove(path, this);
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(maxBatch);
+        try {
+            boolean stopping = false;
+            while (!stopping) {
+                try {
+                    Entry first = fsyncPolicy == FsyncPolicy.INTERVAL && dirty
+                            ? queue.poll(fsyncIntervalNanos, TimeUnit.NANOSECONDS)
+                            : queue.take();
+                    if (first != null) {
+                        batch.add(first);
+                        queue.drainTo(batch, maxBatch - 1);
+                    }
+                    int stop = batch.indexOf(STOP);
+                    if (stop >= 0) {
+                        stopping = true;
+                        // Anything behind the pill raced close(); it is failed here or, if still
+                        // queued, below
+                        List<Entry> late = batch.subList(stop, batch.size());
+                        late.forEach(entry -> {
+                            if (entry != STOP) {
+                                entry.done.completeExceptionally(
+                                        new StorageException("Session journal is closed: " + path));
+                            }
+                        });
+                        late.clear();
+                    }
+                    commit(batch);
+                } catch (InterruptedException e) {
+                    logger.warn("Session journal writer for {} interrupted", path);
+                    stopping = true;
+                } catch (Exception e) {
+                    logger.error("Failed to write session journal {}", path, e);
+                    abandonTarget();
+                    batch.forEach(entry -> entry.done.completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+        } finally {
+            try {
+                closeTarget();
+                if (segments != null) {
+                    segments.saveManifest();
+                }
+            } catch (IOException e) {
+                logger.warn("Error closing session journal {}", path, e);
+            }
+            stopped = true;
+            failQueued();
+        }
+    }
+
+    private void failQueued() {
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            if (entry != STOP) {
+                entry.done.completeExceptionally(new StorageException("Session journal is closed: " + path));
+            }
+        }
+    }
+
+    private void commit(List<Entry> batch) throws IOException {
+        long now = System.nanoTime();
+        buffer.clear();
+        for (Entry entry : batch) {
+            Session session = entry.session;
+            if (session == null) {
+                continue;
+            }
+            Path file = segments == null ? path : segments.route(epochSecond(session));
+            if (!file.equals(target)) {
+                writeBuffer(now);
+                switchTo(file);
+            }
+            ensureCapacity(SessionEncoder.MAX_LINE_BYTES);
+            SessionEncoder.encode(session, buffer);
+            pending.add(session);
+        }
+        writeBuffer(now);
+        if (dirty && (fsyncPolicy == FsyncPolicy.ALWAYS
+                || (fsyncPolicy == FsyncPolicy.INTERVAL && now - lastFsyncNanos >= fsyncIntervalNanos))) {
+            channel.force(false);
+            lastFsyncNanos = now;
+            dirty = false;
+        }
+        for (Entry entry : batch) {
+            entry.done.complete(null);
+        }
+    }
+
+    // Writes what is buffered for the current target and folds it into its rollup and manifest entry
+    private void writeBuffer(long now) throws IOException {
+        buffer.flip();
+        int written = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+            dirty = true;
+        }
+        buffer.clear();
+        if (written == 0) {
+            return;
+        }
+        for (Session session : pending) {
+            if (rollup != null) {
+                rollup.session(session.getType(), epochSecond(session), session.getStartTime().getNano(),
+                        session.getDuration().getSeconds());
+            }
+            if (segments != null) {
+                segments.recordAppended(target, epochSecond(session));
+            }
+        }
+        pending.clear();
+        if (rollup != null) {
+            rollup.advance(written);
+            rollupDirty = true;
+        }
+        if (now - lastRollupSaveNanos >= ROLLUP_SAVE_INTERVAL_NANOS) {
+            saveRollupAndManifest();
+            lastRollupSaveNanos = now;
+        }
+    }
+
+    private void switchTo(Path file) throws IOException {
+        closeTarget();
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        terminatePartialLine(file);
+        // Catches up over anything in the file the rollup has not seen, such as lines of a failed write
+        rollup = openRollup(file);
+        target = file;
+        if (segments != null) {
+            segments.sealOlderThan(file);
+        }
+    }
+
+    /**
+     * After a failed write part of the batch may already be in the file, so the rollup no longer
+     * knows where the log ends. The target is dropped, keeping the rollup as saved up to the last
+     * complete write; the next batch reopens the file and the rollup catches up over what is there.
+     */
+    private void abandonTarget() {
+        pending.clear();
+        buffer.clear();
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Error closing session journal {} after a failed write", target, e);
+            }
+            channel = null;
+        }
+        saveRollupAndManifest();
+        rollup = null;
+        target = null;
+        dirty = false;
+    }
+
+    // A crash or failed write can leave the last line unterminated; end it so the next line does
+    // not run into it, and the parser skips it as malformed
+    private void terminatePartialLine(Path file) throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return;
+        }
+        ByteBuffer last = ByteBuffer.allocate(1);
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            in.read(last, size - 1);
+        }
+        if (last.get(0) != '\n') {
+            channel.write(ByteBuffer.wrap(new byte[]{'\n'}));
+            dirty = true;
+        }
+    }
+
+    private void closeTarget() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        if (dirty && fsyncPolicy != FsyncPolicy.OS) {
+            channel.force(false);
+            lastFsyncNanos = System.nanoTime();
+        }
+        dirty = false;
+        channel.close();
+        channel = null;
+        saveRollupAndManifest();
+    }
+
+    private void saveRollupAndManifest() {
+        try {
+            if (rollup != null && rollupDirty) {
+                rollup.save();
+                rollupDirty = false;
+            }
+            if (segments != null) {
+                segments.saveManifest();
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to save session rollup or manifest for {}", path, e);
+        }
+    }
+
+    private static long epochSecond(Session session) {
+        return session.getStartTime().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static SessionRollup openRollup(Path path) {
+        try {
+            return SessionRollup.open(path);
+        } catch (IOException e) {
+            logger.warn("Session rollup for {} is unavailable; the dashboard will rebuild it", path, e);
+            return null;
+        }
+    }
+
+    private void ensureCapacity(int extra) {
+        if (buffer.remaining() < extra) {
+            ByteBuffer bigger = ByteBuffer.allocateDirect(Math.max(buffer.capacity() * 2, buffer.position() + extra));
+            buffer.flip();
+            bigger.put(buffer);
+            buffer = bigger;
+        }
+    }
+
+    private record Entry(Session session, CompletableFuture<Void> done) {
+    }
+}
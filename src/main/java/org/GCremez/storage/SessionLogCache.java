@@ -0,0 +1,133 @@
+package org.GCremez.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps each log's {@link SessionRollup}, and its {@link SessionIndex} once a range query has
+ * asked for it, in memory between dashboard refreshes.
+ * <p>
+ * Alongside the rollup it remembers the file identity it was last refreshed against: file key
+ * (device and inode where the platform has them), size, modification time and the checksum of
+ * the bytes before the covered offset. An unchanged file costs one {@code stat}; a grown one
+ * only has its new bytes parsed; a truncated, rotated or rewritten one is reopened from its
+ * sidecar or rebuilt. A catch-up that moves the rollup forward saves the sidecar, so the next
+ * process that only reads the log does not parse the same tail again.
+ */
+public final class SessionLogCache {
+    private static final Logger logger = LoggerFactory.getLogger(SessionLogCache.class);
+    private static final SessionLogCache SHARED = new SessionLogCache();
+
+    private final Map<Path, Entry> entries = new HashMap<>();
+
+    public static SessionLogCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * The up-to-date rollup for {@code log}. Callers must not use the returned rollup while
+     * another thread may call {@code get} for the same log.
+     */
+    public synchronized SessionRollup get(Path log) throws IOException {
+        Path key = log.toAbsolutePath().normalize();
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(key, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            entries.remove(key);
+            return SessionRollup.open(key);
+        }
+
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.sameFile(attributes)) {
+            logger.debug("Session log {} was rotated or truncated; reopening its rollup", key);
+            entry = null;
+        }
+        if (entry != null && (attributes.size() != entry.size || !attributes.lastModifiedTime().equals(entry.modified))) {
+            if (entry.rollup.matchesLog(entry.checksum)) {
+                if (entry.rollup.catchUp()) {
+                    save(entry.rollup, key);
+                }
+                if (entry.index != null) {
+                    entry.index.catchUp();
+                }
+            } else {
+                logger.debug("Session log {} was rewritten; reopening its rollup", key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            entry = new Entry(SessionRollup.open(key));
+            entries.put(key, entry);
+        }
+        entry.update(attributes);
+        return entry.rollup;
+    }
+
+    /**
+     * The up-to-date sparse index for {@code log}, built on first use. The same threading rule as
+     * for {@link #get(Path)} applies.
+     */
+    public synchronized SessionIndex index(Path log) throws IOException {
+        Path key = log.toAbsolutePath().normalize();
+        get(key);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return SessionIndex.build(key);
+        }
+        if (entry.index == null) {
+            entry.index = SessionIndex.build(key);
+        }
+        return entry.index;
+    }
+
+    /**
+     * Forgets every cached rollup and index.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    // The rollup in memory is still correct, so a sidecar that cannot be written is only logged
+    private static void save(SessionRollup rollup, Path log) {
+        try {
+            rollup.save();
+        } catch (IOException e) {
+            logger.debug("Could not save the session rollup for {}: {}", log, e.toString());
+        }
+    }
+
+    private static final class Entry {
+        private final SessionRollup rollup;
+        private SessionIndex index;
+        private Object fileKey;
+        private long size;
+        private FileTime modified;
+        private long checksum;
+
+        Entry(SessionRollup rollup) {
+            this.rollup = rollup;
+        }
+
+        boolean sameFile(BasicFileAttributes attributes) {
+            return Objects.equals(fileKey, attributes.fileKey()) && attributes.size() >= rollup.coveredBytes();
+        }
+
+        void update(BasicFileAttributes attributes) throws IOException {
+            fileKey = attributes.fileKey();
+            size = attributes.size();
+            modified = attributes.lastModifiedTime();
+            checksum = rollup.tailChecksum();
+        }
+    }
+}
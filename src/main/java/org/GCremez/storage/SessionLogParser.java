@@ -0,0 +1,509 @@
+package org.GCremez.storage;
+
+import org.GCremez.metrics.Counter;
+import org.GCremez.metrics.MetricsRegistry;
+import org.GCremez.model.Session;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Streaming parser for the NDJSON session log.
+ * <p>
+ * Records are decoded straight from the byte buffer: no per-line {@code String}, no regex and no
+ * intermediate arrays. Fields may appear in any order with any JSON whitespace between tokens,
+ * and unknown fields (including nested objects and arrays) are skipped. A malformed line is
+ * counted and skipped without affecting the lines around it. Durations must fit the {@code int}
+ * seconds the session stores keep, so a negative or larger one makes the line malformed.
+ * <p>
+ * A parser allocates its read buffer on first use and reuses it between calls; it is not
+ * thread-safe.
+ */
+public final class SessionLogParser {
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    private static final byte[] KEY_TYPE = ascii("type");
+    private static final byte[] KEY_START_TIME = ascii("start_time");
+    private static final byte[] KEY_DURATION = ascii("duration_seconds");
+    private static final SessionType[] TYPES = SessionType.values();
+    private static final byte[][] TYPE_NAMES = new byte[TYPES.length][];
+    private static final Counter PARSED_RECORDS = MetricsRegistry.shared().counter("sessionlog.parsed.records");
+    private static final Counter PARSED_BYTES = MetricsRegistry.shared().counter("sessionlog.parsed.bytes");
+
+    static {
+        for (int i = 0; i < TYPES.length; i++) {
+            TYPE_NAMES[i] = ascii(TYPES[i].name());
+        }
+    }
+
+    /**
+     * Receives each well-formed record. The start time is the log's local date-time expressed as
+     * seconds and nanos on the UTC timeline, so no {@link LocalDateTime} has to be built.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        void session(SessionType type, long startEpochSecond, int startNano, long durationSeconds);
+    }
+
+    private final int bufferSize;
+    private byte[] buffer;
+    private long bytesConsumed;
+    // Fields of the record being decoded
+    private int pos;
+    private SessionType type;
+    private long startEpochSecond;
+    private int startNano;
+    private long durationSeconds;
+    private boolean hasStart;
+    private boolean hasDuration;
+
+    public SessionLogParser() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    public SessionLogParser(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive, got: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Parses every line of {@code in}, handing well-formed records to {@code visitor}. Blank
+     * lines are ignored.
+     *
+     * @return the number of malformed lines that were skipped
+     */
+    public long parse(InputStream in, Visitor visitor) throws IOException {
+        return parse(in, visitor, true);
+    }
+
+    /**
+     * Like {@link #parse(InputStream, Visitor)}, but when {@code includePartialLine} is false a
+     * trailing line without a newline (one a writer may still be appending) is left unparsed.
+     * {@link #bytesConsumed()} then tells the caller where to resume.
+     */
+    public long parse(InputStream in, Visitor visitor, boolean includePartialLine) throws IOException {
+        bytesConsumed = 0;
+        if (buffer == null) {
+            buffer = new byte[bufferSize];
+        }
+        long malformed = 0;
+        long lines = 0;
+        int start = 0;
+        int limit = 0;
+        int scan = 0;
+        while (true) {
+            int newline = indexOf(buffer, (byte) '\n', scan, limit);
+            if (newline >= 0) {
+                if (!parseLine(buffer, start, newline, visitor)) {
+                    malformed++;
+                }
+                lines++;
+                bytesConsumed += newline + 1 - start;
+                start = newline + 1;
+                scan = start;
+                continue;
+            }
+            // No complete line left: keep the partial one and refill behind it
+            if (start > 0) {
+                System.arraycopy(buffer, start, buffer, 0, limit - start);
+                limit -= start;
+                start = 0;
+            } else if (limit == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            scan = limit;
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                if (includePartialLine && limit > 0) {
+                    if (!parseLine(buffer, 0, limit, visitor)) {
+                        malformed++;
+                    }
+                    lines++;
+                    bytesConsumed += limit;
+                }
+                // Blank lines count as records; they are rare enough not to skew the rate
+                PARSED_RECORDS.add(lines - malformed);
+                PARSED_BYTES.add(bytesConsumed);
+                return malformed;
+            }
+            limit += read;
+        }
+    }
+
+    /**
+     * Bytes of the stream covered by the last {@link #parse} call. While a {@link Visitor} is
+     * being called it is the offset of the line being visited.
+     */
+    public long bytesConsumed() {
+        return bytesConsumed;
+    }
+
+    /**
+     * Parses a single record held in {@code bytes[from, to)}.
+     *
+     * @return {@code false} if the bytes are not a complete, well-formed record
+     */
+    public boolean parseLine(byte[] bytes, int from, int to, Visitor visitor) {
+        int end = to;
+        while (end > from && isWhitespace(bytes[end - 1])) {
+            end--;
+        }
+        pos = from;
+        skipWhitespace(bytes, end);
+        if (pos == end) {
+            return true;
+        }
+        type = null;
+        hasStart = false;
+        hasDuration = false;
+        if (!parseObject(bytes, end)) {
+            return false;
+        }
+        skipWhitespace(bytes, end);
+        if (pos != end || type == null || !hasStart || !hasDuration) {
+            return false;
+        }
+        visitor.session(type, startEpochSecond, startNano, durationSeconds);
+        return true;
+    }
+
+    /**
+     * Parses one session log record, or returns {@code null} if it is not a well-formed session.
+     */
+    public static Session fromJson(String json) {
+        if (json == null) {
+            return null;
+        }
+        Session[] result = new Session[1];
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        boolean parsed = new SessionLogParser().parseLine(bytes, 0, bytes.length,
+                (type, startSecond, startNano, durationSeconds) ->
+                        result[0] = toSession(type, startSecond, startNano, durationSeconds));
+        return parsed ? result[0] : null;
+    }
+
+    /**
+     * Builds a {@link Session} from the values a {@link Visitor} receives.
+     */
+    public static Session toSession(SessionType type, long startEpochSecond, int startNano, long durationSeconds) {
+        return new Session(type, Duration.ofSeconds(durationSeconds),
+                LocalDateTime.ofEpochSecond(startEpochSecond, startNano, ZoneOffset.UTC));
+    }
+
+    private boolean parseObject(byte[] b, int end) {
+        if (pos >= end || b[pos] != '{') {
+            return false;
+        }
+        pos++;
+        skipWhitespace(b, end);
+        if (pos < end && b[pos] == '}') {
+            pos++;
+            return true;
+        }
+        while (true) {
+            if (pos >= end || b[pos] != '"') {
+                return false;
+            }
+            int keyStart = pos + 1;
+            if (!skipString(b, end)) {
+                return false;
+            }
+            int keyEnd = pos - 1;
+            skipWhitespace(b, end);
+            if (pos >= end || b[pos] != ':') {
+                return false;
+            }
+            pos++;
+            skipWhitespace(b, end);
+            if (!parseField(b, end, keyStart, keyEnd)) {
+                return false;
+            }
+            skipWhitespace(b, end);
+            if (pos >= end) {
+                return false;
+            }
+            if (b[pos] == '}') {
+                pos++;
+                return true;
+            }
+            if (b[pos] != ',') {
+                return false;
+            }
+            pos++;
+            skipWhitespace(b, end);
+        }
+    }
+
+    private boolean parseField(byte[] b, int end, int keyStart, int keyEnd) {
+        if (regionEquals(b, keyStart, keyEnd, KEY_TYPE)) {
+            return parseType(b, end);
+        }
+        if (regionEquals(b, keyStart, keyEnd, KEY_START_TIME)) {
+            return parseStartTime(b, end);
+        }
+        if (regionEquals(b, keyStart, keyEnd, KEY_DURATION)) {
+            return parseDuration(b, end);
+        }
+        return skipValue(b, end, 0);
+    }
+
+    private boolean parseType(byte[] b, int end) {
+        if (pos >= end || b[pos] != '"') {
+            return false;
+        }
+        int valueStart = pos + 1;
+        if (!skipString(b, end)) {
+            return false;
+        }
+        int valueEnd = pos - 1;
+        for (int i = 0; i < TYPES.length; i++) {
+            if (regionEqualsIgnoreCase(b, valueStart, valueEnd, TYPE_NAMES[i])) {
+                type = TYPES[i];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Accepts the forms {@link LocalDateTime#toString()} produces:
+     * {@code uuuu-MM-ddTHH:mm[:ss[.fffffffff]]}.
+     */
+    private boolean parseStartTime(byte[] b, int end) {
+        if (pos >= end || b[pos] != '"') {
+            return false;
+        }
+        int p = pos + 1;
+        if (end - p < 17) {
+            return false;
+        }
+        int year = digits(b, p, 4);
+        int month = digits(b, p + 5, 2);
+        int day = digits(b, p + 8, 2);
+        int hour = digits(b, p + 11, 2);
+        int minute = digits(b, p + 14, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59
+                || b[p + 4] != '-' || b[p + 7] != '-' || b[p + 10] != 'T' || b[p + 13] != ':') {
+            return false;
+        }
+        p += 16;
+        int second = 0;
+        int nano = 0;
+        if (p < end && b[p] == ':') {
+            second = p + 3 <= end ? digits(b, p + 1, 2) : -1;
+            if (second < 0 || second > 59) {
+                return false;
+            }
+            p += 3;
+            if (p < end && b[p] == '.') {
+                p++;
+                int count = 0;
+                while (p < end && count < 9 && isDigit(b[p])) {
+                    nano = nano * 10 + (b[p] - '0');
+                    p++;
+                    count++;
+                }
+                if (count == 0) {
+                    return false;
+                }
+                for (; count < 9; count++) {
+                    nano *= 10;
+                }
+            }
+        }
+        if (p >= end || b[p] != '"') {
+            return false;
+        }
+        pos = p + 1;
+        startEpochSecond = daysFromCivil(year, month, day) * SECONDS_PER_DAY
+                + hour * 3600L + minute * 60L + second;
+        startNano = nano;
+        hasStart = true;
+        return true;
+    }
+
+    private boolean parseDuration(byte[] b, int end) {
+        int digitsStart = pos;
+        long value = 0;
+        while (pos < end && isDigit(b[pos])) {
+            value = value * 10 + (b[pos] - '0');
+            if (value > Integer.MAX_VALUE) {
+                return false;
+            }
+            pos++;
+        }
+        if (pos == digitsStart) {
+            return false;
+        }
+        durationSeconds = value;
+        hasDuration = true;
+        return true;
+    }
+
+    private boolean skipValue(byte[] b, int end, int depth) {
+        if (pos >= end || depth > 64) {
+            return false;
+        }
+        byte c = b[pos];
+        if (c == '"') {
+            return skipString(b, end);
+        }
+        if (c == '{' || c == '[') {
+            byte close = c == '{' ? (byte) '}' : (byte) ']';
+            pos++;
+            skipWhitespace(b, end);
+            if (pos < end && b[pos] == close) {
+                pos++;
+                return true;
+            }
+            while (true) {
+                if (c == '{') {
+                    if (pos >= end || b[pos] != '"' || !skipString(b, end)) {
+                        return false;
+                    }
+                    skipWhitespace(b, end);
+                    if (pos >= end || b[pos] != ':') {
+                        return false;
+                    }
+                    pos++;
+                    skipWhitespace(b, end);
+                }
+                if (!skipValue(b, end, depth + 1)) {
+                    return false;
+                }
+                skipWhitespace(b, end);
+                if (pos >= end) {
+                    return false;
+                }
+                if (b[pos] == close) {
+                    pos++;
+                    return true;
+                }
+                if (b[pos] != ',') {
+                    return false;
+                }
+                pos++;
+                skipWhitespace(b, end);
+            }
+        }
+        // Number or literal: consume up to the next structural character
+        int start = pos;
+        while (pos < end && b[pos] != ',' && b[pos] != '}' && b[pos] != ']' && !isWhitespace(b[pos])) {
+            pos++;
+        }
+        return pos > start;
+    }
+
+    /**
+     * Moves {@code pos} from an opening quote to just past the matching closing quote.
+     */
+    private boolean skipString(byte[] b, int end) {
+        int p = pos + 1;
+        while (p < end) {
+            byte c = b[p];
+            if (c == '\\') {
+                p += 2;
+            } else if (c == '"') {
+                pos = p + 1;
+                return true;
+            } else {
+                p++;
+            }
+        }
+        return false;
+    }
+
+    private void skipWhitespace(byte[] b, int end) {
+        while (pos < end && isWhitespace(b[pos])) {
+            pos++;
+        }
+    }
+
+    private static boolean isWhitespace(byte c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+    }
+
+    private static boolean isDigit(byte c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int digits(byte[] b, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            if (!isDigit(b[i])) {
+                return -1;
+            }
+            value = value * 10 + (b[i] - '0');
+        }
+        return value;
+    }
+
+    private static int indexOf(byte[] b, byte target, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (b[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean regionEquals(byte[] b, int from, int to, byte[] expected) {
+        if (to - from != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (b[from + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean regionEqualsIgnoreCase(byte[] b, int from, int to, byte[] upper) {
+        if (to - from != upper.length) {
+            return false;
+        }
+        for (int i = 0; i < upper.length; i++) {
+            byte c = b[from + i];
+            if (c >= 'a' && c <= 'z') {
+                c -= 'a' - 'A';
+            }
+            if (c != upper[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    // Days since 1970-01-01 in the proleptic Gregorian calendar (Howard Hinnant's algorithm)
+    private static long daysFromCivil(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        long doy = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146_097 + doe - 719_468;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,62 @@
+package org.GCremez.storage;
+
+import org.GCremez.timer.PomodoroTimer.SessionType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams sessions into a new log file through {@link SessionEncoder}, one reusable buffer and
+ * one write per buffer-full. Used for bulk rewrites such as conversions and migrations; the
+ * journal is the writer for live appends. Not thread-safe.
+ */
+final class SessionLogWriter implements SessionLogParser.Visitor, Closeable {
+    private static final int BUFFER_BYTES = 256 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+    SessionLogWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Appends one session.
+     *
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    @Override
+    public void session(SessionType type, long startEpochSecond, int startNano, long durationSeconds) {
+        try {
+            if (buffer.remaining() < SessionEncoder.MAX_LINE_BYTES) {
+                drain();
+            }
+            SessionEncoder.encode(type, startEpochSecond, startNano, durationSeconds, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
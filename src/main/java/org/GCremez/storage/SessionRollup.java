@@ -0,0 +1,274 @@
+package org.GCremez.storage;
+
+import org.GCremez.timer.PomodoroTimer.SessionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Per-day totals of a session log, persisted in a small sidecar file next to it
+ * ({@code Session_log.json.rollup}).
+ * <p>
+ * The sidecar records how many bytes of the log it covers and a checksum of the bytes just before
+ * that offset. {@link #open(Path)} trusts it only if both still match, then folds in whatever was
+ * appended since; a missing, corrupt or stale sidecar is rebuilt from the log. Reading the
+ * dashboard therefore costs O(days) rather than O(sessions).
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class SessionRollup implements SessionLogParser.Visitor {
+    private static final Logger logger = LoggerFactory.getLogger(SessionRollup.class);
+    private static final int MAGIC = 0x504F524C;
+    private static final int VERSION = 1;
+    private static final int CHECKSUM_WINDOW = 64;
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    /**
+     * Receives one day of totals, in ascending day order.
+     */
+    @FunctionalInterface
+    public interface DayVisitor {
+        void day(long epochDay, long workCount, long workSeconds, long breakCount, long breakSeconds);
+    }
+
+    private final Path log;
+    private long coveredBytes;
+    // Parallel arrays sorted by epoch day
+    private long[] days = new long[16];
+    private long[] workCounts = new long[16];
+    private long[] workSeconds = new long[16];
+    private long[] breakCounts = new long[16];
+    private long[] breakSeconds = new long[16];
+    private int size;
+
+    private SessionRollup(Path log) {
+        this.log = log;
+    }
+
+    public static Path sidecarFor(Path log) {
+        return log.resolveSibling(log.getFileName() + ".rollup");
+    }
+
+    /**
+     * Loads the rollup for {@code log}, bringing it up to date with the log and saving it again
+     * if anything changed.
+     */
+    public static SessionRollup open(Path log) throws IOException {
+        SessionRollup rollup = new SessionRollup(log);
+        if (!Files.exists(log)) {
+            return rollup;
+        }
+        boolean loaded = rollup.load();
+        if (rollup.catchUp() || !loaded) {
+            rollup.save();
+        }
+        return rollup;
+    }
+
+    @Override
+    public void session(SessionType type, long startEpochSecond, int startNano, long durationSeconds) {
+        int index = indexFor(Math.floorDiv(startEpochSecond, SECONDS_PER_DAY));
+        if (type == SessionType.WORK) {
+            workCounts[index]++;
+            workSeconds[index] += durationSeconds;
+        } else {
+            breakCounts[index]++;
+            breakSeconds[index] += durationSeconds;
+        }
+    }
+
+    /**
+     * Marks {@code bytes} more of the log as folded in, for writers that feed appended sessions
+     * to {@link #session} themselves.
+     */
+    public void advance(long bytes) {
+        coveredBytes += bytes;
+    }
+
+    public long coveredBytes() {
+        return coveredBytes;
+    }
+
+    public int dayCount() {
+        return size;
+    }
+
+    public void forEachDay(DayVisitor visitor) {
+        for (int i = 0; i < size; i++) {
+            visitor.day(days[i], workCounts[i], workSeconds[i], breakCounts[i], breakSeconds[i]);
+        }
+    }
+
+    /**
+     * Writes the sidecar atomically, so readers never see a half-written file.
+     */
+    public void save() throws IOException {
+        Path sidecar = sidecarFor(log);
+        Path temp = Files.createTempFile(sidecar.toAbsolutePath().getParent(), sidecar.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(coveredBytes);
+                out.writeLong(tailChecksum(coveredBytes));
+                out.writeInt(size);
+                for (int i = 0; i < size; i++) {
+                    out.writeLong(days[i]);
+                    out.writeLong(workCounts[i]);
+                    out.writeLong(workSeconds[i]);
+                    out.writeLong(breakCounts[i]);
+                    out.writeLong(breakSeconds[i]);
+                }
+            }
+            try {
+                Files.move(temp, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, sidecar, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private boolean load() {
+        Path sidecar = sidecarFor(log);
+        if (!Files.exists(sidecar)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(sidecar)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                logger.info("Rebuilding session rollup {}: unknown format", sidecar);
+                return false;
+            }
+            long covered = in.readLong();
+            long checksum = in.readLong();
+            if (covered > Files.size(log) || checksum != tailChecksum(covered)) {
+                logger.info("Rebuilding session rollup {}: the log was rewritten", sidecar);
+                return false;
+            }
+            int count = in.readInt();
+            ensureCapacity(count);
+            for (int i = 0; i < count; i++) {
+                days[i] = in.readLong();
+                workCounts[i] = in.readLong();
+                workSeconds[i] = in.readLong();
+                breakCounts[i] = in.readLong();
+                breakSeconds[i] = in.readLong();
+            }
+            size = count;
+            coveredBytes = covered;
+            return true;
+        } catch (IOException e) {
+            logger.info("Rebuilding session rollup {}: {}", sidecar, e.toString());
+            size = 0;
+            coveredBytes = 0;
+            return false;
+        }
+    }
+
+    /**
+     * Folds in every complete line appended after {@link #coveredBytes}, in parallel when there
+     * is a lot of it (typically a rebuild).
+     */
+    boolean catchUp() throws IOException {
+        if (Files.size(log) <= coveredBytes) {
+            return false;
+        }
+        ParallelSessionLoader.Result<SessionRollup> result = new ParallelSessionLoader()
+                .load(log, coveredBytes, false, () -> new SessionRollup(log));
+        if (result.malformed() > 0) {
+            logger.warn("Skipped {} invalid session record(s) in {}", result.malformed(), log);
+        }
+        for (SessionRollup chunk : result.chunks()) {
+            for (int i = 0; i < chunk.size; i++) {
+                int index = indexFor(chunk.days[i]);
+                workCounts[index] += chunk.workCounts[i];
+                workSeconds[index] += chunk.workSeconds[i];
+                breakCounts[index] += chunk.breakCounts[i];
+                breakSeconds[index] += chunk.breakSeconds[i];
+            }
+        }
+        boolean advanced = result.end() > coveredBytes;
+        coveredBytes = result.end();
+        return advanced;
+    }
+
+    /**
+     * Whether the log still holds, unchanged, the bytes this rollup was built from: it is at
+     * least {@link #coveredBytes} long and the checksum window before that offset matches.
+     */
+    boolean matchesLog(long checksum) throws IOException {
+        return Files.size(log) >= coveredBytes && tailChecksum(coveredBytes) == checksum;
+    }
+
+    long tailChecksum() throws IOException {
+        return tailChecksum(coveredBytes);
+    }
+
+    private long tailChecksum(long offset) throws IOException {
+        int length = (int) Math.min(CHECKSUM_WINDOW, offset);
+        ByteBuffer window = ByteBuffer.allocate(length);
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.READ)) {
+            while (window.hasRemaining()) {
+                if (channel.read(window, offset - length + window.position()) < 0) {
+                    return -1;
+                }
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(window.flip());
+        return crc.getValue();
+    }
+
+    private int indexFor(long epochDay) {
+        // Sessions arrive in time order, so the last day is almost always the one we want
+        if (size > 0 && days[size - 1] == epochDay) {
+            return size - 1;
+        }
+        int index = size > 0 && days[size - 1] < epochDay ? size : Arrays.binarySearch(days, 0, size, epochDay);
+        if (index >= 0 && index < size) {
+            return index;
+        }
+        int insertAt = index < 0 ? -index - 1 : index;
+        ensureCapacity(size + 1);
+        int moved = size - insertAt;
+        System.arraycopy(days, insertAt, days, insertAt + 1, moved);
+        System.arraycopy(workCounts, insertAt, workCounts, insertAt + 1, moved);
+        System.arraycopy(workSeconds, insertAt, workSeconds, insertAt + 1, moved);
+        System.arraycopy(breakCounts, insertAt, breakCounts, insertAt + 1, moved);
+        System.arraycopy(breakSeconds, insertAt, breakSeconds, insertAt + 1, moved);
+        days[insertAt] = epochDay;
+        workCounts[insertAt] = 0;
+        workSeconds[insertAt] = 0;
+        breakCounts[insertAt] = 0;
+        breakSeconds[insertAt] = 0;
+        size++;
+        return insertAt;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= days.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, days.length * 2);
+        days = Arrays.copyOf(days, newLength);
+        workCounts = Arrays.copyOf(workCounts, newLength);
+        workSeconds = Arrays.copyOf(workSeconds, newLength);
+        breakCounts = Arrays.copyOf(breakCounts, newLength);
+        breakSeconds = Arrays.copyOf(breakSeconds, newLength);
+    }
+}
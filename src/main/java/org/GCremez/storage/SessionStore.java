@@ -0,0 +1,230 @@
+package org.GCremez.storage;
+
+import org.GCremez.model.Session;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Sessions packed into growable primitive arrays: start as epoch nanos ({@code long}), duration
+ * seconds ({@code int}) and type ({@code byte}). That is 13 bytes per session, where a
+ * {@code List<Session>} spends about 124 on the session, its {@link LocalDateTime} (with its date
+ * and time) and its {@link Duration}.
+ * <p>
+ * Read sessions through a {@link Cursor}, which reuses one flyweight for every position, or
+ * {@link #forEach(SessionLogParser.Visitor)}; iterating as {@code Iterable<Session>} builds a
+ * {@link Session} per element and is there for callers that need objects. Start times follow the
+ * visitor convention: the log's local date-time on the UTC timeline, which epoch nanos can hold
+ * from 1677 to 2262.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class SessionStore implements Iterable<Session>, SessionLogParser.Visitor {
+    private static final SessionType[] TYPE_VALUES = SessionType.values();
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private long[] startNanos;
+    private int[] durations;
+    private byte[] types;
+    private int size;
+
+    public SessionStore() {
+        this(16);
+    }
+
+    public SessionStore(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative, got: " + initialCapacity);
+        }
+        this.startNanos = new long[initialCapacity];
+        this.durations = new int[initialCapacity];
+        this.types = new byte[initialCapacity];
+    }
+
+    /**
+     * Appends a session.
+     *
+     * @throws IllegalArgumentException if the start or duration does not fit the packed columns
+     */
+    @Override
+    public void session(SessionType type, long startEpochSecond, int startNano, long durationSeconds) {
+        if (durationSeconds < 0 || durationSeconds > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Duration out of range: " + durationSeconds);
+        }
+        long start;
+        try {
+            start = Math.addExact(Math.multiplyExact(startEpochSecond, NANOS_PER_SECOND), startNano);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Start time out of range: " + startEpochSecond, e);
+        }
+        ensureCapacity(size + 1);
+        startNanos[size] = start;
+        durations[size] = (int) durationSeconds;
+        types[size] = (byte) type.ordinal();
+        size++;
+    }
+
+    public void add(Session session) {
+        LocalDateTime start = session.getStartTime();
+        session(session.getType(), start.toEpochSecond(ZoneOffset.UTC), start.getNano(), session.getDuration().getSeconds());
+    }
+
+    /**
+     * Appends every session of {@code other}, in order.
+     */
+    public void addAll(SessionStore other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.startNanos, 0, startNanos, size, other.size);
+        System.arraycopy(other.durations, 0, durations, size, other.size);
+        System.arraycopy(other.types, 0, types, size, other.size);
+        size += other.size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Builds the session at {@code index}.
+     */
+    public Session get(int index) {
+        checkIndex(index);
+        return toSession(index);
+    }
+
+    /**
+     * A cursor positioned before the first session.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Hands every session to {@code visitor} as primitives, in insertion order.
+     */
+    public void forEach(SessionLogParser.Visitor visitor) {
+        for (int i = 0; i < size; i++) {
+            long start = startNanos[i];
+            visitor.session(TYPE_VALUES[types[i]], Math.floorDiv(start, NANOS_PER_SECOND),
+                    (int) Math.floorMod(start, NANOS_PER_SECOND), durations[i]);
+        }
+    }
+
+    @Override
+    public Iterator<Session> iterator() {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Session next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return toSession(next++);
+            }
+        };
+    }
+
+    /**
+     * Drops spare capacity, e.g. once a load is complete.
+     */
+    public void trimToSize() {
+        if (startNanos.length > size) {
+            resize(size);
+        }
+    }
+
+    private Session toSession(int index) {
+        long start = startNanos[index];
+        return SessionLogParser.toSession(TYPE_VALUES[types[index]], Math.floorDiv(start, NANOS_PER_SECOND),
+                (int) Math.floorMod(start, NANOS_PER_SECOND), durations[index]);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > startNanos.length) {
+            resize(Math.max(capacity, startNanos.length + (startNanos.length >> 1) + 1));
+        }
+    }
+
+    private void resize(int length) {
+        startNanos = Arrays.copyOf(startNanos, length);
+        durations = Arrays.copyOf(durations, length);
+        types = Arrays.copyOf(types, length);
+    }
+
+    /**
+     * Flyweight view of one position in the store; {@link #next()} moves it along instead of
+     * creating a new object per session.
+     */
+    public final class Cursor {
+        private int index = -1;
+
+        private Cursor() {
+        }
+
+        /**
+         * Moves to the next session.
+         *
+         * @return false once past the last session
+         */
+        public boolean next() {
+            if (index < size) {
+                index++;
+            }
+            return index < size;
+        }
+
+        public SessionType type() {
+            checkIndex(index);
+            return TYPE_VALUES[types[index]];
+        }
+
+        public long startEpochSecond() {
+            checkIndex(index);
+            return Math.floorDiv(startNanos[index], NANOS_PER_SECOND);
+        }
+
+        public int startNano() {
+            checkIndex(index);
+            return (int) Math.floorMod(startNanos[index], NANOS_PER_SECOND);
+        }
+
+        public long durationSeconds() {
+            checkIndex(index);
+            return durations[index];
+        }
+
+        public LocalDateTime startTime() {
+            return LocalDateTime.ofEpochSecond(startEpochSecond(), startNano(), ZoneOffset.UTC);
+        }
+
+        public Duration duration() {
+            return Duration.ofSeconds(durationSeconds());
+        }
+
+        public Session toSession() {
+            checkIndex(index);
+            return SessionStore.this.toSession(index);
+        }
+    }
+}
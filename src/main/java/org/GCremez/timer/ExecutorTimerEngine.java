@@ -0,0 +1,98 @@
+package org.GCremez.timer;
+
+import org.GCremez.util.ExecutionMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs every timeout as its own blocking task that parks until the deadline. Meant for
+ * {@link ExecutionMode#VIRTUAL} executors, where a parked countdown costs a few hundred bytes
+ * instead of an OS thread. Cancelling interrupts the parked task.
+ */
+public final class ExecutorTimerEngine implements TimerEngine {
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorTimerEngine.class);
+
+    private final ExecutorService executor;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public ExecutorTimerEngine(ExecutorService executor) {
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    @Override
+    public Timeout schedule(long delay, TimeUnit unit, Runnable task) {
+        Objects.requireNonNull(task, "task");
+        BlockingTimeout timeout = new BlockingTimeout(task, System.nanoTime() + unit.toNanos(Math.max(0, delay)));
+        pending.incrementAndGet();
+        executor.execute(timeout.future);
+        return timeout;
+    }
+
+    @Override
+    public int pendingTimeouts() {
+        return pending.get();
+    }
+
+    /**
+     * The executor belongs to the caller, so closing the engine leaves it running.
+     */
+    @Override
+    public void close() {
+    }
+
+    private final class BlockingTimeout implements Timeout {
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+        private final FutureTask<Void> future;
+
+        private BlockingTimeout(Runnable task, long deadline) {
+            this.future = new FutureTask<>(() -> {
+                long remaining;
+                while ((remaining = deadline - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(this, remaining);
+                    if (Thread.interrupted() || state.get() != ST_INIT) {
+                        return;
+                    }
+                }
+                if (state.compareAndSet(ST_INIT, ST_EXPIRED)) {
+                    pending.decrementAndGet();
+                    try {
+                        task.run();
+                    } catch (Throwable t) {
+                        logger.warn("Timer task threw an exception", t);
+                    }
+                }
+            }, null);
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            pending.decrementAndGet();
+            future.cancel(true);
+            return true;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+    }
+}
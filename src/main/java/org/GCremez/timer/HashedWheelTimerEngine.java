@@ -0,0 +1,321 @@
+package org.GCremez.timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel that drives every countdown in the JVM from a single worker thread.
+ * <p>
+ * Scheduling and cancelling only enqueue the timeout; the worker moves it into (or out of) its
+ * bucket in O(1), so start/pause/resume/skip/stop cost the same with one timer or 100k. When
+ * nothing is scheduled the worker parks until the next {@link #schedule}, so an idle wheel uses
+ * no CPU.
+ */
+public final class HashedWheelTimerEngine implements TimerEngine {
+    private static final Logger logger = LoggerFactory.getLogger(HashedWheelTimerEngine.class);
+
+    private static final int STATE_INIT = 0;
+    private static final int STATE_STARTED = 1;
+    private static final int STATE_SHUTDOWN = 2;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final boolean closeable;
+    private final Queue<WheelTimeout> additions = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTimeout> cancellations = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Thread worker;
+    private volatile long startTime;
+    private volatile boolean idle;
+    // Only touched by the worker thread
+    private long tick;
+
+    public HashedWheelTimerEngine() {
+        this(10, TimeUnit.MILLISECONDS, 512);
+    }
+
+    public HashedWheelTimerEngine(long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        this(tickDuration, unit, ticksPerWheel, true);
+    }
+
+    private HashedWheelTimerEngine(long tickDuration, TimeUnit unit, int ticksPerWheel, boolean closeable) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be positive, got: " + tickDuration);
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+            throw new IllegalArgumentException("ticksPerWheel must be between 1 and 2^30, got: " + ticksPerWheel);
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        int size = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        this.wheel = new Bucket[Math.max(1, size)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        this.closeable = closeable;
+        this.worker = new Thread(this::run, "pomodoro-timer-wheel");
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * The JVM-wide wheel used by every {@link PomodoroTimer} that is not given its own engine.
+     * It lives as long as the JVM; {@link #close()} on it is ignored.
+     */
+    public static HashedWheelTimerEngine shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    @Override
+    public Timeout schedule(long delay, TimeUnit unit, Runnable task) {
+        Objects.requireNonNull(task, "task");
+        start();
+        long deadline = System.nanoTime() + unit.toNanos(Math.max(0, delay)) - startTime;
+        if (delay > 0 && deadline < 0) {
+            deadline = Long.MAX_VALUE;
+        }
+        WheelTimeout timeout = new WheelTimeout(task, deadline);
+        pending.incrementAndGet();
+        additions.add(timeout);
+        if (idle) {
+            LockSupport.unpark(worker);
+        }
+        return timeout;
+    }
+
+    @Override
+    public int pendingTimeouts() {
+        return pending.get();
+    }
+
+    /**
+     * The worker thread, exposed so callers can measure its CPU time.
+     */
+    public Thread workerThread() {
+        return worker;
+    }
+
+    @Override
+    public void close() {
+        if (!closeable) {
+            logger.debug("Ignoring close() on the shared timer wheel");
+            return;
+        }
+        if (state.getAndSet(STATE_SHUTDOWN) == STATE_STARTED) {
+            LockSupport.unpark(worker);
+            if (Thread.currentThread() != worker) {
+                try {
+                    worker.join(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void start() {
+        switch (state.get()) {
+            case STATE_INIT:
+                if (state.compareAndSet(STATE_INIT, STATE_STARTED)) {
+                    long now = System.nanoTime();
+                    startTime = now == 0 ? 1 : now;
+                    worker.start();
+                }
+                break;
+            case STATE_STARTED:
+                break;
+            default:
+                throw new IllegalStateException("Timer engine has been closed");
+        }
+        while (startTime == 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void run() {
+        while (state.get() == STATE_STARTED) {
+            if (pending.get() == 0) {
+                parkWhileIdle();
+                continue;
+            }
+            long deadline = waitForNextTick();
+            if (deadline > 0) {
+                processCancellations();
+                transferAdditions();
+                wheel[(int) (tick & mask)].expire(deadline);
+                tick++;
+            }
+        }
+    }
+
+    private void parkWhileIdle() {
+        processCancellations();
+        idle = true;
+        if (pending.get() == 0 && state.get() == STATE_STARTED) {
+            LockSupport.park(this);
+        }
+        idle = false;
+        // Every bucket is empty, so the wheel can jump straight to the current tick
+        tick = Math.max(tick, (System.nanoTime() - startTime) / tickNanos);
+    }
+
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long current = System.nanoTime() - startTime;
+            long sleepNanos = deadline - current;
+            if (sleepNanos <= 0) {
+                return current == Long.MIN_VALUE ? -Long.MAX_VALUE : current;
+            }
+            LockSupport.parkNanos(this, sleepNanos);
+            if (state.get() != STATE_STARTED) {
+                return Long.MIN_VALUE;
+            }
+        }
+    }
+
+    private void transferAdditions() {
+        WheelTimeout timeout;
+        while ((timeout = additions.poll()) != null) {
+            if (timeout.state.get() != WheelTimeout.ST_INIT) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void processCancellations() {
+        WheelTimeout timeout;
+        while ((timeout = cancellations.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private final class WheelTimeout implements Timeout {
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+        // Bucket bookkeeping, only touched by the worker thread
+        private long remainingRounds;
+        private WheelTimeout next;
+        private WheelTimeout prev;
+        private Bucket bucket;
+
+        private WheelTimeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            cancellations.add(this);
+            pending.decrementAndGet();
+            return true;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            pending.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                logger.warn("Timer task threw an exception", t);
+            }
+        }
+    }
+
+    private static final class Bucket {
+        private WheelTimeout head;
+        private WheelTimeout tail;
+
+        void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire(long deadline) {
+            WheelTimeout timeout = head;
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    next = remove(timeout);
+                    if (timeout.deadline <= deadline) {
+                        timeout.expire();
+                    }
+                } else if (timeout.isCancelled()) {
+                    next = remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        WheelTimeout remove(WheelTimeout timeout) {
+            WheelTimeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                if (timeout == tail) {
+                    tail = null;
+                    head = null;
+                } else {
+                    head = next;
+                }
+            } else if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            return next;
+        }
+    }
+
+    private static final class SharedHolder {
+        private static final HashedWheelTimerEngine INSTANCE =
+                new HashedWheelTimerEngine(10, TimeUnit.MILLISECONDS, 512, false);
+    }
+}
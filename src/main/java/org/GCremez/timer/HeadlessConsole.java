@@ -0,0 +1,26 @@
+package org.GCremez.timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Console for embedded and server-side timers: messages go to the debug log and there is no
+ * interactive input.
+ */
+public class HeadlessConsole implements TimerConsole {
+    private static final Logger logger = LoggerFactory.getLogger(HeadlessConsole.class);
+
+    @Override
+    public void println(String message, boolean highlight) {
+        logger.debug(message);
+    }
+
+    @Override
+    public String readLine(String prompt) {
+        return null;
+    }
+
+    @Override
+    public void close() {
+    }
+}
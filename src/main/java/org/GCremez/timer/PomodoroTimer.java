@@ -1,45 +1,54 @@
 package org.GCremez.timer;
 
+import org.GCremez.event.BackpressurePolicy;
+import org.GCremez.event.TimerEvent;
+import org.GCremez.event.TimerEventBus;
+import org.GCremez.event.TimerEventListeners;
+import org.GCremez.metrics.Counter;
+import org.GCremez.metrics.Gauge;
+import org.GCremez.metrics.Histogram;
+import org.GCremez.metrics.MetricsRegistry;
 import org.GCremez.model.Session;
 import org.GCremez.sound.SoundService;
+import org.GCremez.storage.SessionJournal;
+import org.GCremez.storage.SessionStore;
 import org.GCremez.config.ConfigManager;
-import org.jline.reader.*;
-import org.jline.terminal.Terminal;
-import org.jline.terminal.TerminalBuilder;
-import org.jline.utils.AttributedString;
-import org.jline.utils.AttributedStringBuilder;
-import org.jline.utils.AttributedStyle;
-import org.jline.utils.InfoCmp;
 import org.GCremez.service.AnalyticsService;
+import org.GCremez.util.ExecutionMode;
 
-import java.io.FileWriter;
-import java.io.IOException;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.Timer;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
 
 public class PomodoroTimer implements AutoCloseable {
     private final ConfigManager configManager;
-    private final SoundService soundService;
-    private final AnalyticsService analyticsService;
-    private final AtomicBoolean isRunning;
-    private final AtomicBoolean isPaused;
-    private Thread timerThread;
-    private SessionType currentSessionType;
-    private int sessionDurationInMinutes;
-    private int timeLeft;
-    private int focusCount;
-    private Timer timer;
+    private final AtomicReference<State> state;
     private final ExecutorService executor;
-    private final List<Session> sessionLogs;
-    private Terminal terminal;
-    private LineReader lineReader;
+    private final TimerEngine timerEngine;
+    private final LongSupplier nanoClock;
+    private final TimerEventBus eventBus;
+    private final AnalyticsService analyticsService;
+    private final boolean ownsEventBus;
+    private final long tickNanos;
+    private final SessionStore sessionLogs;
+    private final SessionJournal journal;
+    private final TimerConsole console;
     private final AtomicBoolean displayingHelp;
+    private final Histogram wakeUpDrift;
+    private final Histogram commandLatency;
+    private final Histogram sessionLength;
+    private final Gauge activeSessions;
+    private final Gauge pausedSessions;
+    private final Counter completedWorkSessions;
+    private final Counter completedBreakSessions;
+    private final Counter focusSeconds;
+    private final Counter pauses;
 
     // Available commands
     private static final String CMD_PAUSE = "pause";
@@ -49,6 +58,10 @@ public class PomodoroTimer implements AutoCloseable {
     private static final String CMD_STATUS = "status";
     private static final String CMD_SKIP = "skip";
 
+    static final List<String> COMMANDS = List.of(
+        CMD_PAUSE, CMD_RESUME, CMD_STOP, CMD_HELP, CMD_STATUS, CMD_SKIP
+    );
+
     public enum SessionType {
         WORK,
         SHORT_BREAK,
@@ -56,97 +69,207 @@ public class PomodoroTimer implements AutoCloseable {
     }
 
     public PomodoroTimer(ConfigManager configManager, SoundService soundService, AnalyticsService analyticsService) {
+        this(configManager, soundService, analyticsService, null, new TerminalConsole(configManager));
+    }
+
+    /**
+     * Creates a timer whose countdown is driven by {@code timerEngine}. The engine is not owned by the
+     * timer and is left running by {@link #close()}.
+     */
+    public PomodoroTimer(ConfigManager configManager, SoundService soundService, AnalyticsService analyticsService,
+                         TimerEngine timerEngine) {
+        this(configManager, soundService, analyticsService, timerEngine, new TerminalConsole(configManager));
+    }
+
+    /**
+     * Creates a timer that writes to {@code console}, e.g. a {@link HeadlessConsole} for embedded use.
+     * A null {@code timerEngine} is picked from {@code pomodoro.timer.engine}.
+     */
+    public PomodoroTimer(ConfigManager configManager, SoundService soundService, AnalyticsService analyticsService,
+                         TimerEngine timerEngine, TimerConsole console) {
+        this(configManager, soundService, analyticsService, null, timerEngine, console, System::nanoTime);
+    }
+
+    /**
+     * Creates a timer that publishes to a bus shared with other timers. Sound, analytics and any
+     * other sinks are whatever the caller subscribed to {@code eventBus}; the bus is not closed
+     * by {@link #close()}.
+     */
+    public PomodoroTimer(ConfigManager configManager, TimerEventBus eventBus, TimerEngine timerEngine,
+                         TimerConsole console) {
+        this(configManager, null, null, Objects.requireNonNull(eventBus, "eventBus"), timerEngine, console,
+                System::nanoTime);
+    }
+
+    // A null eventBus gives the timer a private bus with soundService and analyticsService subscribed
+    PomodoroTimer(ConfigManager configManager, SoundService soundService, AnalyticsService analyticsService,
+                  TimerEventBus eventBus, TimerEngine timerEngine, TimerConsole console, LongSupplier nanoClock) {
         this.configManager = configManager;
-        this.soundService = soundService;
+        this.state = new AtomicReference<>(new State(TimerSnapshot.initial(), null));
+        // Shared by every timer in the process; close() leaves it running
+        this.executor = ExecutionMode.fromConfig(configManager.getExecutionMode()).sharedExecutor();
+        this.timerEngine = timerEngine != null ? timerEngine : createTimerEngine(configManager, executor);
+        this.nanoClock = nanoClock;
+        this.tickNanos = TimeUnit.SECONDS.toNanos(Math.max(0, configManager.getTickIntervalSeconds()));
+        this.ownsEventBus = eventBus == null;
         this.analyticsService = analyticsService;
-        this.isRunning = new AtomicBoolean(false);
-        this.isPaused = new AtomicBoolean(false);
-        this.currentSessionType = SessionType.WORK;
-        this.sessionDurationInMinutes = 0;
-        this.timeLeft = 0;
-        this.focusCount = 0;
-        this.executor = Executors.newFixedThreadPool(2);
-        this.sessionLogs = new ArrayList<>();
+        this.eventBus = ownsEventBus ? new TimerEventBus(executor) : eventBus;
+        if (ownsEventBus) {
+            int capacity = configManager.getEventQueueCapacity();
+            BackpressurePolicy policy = BackpressurePolicy.fromConfig(configManager.getEventBackpressure());
+            this.eventBus.subscribe("sound", TimerEventListeners.soundCues(soundService), capacity, policy);
+            this.eventBus.subscribe("analytics", TimerEventListeners.analytics(analyticsService), capacity, policy);
+        }
+        this.sessionLogs = new SessionStore();
+        this.journal = SessionJournal.shared(configManager);
         this.displayingHelp = new AtomicBoolean(false);
+        this.console = console;
+        MetricsRegistry metrics = MetricsRegistry.shared();
+        this.wakeUpDrift = metrics.histogram("timer.wakeup.drift.nanos");
+        this.commandLatency = metrics.histogram("timer.command.latency.nanos");
+        this.sessionLength = metrics.histogram("timer.session.length.seconds");
+        // Shared by every timer, so exporting them costs the same however many timers run
+        this.activeSessions = metrics.gauge("timer.sessions.active");
+        this.pausedSessions = metrics.gauge("timer.sessions.paused");
+        this.completedWorkSessions = metrics.counter("timer.sessions.completed.work");
+        this.completedBreakSessions = metrics.counter("timer.sessions.completed.break");
+        this.focusSeconds = metrics.counter("timer.focus.seconds");
+        this.pauses = metrics.counter("timer.pauses");
+    }
 
-        try {
-            terminal = TerminalBuilder.builder()
-                    .system(true)
-                    .jansi(true)
-                    .build();
-                    
-            lineReader = LineReaderBuilder.builder()
-                    .terminal(terminal)
-                    .completer(new PomodoroCompleter())
-                    .option(LineReader.Option.CASE_INSENSITIVE, true)
-                    .variable(LineReader.SECONDARY_PROMPT_PATTERN, "%P > ")
-                    .variable(LineReader.HISTORY_SIZE, configManager.getCommandHistorySize())
-                    .build();
-                    
-            // Clear screen at startup if configured
-            if (configManager.shouldClearScreenOnStart()) {
-                terminal.puts(InfoCmp.Capability.clear_screen);
-                terminal.flush();
-            }
-        } catch (IOException e) {
-            System.err.println("Failed to initialize terminal: " + e.getMessage());
+    private static TimerEngine createTimerEngine(ConfigManager configManager, ExecutorService executor) {
+        if ("executor".equalsIgnoreCase(configManager.getTimerEngine())) {
+            return new ExecutorTimerEngine(executor);
         }
+        return HashedWheelTimerEngine.shared();
     }
 
     public void startWorkSession() throws InterruptedException {
-        if (!isRunning.get()) {
-            isRunning.set(true);
-            currentSessionType = SessionType.WORK;
-            soundService.playWorkSound();
-            analyticsService.logWorkSessionStart();
-            startTimer(configManager.getWorkDuration());
-        }
+        startSession(SessionType.WORK, configManager.getWorkDuration());
     }
 
     public void startBreakSession() throws InterruptedException {
-        if (!isRunning.get()) {
-            isRunning.set(true);
-            currentSessionType = SessionType.SHORT_BREAK;
-            soundService.playBreakSound();
-            analyticsService.logBreakSessionStart();
-            startTimer(configManager.getBreakDuration());
-        }
+        startSession(SessionType.SHORT_BREAK, configManager.getBreakDuration());
     }
 
     public void completeSession() {
-        if (isRunning.get()) {
-            stopTimer();
-            analyticsService.logSessionComplete();
-            logSession(currentSessionType, Duration.ofMinutes(sessionDurationInMinutes));
+        finishSession(-1);
+    }
+
+    /**
+     * Consistent view of the timer, safe to call from any thread without locking.
+     */
+    public TimerSnapshot snapshot() {
+        return state.get().snapshot();
+    }
+
+    /**
+     * The bus this timer publishes its lifecycle events to; subscribe to it to add sinks.
+     */
+    public TimerEventBus eventBus() {
+        return eventBus;
+    }
+
+    /**
+     * Time left in the current session, computed from the monotonic deadline so it never drifts.
+     */
+    public Duration getTimeRemaining() {
+        return Duration.ofNanos(snapshot().remainingNanos(nanoClock.getAsLong()));
+    }
+
+    private boolean startSession(SessionType type, int minutes) {
+        return transition(TimerEvent.Type.STARTED, (s, now) -> s.isRunning()
+                ? null
+                : s.started(type, minutes, now + TimeUnit.MINUTES.toNanos(minutes))) != null;
+    }
+
+    // Completes the given generation once its deadline passed, or any session when generation < 0
+    private void finishSession(long generation) {
+        TimerSnapshot previous = transition(TimerEvent.Type.COMPLETED, (s, now) -> {
+            if (!s.isRunning()) {
+                return null;
+            }
+            if (generation >= 0 && (s.generation() != generation || s.phase() != TimerSnapshot.Phase.RUNNING
+                    || s.deadlineNanos() > now)) {
+                return null;
+            }
+            return s.completed();
+        });
+        if (previous != null) {
+            long seconds = TimeUnit.MINUTES.toSeconds(previous.durationMinutes());
+            sessionLength.record(seconds);
+            if (previous.sessionType() == SessionType.WORK) {
+                completedWorkSessions.increment();
+                focusSeconds.add(seconds);
+            } else {
+                completedBreakSessions.increment();
+            }
+            logSession(previous.sessionType(), Duration.ofMinutes(previous.durationMinutes()));
+        }
+    }
+
+    // The only wake-up is the session deadline; status reads compute the remaining time on demand.
+    // dueNanos is when the engine was asked to run it, so the difference is the engine's drift
+    private void onWakeUp(long generation, long dueNanos) {
+        wakeUpDrift.record(nanoClock.getAsLong() - dueNanos);
+        // Tick, or engine granularity woke us early; re-arm for the rest
+        TimerSnapshot rearmed = transition(tickNanos > 0 ? TimerEvent.Type.TICK : null,
+                (s, now) -> s.phase() == TimerSnapshot.Phase.RUNNING
+                        && s.generation() == generation && s.deadlineNanos() > now ? s : null);
+        if (rearmed == null) {
+            finishSession(generation);
         }
     }
 
-    private void startTimer(int minutes) {
-        sessionDurationInMinutes = minutes;
-        timeLeft = minutes * 60;
-        timerThread = new Thread(() -> {
-            try {
-                while (timeLeft > 0 && !Thread.currentThread().isInterrupted()) {
-                    if (!isPaused.get()) {
-                        Thread.sleep(1000);
-                        timeLeft--;
-                    }
+    /**
+     * Lock-free CAS loop behind every state change. {@code transition} returns the next snapshot, or
+     * {@code null} when it does not apply. A running snapshot gets its wake-up scheduled before the
+     * swap, and the wake-up of the replaced state is cancelled once the swap wins. Returns the
+     * replaced snapshot, or {@code null} if nothing changed.
+     */
+    private TimerSnapshot transition(Transition transition) {
+        return transition(null, transition);
+    }
+
+    // As above, and publishes an event of eventType (if non-null) describing the new snapshot
+    private TimerSnapshot transition(TimerEvent.Type eventType, Transition transition) {
+        while (true) {
+            State current = state.get();
+            long now = nanoClock.getAsLong();
+            TimerSnapshot next = transition.apply(current.snapshot(), now);
+            if (next == null) {
+                return null;
+            }
+            TimerEngine.Timeout wakeUp = null;
+            if (next.phase() == TimerSnapshot.Phase.RUNNING) {
+                long generation = next.generation();
+                long delay = nextWakeUpDelay(next, now);
+                wakeUp = timerEngine.schedule(delay, TimeUnit.NANOSECONDS, () -> onWakeUp(generation, now + delay));
+            }
+            if (state.compareAndSet(current, new State(next, wakeUp))) {
+                if (current.wakeUp() != null) {
+                    current.wakeUp().cancel();
                 }
-                if (timeLeft <= 0) {
-                    completeSession();
+                trackPhase(current.snapshot(), next);
+                if (eventType != null) {
+                    eventBus.publish(new TimerEvent(eventType, next.sessionType(), next.durationMinutes(),
+                            next.remainingNanos(now), now));
                 }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+                return current.snapshot();
             }
-        });
-        timerThread.start();
+            if (wakeUp != null) {
+                wakeUp.cancel();
+            }
+        }
     }
 
-    private void stopTimer() {
-        if (timerThread != null && timerThread.isAlive()) {
-            timerThread.interrupt();
-            isRunning.set(false);
-            isPaused.set(false);
+    // Keeps the running and paused gauges in step with the transitions that won
+    private void trackPhase(TimerSnapshot previous, TimerSnapshot next) {
+        if (previous.isRunning() != next.isRunning()) {
+            activeSessions.add(next.isRunning() ? 1 : -1);
+        }
+        if (previous.isPaused() != next.isPaused()) {
+            pausedSessions.add(next.isPaused() ? 1 : -1);
         }
     }
 
@@ -162,17 +285,35 @@ public class PomodoroTimer implements AutoCloseable {
         completeSession();
     }
 
+    /**
+     * Runs {@code command} on the timer's executor instead of the caller's thread.
+     */
+    public Future<?> submitCommand(String command) {
+        return executor.submit(() -> processUserCommand(command));
+    }
+
     public void processUserCommand(String command) {
+        long started = System.nanoTime();
+        boolean promptForDuration = executeCommand(command);
+        // Time spent waiting for the user to type a new duration is not part of the command
+        commandLatency.record(System.nanoTime() - started);
+        if (promptForDuration) {
+            startNewTimerFromInput();
+        }
+    }
+
+    // Returns true when the command stopped the timer and a new duration should be read
+    private boolean executeCommand(String command) {
         switch (command.toLowerCase()) {
             case CMD_PAUSE:
-                if (isRunning.get() && !isPaused.get()) {
-                    isPaused.set(true);
+                if (transition(TimerEvent.Type.PAUSED,
+                        (s, now) -> s.phase() == TimerSnapshot.Phase.RUNNING ? s.paused(now) : null) != null) {
+                    pauses.increment();
                     printMessage("Timer paused");
                 }
                 break;
             case CMD_RESUME:
-                if (isRunning.get() && isPaused.get()) {
-                    isPaused.set(false);
+                if (transition(TimerEvent.Type.RESUMED, (s, now) -> s.isPaused() ? s.resumed(now) : null) != null) {
                     printMessage("Timer resumed");
                 }
                 break;
@@ -180,8 +321,7 @@ public class PomodoroTimer implements AutoCloseable {
                 stopSession();
                 resetTimer();
                 printMessage("Timer stopped. Enter a new duration to start again (in minutes):");
-                startNewTimerFromInput();
-                break;
+                return true;
             case CMD_HELP:
                 displayingHelp.set(true);
                 printHelp();
@@ -196,6 +336,7 @@ public class PomodoroTimer implements AutoCloseable {
             default:
                 printMessage("Invalid command: " + command);
         }
+        return false;
     }
 
     private void printHelp() {
@@ -209,38 +350,33 @@ public class PomodoroTimer implements AutoCloseable {
     }
 
     private void displayStatus() {
-        if (isRunning.get()) {
-            printMessage(String.format("Session type: %s", currentSessionType));
-            printMessage(String.format("Time remaining: %s", formatDuration(Duration.ofSeconds(timeLeft))));
-            printMessage(String.format("Status: %s", isPaused.get() ? "Paused" : "Running"));
+        TimerSnapshot snapshot = snapshot();
+        if (snapshot.isRunning()) {
+            Duration remaining = Duration.ofNanos(snapshot.remainingNanos(nanoClock.getAsLong()));
+            printMessage(String.format("Session type: %s", snapshot.sessionType()));
+            printMessage(String.format("Time remaining: %s", formatDuration(remaining)));
+            printMessage(String.format("Status: %s", snapshot.isPaused() ? "Paused" : "Running"));
         } else {
             printMessage("Timer is not running");
         }
     }
 
     private void skipCurrentSession() {
-        timeLeft = 1; // Set to 1 second to trigger completion on next tick
+        transition(TimerEvent.Type.SKIPPED, (s, now) -> s.isRunning() ? s.skipped(now) : null);
     }
 
     private void logSession(SessionType type, Duration duration) {
         Session session = new Session(type, duration, LocalDateTime.now());
-        sessionLogs.add(session);
-        if (type == SessionType.WORK) {
-            focusCount++;
+        synchronized (sessionLogs) {
+            sessionLogs.add(session);
+        }
+        if (journal != null) {
+            journal.append(session);
         }
     }
 
     private void printMessage(String message) {
-        if (!displayingHelp.get()) {
-            terminal.writer().println(new AttributedStringBuilder()
-                .style(AttributedStyle.DEFAULT.foreground(AttributedStyle.YELLOW))
-                .append(message)
-                .toAnsi());
-            terminal.writer().flush();
-        } else {
-            terminal.writer().println(message);
-            terminal.writer().flush();
-        }
+        console.println(message, !displayingHelp.get());
     }
 
     private String formatDuration(Duration duration) {
@@ -249,15 +385,15 @@ public class PomodoroTimer implements AutoCloseable {
     }
 
     private void resetTimer() {
-        timeLeft = 0;
-        sessionDurationInMinutes = 0;
-        isRunning.set(false);
-        isPaused.set(false);
+        transition((s, now) -> s.reset());
     }
 
     private void startNewTimerFromInput() {
         try {
-            String input = lineReader.readLine("Enter duration (minutes): ");
+            String input = console.readLine("Enter duration (minutes): ");
+            if (input == null) {
+                return; // Not interactive
+            }
             int duration = Integer.parseInt(input);
             if (duration > 0) {
                 startPomodoroCycle(duration);
@@ -273,39 +409,36 @@ public class PomodoroTimer implements AutoCloseable {
 
     @Override
     public void close() {
-        stopTimer();
-        executor.shutdown();
-        try {
-            if (!executor.awaitTermination(800, TimeUnit.MILLISECONDS)) {
-                executor.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            executor.shutdownNow();
-            Thread.currentThread().interrupt();
+        resetTimer();
+        if (ownsEventBus) {
+            eventBus.close();
         }
-        
-        if (terminal != null) {
-            try {
-                terminal.close();
-            } catch (IOException e) {
-                System.err.println("Error closing terminal: " + e.getMessage());
-            }
+        if (analyticsService != null) {
+            // After the bus has delivered its last events, so they are written too
+            analyticsService.flush();
         }
+        if (journal != null) {
+            // Shared with other timers, so only make sure our sessions are on disk
+            journal.flush(1, TimeUnit.SECONDS);
+        }
+        console.close();
     }
 
-    private static class PomodoroCompleter implements Completer {
-        private static final List<String> COMMANDS = Arrays.asList(
-            CMD_PAUSE, CMD_RESUME, CMD_STOP, CMD_HELP, CMD_STATUS, CMD_SKIP
-        );
-
-        @Override
-        public void complete(LineReader reader, ParsedLine line, List<Candidate> candidates) {
-            String word = line.word().toLowerCase();
-            for (String command : COMMANDS) {
-                if (command.startsWith(word)) {
-                    candidates.add(new Candidate(command));
-                }
-            }
+    // Deadline, or the next whole tick interval before it so ticks stay aligned to the deadline
+    private long nextWakeUpDelay(TimerSnapshot snapshot, long now) {
+        long remaining = Math.max(0, snapshot.deadlineNanos() - now);
+        if (tickNanos > 0 && remaining > tickNanos) {
+            long untilTick = remaining % tickNanos;
+            return untilTick == 0 ? tickNanos : untilTick;
         }
+        return remaining;
+    }
+
+    @FunctionalInterface
+    private interface Transition {
+        TimerSnapshot apply(TimerSnapshot current, long nowNanos);
+    }
+
+    private record State(TimerSnapshot snapshot, TimerEngine.Timeout wakeUp) {
     }
 }
@@ -0,0 +1,123 @@
+package org.GCremez.timer;
+
+import org.GCremez.config.ConfigManager;
+import org.jline.reader.*;
+import org.jline.terminal.Terminal;
+import org.jline.terminal.TerminalBuilder;
+import org.jline.utils.AttributedStringBuilder;
+import org.jline.utils.AttributedStyle;
+import org.jline.utils.InfoCmp;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * JLine front-end for an interactive timer. The terminal and line reader are built on the first
+ * message or prompt, not when the timer is constructed.
+ */
+public class TerminalConsole implements TimerConsole {
+    private final ConfigManager configManager;
+    private Terminal terminal;
+    private LineReader lineReader;
+    private boolean initialized;
+
+    public TerminalConsole(ConfigManager configManager) {
+        this.configManager = configManager;
+    }
+
+    @Override
+    public synchronized void println(String message, boolean highlight) {
+        initialize();
+        if (terminal == null) {
+            System.out.println(message);
+            return;
+        }
+        PrintWriter writer = terminal.writer();
+        if (highlight) {
+            writer.println(new AttributedStringBuilder()
+                .style(AttributedStyle.DEFAULT.foreground(AttributedStyle.YELLOW))
+                .append(message)
+                .toAnsi());
+        } else {
+            writer.println(message);
+        }
+        writer.flush();
+    }
+
+    @Override
+    public String readLine(String prompt) {
+        LineReader reader;
+        synchronized (this) {
+            initialize();
+            reader = lineReader;
+        }
+        if (reader == null) {
+            return null;
+        }
+        try {
+            return reader.readLine(prompt);
+        } catch (UserInterruptException | EndOfFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Whether the JLine terminal has been built yet.
+     */
+    public synchronized boolean isInitialized() {
+        return initialized;
+    }
+
+    private void initialize() {
+        if (initialized) {
+            return;
+        }
+        initialized = true;
+        try {
+            terminal = TerminalBuilder.builder()
+                    .system(true)
+                    .jansi(true)
+                    .build();
+
+            lineReader = LineReaderBuilder.builder()
+                    .terminal(terminal)
+                    .completer(new PomodoroCompleter())
+                    .option(LineReader.Option.CASE_INSENSITIVE, true)
+                    .variable(LineReader.SECONDARY_PROMPT_PATTERN, "%P > ")
+                    .variable(LineReader.HISTORY_SIZE, configManager.getCommandHistorySize())
+                    .build();
+
+            // Clear screen at startup if configured
+            if (configManager.shouldClearScreenOnStart()) {
+                terminal.puts(InfoCmp.Capability.clear_screen);
+                terminal.flush();
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to initialize terminal: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (terminal != null) {
+            try {
+                terminal.close();
+            } catch (IOException e) {
+                System.err.println("Error closing terminal: " + e.getMessage());
+            }
+        }
+    }
+
+    private static class PomodoroCompleter implements Completer {
+        @Override
+        public void complete(LineReader reader, ParsedLine line, List<Candidate> candidates) {
+            String word = line.word().toLowerCase();
+            for (String command : PomodoroTimer.COMMANDS) {
+                if (command.startsWith(word)) {
+                    candidates.add(new Candidate(command));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.GCremez.timer;
+
+/**
+ * Where {@link PomodoroTimer} writes its messages and reads interactive input. The timer itself
+ * never touches a terminal, so it can run headless inside a server or test.
+ */
+public interface TimerConsole extends AutoCloseable {
+
+    /**
+     * Prints one line, styled when {@code highlight} is set and the console supports it.
+     */
+    void println(String message, boolean highlight);
+
+    /**
+     * Reads one line of input, or returns {@code null} if the console is not interactive.
+     */
+    String readLine(String prompt);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,35 @@
+package org.GCremez.timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives countdown wake-ups for {@link PomodoroTimer}. Implementations are expected to be
+ * shared by many timers, so scheduling and cancelling must be cheap and never block.
+ */
+public interface TimerEngine extends AutoCloseable {
+
+    /**
+     * Schedules {@code task} to run once after {@code delay}. The task runs on an engine thread
+     * and must not block.
+     */
+    Timeout schedule(long delay, TimeUnit unit, Runnable task);
+
+    /**
+     * Number of timeouts that are scheduled and have neither fired nor been cancelled.
+     */
+    int pendingTimeouts();
+
+    @Override
+    void close();
+
+    interface Timeout {
+        /**
+         * Cancels the timeout. Returns {@code false} if it already fired or was cancelled.
+         */
+        boolean cancel();
+
+        boolean isExpired();
+
+        boolean isCancelled();
+    }
+}
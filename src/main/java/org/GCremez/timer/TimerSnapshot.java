@@ -0,0 +1,79 @@
+package org.GCremez.timer;
+
+import org.GCremez.timer.PomodoroTimer.SessionType;
+
+/**
+ * Immutable view of a {@link PomodoroTimer}. Every transition publishes a whole new snapshot with a
+ * single CAS, so any number of readers see session type, remaining time and counters that belong
+ * together, without taking a lock.
+ *
+ * @param deadlineNanos        monotonic deadline while {@link Phase#RUNNING}
+ * @param pausedRemainingNanos time left while {@link Phase#PAUSED}
+ * @param generation           incremented on every session start, so stale wake-ups can be ignored
+ */
+public record TimerSnapshot(Phase phase,
+                            SessionType sessionType,
+                            int durationMinutes,
+                            long deadlineNanos,
+                            long pausedRemainingNanos,
+                            int focusCount,
+                            long generation) {
+
+    public enum Phase {
+        IDLE,
+        RUNNING,
+        PAUSED
+    }
+
+    static TimerSnapshot initial() {
+        return new TimerSnapshot(Phase.IDLE, SessionType.WORK, 0, 0, 0, 0, 0);
+    }
+
+    public boolean isRunning() {
+        return phase != Phase.IDLE;
+    }
+
+    public boolean isPaused() {
+        return phase == Phase.PAUSED;
+    }
+
+    public long remainingNanos(long nowNanos) {
+        switch (phase) {
+            case RUNNING:
+                return Math.max(0, deadlineNanos - nowNanos);
+            case PAUSED:
+                return pausedRemainingNanos;
+            default:
+                return 0;
+        }
+    }
+
+    TimerSnapshot started(SessionType type, int minutes, long deadline) {
+        return new TimerSnapshot(Phase.RUNNING, type, minutes, deadline, 0, focusCount, generation + 1);
+    }
+
+    TimerSnapshot paused(long nowNanos) {
+        return new TimerSnapshot(Phase.PAUSED, sessionType, durationMinutes, deadlineNanos,
+                Math.max(0, deadlineNanos - nowNanos), focusCount, generation);
+    }
+
+    TimerSnapshot resumed(long nowNanos) {
+        return new TimerSnapshot(Phase.RUNNING, sessionType, durationMinutes, nowNanos + pausedRemainingNanos,
+                0, focusCount, generation);
+    }
+
+    TimerSnapshot skipped(long nowNanos) {
+        return phase == Phase.PAUSED
+                ? new TimerSnapshot(Phase.PAUSED, sessionType, durationMinutes, deadlineNanos, 0, focusCount, generation)
+                : new TimerSnapshot(Phase.RUNNING, sessionType, durationMinutes, nowNanos, 0, focusCount, generation);
+    }
+
+    TimerSnapshot completed() {
+        int focus = sessionType == SessionType.WORK ? focusCount + 1 : focusCount;
+        return new TimerSnapshot(Phase.IDLE, sessionType, durationMinutes, 0, 0, focus, generation);
+    }
+
+    TimerSnapshot reset() {
+        return new TimerSnapshot(Phase.IDLE, sessionType, 0, 0, 0, focusCount, generation);
+    }
+}
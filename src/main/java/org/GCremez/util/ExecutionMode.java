@@ -0,0 +1,62 @@
+package org.GCremez.util;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Which kind of thread runs blocking work: countdowns on the executor timer engine, sound
+ * playback and submitted commands. Selected by {@code pomodoro.execution.mode}.
+ */
+public enum ExecutionMode {
+    PLATFORM,
+    VIRTUAL;
+
+    public static ExecutionMode fromConfig(String value) {
+        if (value == null || value.isBlank()) {
+            return PLATFORM;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown execution mode: " + value + ". Use 'platform' or 'virtual'.", e);
+        }
+    }
+
+    public ThreadFactory threadFactory(String namePrefix) {
+        switch (this) {
+            case VIRTUAL:
+                return Thread.ofVirtual().name(namePrefix + "-", 0).factory();
+            default:
+                return Thread.ofPlatform().name(namePrefix + "-", 0).daemon(true).factory();
+        }
+    }
+
+    /**
+     * The process-wide executor for this mode, created on first use and shared by every timer, so
+     * PLATFORM mode costs one pool (idle threads expire after 60 seconds) however many timers run.
+     * Its threads are daemons; callers must not shut it down.
+     */
+    public ExecutorService sharedExecutor() {
+        return this == VIRTUAL ? VirtualHolder.EXECUTOR : PlatformHolder.EXECUTOR;
+    }
+
+    public ExecutorService newExecutor(String namePrefix) {
+        switch (this) {
+            case VIRTUAL:
+                return Executors.newThreadPerTaskExecutor(threadFactory(namePrefix));
+            default:
+                return Executors.newCachedThreadPool(threadFactory(namePrefix));
+        }
+    }
+
+    // Separate holders so using one mode never creates the other's executor
+    private static final class PlatformHolder {
+        static final ExecutorService EXECUTOR = PLATFORM.newExecutor("pomodoro-shared");
+    }
+
+    private static final class VirtualHolder {
+        static final ExecutorService EXECUTOR = VIRTUAL.newExecutor("pomodoro-shared");
+    }
+}
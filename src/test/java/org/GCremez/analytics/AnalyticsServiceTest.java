@@ -1,6 +1,12 @@
 package org.GCremez.analytics;
 
+import org.GCremez.config.ConfigManager;
 import org.GCremez.model.Session;
+import org.GCremez.storage.SessionEncoder;
+import org.GCremez.storage.FsyncPolicy;
+import org.GCremez.storage.SessionJournal;
+import org.GCremez.storage.SessionLogParser;
+import org.GCremez.timer.PomodoroTimer.SessionType;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import static org.junit.jupiter.api.Assertions.*;
@@ -8,17 +14,21 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 class AnalyticsServiceTest {
     
     @Test
-    void testPrintStatsWithNoFile() {
+    void testPrintStatsWithNoFile(@TempDir Path tempDir) {
         // Should not throw exception when file doesn't exist
         assertDoesNotThrow(() -> {
-            AnalyticsService.printStats();
+            AnalyticsService.printStats(tempDir.resolve("Session_log.json"), 5);
         });
     }
     
@@ -35,10 +45,78 @@ class AnalyticsServiceTest {
         
         // Should handle corrupt files gracefully
         assertDoesNotThrow(() -> {
-            AnalyticsService.printStats();
+            AnalyticsService.printStats(testLog.toPath(), 5);
         });
     }
     
+    @Test
+    void testComputeStatsAggregatesInOnePass(@TempDir Path tempDir) throws IOException {
+        Path log = tempDir.resolve("Session_log.json");
+        LocalDate today = LocalDate.of(2024, 3, 10);
+        try (FileWriter writer = new FileWriter(log.toFile())) {
+            writer.write(SessionEncoder.toJson(new Session(SessionType.WORK, Duration.ofMinutes(25), today.minusDays(1).atTime(9, 0))) + "\n");
+            writer.write(SessionEncoder.toJson(new Session(SessionType.SHORT_BREAK, Duration.ofMinutes(5), today.minusDays(1).atTime(9, 25))) + "\n");
+            writer.write("invalid json\n");
+            for (int i = 0; i < 6; i++) {
+                writer.write(SessionEncoder.toJson(new Session(SessionType.WORK, Duration.ofMinutes(50), today.atTime(10 + i, 0))) + "\n");
+            }
+            writer.write(SessionEncoder.toJson(new Session(SessionType.LONG_BREAK, Duration.ofMinutes(15), today.atTime(17, 0))) + "\n");
+        }
+
+        SessionStats stats = AnalyticsService.computeStats(log, today, 5);
+
+        assertEquals(7, stats.workCount());
+        assertEquals(2, stats.breakCount());
+        assertEquals(Duration.ofMinutes(325), stats.totalWorkTime());
+        assertEquals(Duration.ofMinutes(20), stats.totalBreakTime());
+        assertEquals(Duration.ofSeconds(325 * 60 / 7), stats.averageWorkTime());
+        assertEquals(Duration.ofMinutes(10), stats.averageBreakTime());
+        assertEquals(6, stats.todayCount());
+        assertEquals(Duration.ofMinutes(300), stats.todayWorkTime());
+
+        List<Session> recent = stats.recentSessions();
+        assertEquals(5, recent.size());
+        assertEquals(today.atTime(12, 0), recent.get(0).getStartTime());
+        assertEquals(SessionType.LONG_BREAK, recent.get(4).getType());
+
+        List<Session> between = new ArrayList<>();
+        AnalyticsService.forEachSessionBetween(log, today.atTime(11, 0), today.atTime(14, 0),
+                (type, second, nano, duration) -> between.add(SessionLogParser.toSession(type, second, nano, duration)));
+        assertEquals(3, between.size());
+        assertEquals(today.atTime(11, 0), between.get(0).getStartTime());
+
+        SessionStats scanned = AnalyticsService.scanStats(log, today, 5);
+        assertEquals(stats.workCount(), scanned.workCount());
+        assertEquals(stats.totalBreakTime(), scanned.totalBreakTime());
+        assertEquals(stats.todayWorkTime(), scanned.todayWorkTime());
+        assertEquals(recent.get(0).getStartTime(), scanned.recentSessions().get(0).getStartTime());
+    }
+
+    @Test
+    void testQueriesTheConfiguredSegmentedLog(@TempDir Path tempDir) throws IOException {
+        Path segments = tempDir.resolve("segments");
+        Path config = Files.writeString(tempDir.resolve("application.conf"),
+                "pomodoro.analytics.session-segments-dir = \"" + segments + "\"\n"
+                        + "pomodoro.analytics.max-recent-sessions = 3\n");
+        ConfigManager configManager = new ConfigManager(config);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 31, 9, 0);
+        try (SessionJournal journal = SessionJournal.segmented(segments, FsyncPolicy.OS, 1000, 64)) {
+            for (int i = 0; i < 4; i++) {
+                journal.append(new Session(SessionType.WORK, Duration.ofMinutes(25), start.plusHours(12L * i)));
+            }
+        }
+
+        assertEquals(segments.toAbsolutePath().normalize(), SessionJournal.location(configManager));
+        List<Session> sessions = AnalyticsService.sessionsBetween(configManager, start, start.plusDays(2));
+        assertEquals(4, sessions.size());
+        assertEquals(start.plusHours(36), sessions.get(3).getStartTime());
+        SessionStats stats = AnalyticsService.computeStats(SessionJournal.location(configManager),
+                start.toLocalDate(), configManager.getMaxRecentSessions());
+        assertEquals(4, stats.workCount());
+        assertEquals(3, stats.recentSessions().size());
+        assertDoesNotThrow(() -> AnalyticsService.printStats(configManager));
+    }
+
     @Test
     void testFormatDuration() {
         assertEquals("25m", AnalyticsService.formatDuration(Duration.ofMinutes(25)));
@@ -1,5 +1,6 @@
 package org.GCremez.config;
 
+import org.GCremez.exception.ConfigurationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -8,7 +9,11 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 class ConfigManagerTest {
     private ConfigManager configManager;
@@ -70,4 +75,88 @@ class ConfigManagerTest {
         configFile.delete();
         configManager = new ConfigManager(); // Create a new instance to load default configuration
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testReloadAppliesValidChangesAndRejectsInvalidOnes(@TempDir Path tempDir) throws IOException {
+        Path userConfig = tempDir.resolve("application.conf");
+        Files.writeString(userConfig, "pomodoro.sound.volume = 0.5\n");
+        ConfigManager manager = new ConfigManager(userConfig);
+        assertEquals(0.5, manager.getSoundVolume(), 0.001);
+
+        Files.writeString(userConfig, "pomodoro.sound.volume = 0.25\npomodoro.timer.default-work-duration = 40\n");
+        assertTrue(manager.reload());
+        assertEquals(0.25, manager.getSoundVolume(), 0.001);
+        assertEquals(40, manager.getDefaultWorkDuration());
+
+        ConfigSnapshot valid = manager.snapshot();
+        Files.writeString(userConfig, "pomodoro.sound.volume = 3.0\n");
+        assertFalse(manager.reload());
+        Files.writeString(userConfig, "pomodoro { sound {\n");
+        assertFalse(manager.reload());
+        assertSame(valid, manager.snapshot());
+    }
+
+    @Test
+    void testReloadListenersSeeOnlyAppliedChanges(@TempDir Path tempDir) throws IOException {
+        Path userConfig = tempDir.resolve("application.conf");
+        Files.writeString(userConfig, "pomodoro.sound.enabled = false\n");
+        ConfigManager manager = new ConfigManager(userConfig);
+        List<ConfigSnapshot> seen = new ArrayList<>();
+        manager.addReloadListener(seen::add);
+
+        assertTrue(manager.reload());
+        assertTrue(seen.isEmpty());
+
+        Files.writeString(userConfig, "pomodoro.sound.enabled = true\n");
+        assertTrue(manager.reload());
+        assertEquals(List.of(manager.snapshot()), seen);
+
+        Files.writeString(userConfig, "pomodoro.sound.volume = 3.0\n");
+        assertFalse(manager.reload());
+        assertEquals(1, seen.size());
+    }
+
+    @Test
+    void testReloadRejectsUnknownNames(@TempDir Path tempDir) throws IOException {
+        Path userConfig = tempDir.resolve("application.conf");
+        Files.writeString(userConfig, "pomodoro.execution.mode = \"virtual\"\n");
+        ConfigManager manager = new ConfigManager(userConfig);
+        ConfigSnapshot valid = manager.snapshot();
+
+        for (String setting : List.of(
+                "pomodoro.execution.mode = \"virtul\"",
+                "pomodoro.timer.engine = \"wheels\"",
+                "pomodoro.events.backpressure = \"discard\"",
+                "pomodoro.analytics.journal.fsync = \"never\"")) {
+            Files.writeString(userConfig, setting + "\n");
+            assertFalse(manager.reload(), setting);
+        }
+        assertSame(valid, manager.snapshot());
+        assertEquals("virtual", manager.getExecutionMode());
+    }
+
+    @Test
+    void testRejectsInvalidInitialConfiguration(@TempDir Path tempDir) throws IOException {
+        Path userConfig = tempDir.resolve("application.conf");
+        Files.writeString(userConfig, "pomodoro.timer.short-break-duration = 0\n");
+
+        assertThrows(ConfigurationException.class, () -> new ConfigManager(userConfig));
+    }
+
+    @Test
+    void testWatcherPicksUpEdits(@TempDir Path tempDir) throws Exception {
+        Path userConfig = tempDir.resolve("application.conf");
+        try (ConfigManager manager = new ConfigManager(userConfig)) {
+            manager.startWatching();
+            assertEquals(25, manager.getDefaultWorkDuration());
+
+            Files.writeString(userConfig, "pomodoro.timer.default-work-duration = 45\n");
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (manager.getDefaultWorkDuration() != 45 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(45, manager.getDefaultWorkDuration());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package org.GCremez.event;
+
+import org.GCremez.util.ExecutionMode;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+class TimerEventBusTest {
+    private ExecutorService executor;
+    private TimerEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        executor = ExecutionMode.VIRTUAL.newExecutor("test-events");
+        bus = new TimerEventBus(executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testSlowListenerDoesNotStallPublisherOrOtherListeners() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastDelivered = new CountDownLatch(100);
+        bus.subscribe("slow", event -> awaitQuietly(release), 16, BackpressurePolicy.DROP);
+        bus.subscribe("fast", event -> fastDelivered.countDown(), 128, BackpressurePolicy.BLOCK);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            bus.publish(event(TimerEvent.Type.TICK, i));
+        }
+        long publishMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(fastDelivered.await(1, TimeUnit.SECONDS));
+        assertTrue(publishMillis < 500, "publishing took " + publishMillis + "ms");
+        TimerEventBus.SubscriptionMetrics slow = bus.metrics().get(0);
+        assertEquals(100, slow.published());
+        assertTrue(slow.dropped() > 0);
+
+        release.countDown();
+        assertTrue(bus.flush(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testCoalesceKeepsNewestOverflowingEvent() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> seen = new CopyOnWriteArrayList<>();
+        bus.subscribe("coalescing", event -> {
+            awaitQuietly(release);
+            seen.add(event.remainingNanos());
+        }, 4, BackpressurePolicy.COALESCE);
+
+        for (int i = 0; i < 50; i++) {
+            bus.publish(event(TimerEvent.Type.TICK, i));
+        }
+        release.countDown();
+        assertTrue(bus.flush(1, TimeUnit.SECONDS));
+
+        assertEquals(49L, seen.get(seen.size() - 1));
+        TimerEventBus.SubscriptionMetrics metrics = bus.metrics().get(0);
+        assertTrue(metrics.coalesced() > 0);
+        assertEquals(0, metrics.queueDepth());
+    }
+
+    @Test
+    void testCoalesceKeepsLifecycleEventsInOrder() {
+        // Nothing is delivered until the queued drain tasks are run by hand
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        TimerEventBus manual = new TimerEventBus(tasks::add);
+        List<TimerEvent.Type> seen = new ArrayList<>();
+        manual.subscribe("analytics", event -> seen.add(event.type()), 4, BackpressurePolicy.COALESCE);
+
+        List<TimerEvent.Type> published = List.of(TimerEvent.Type.STARTED, TimerEvent.Type.TICK,
+                TimerEvent.Type.TICK, TimerEvent.Type.PAUSED, TimerEvent.Type.TICK, TimerEvent.Type.TICK,
+                TimerEvent.Type.TICK, TimerEvent.Type.RESUMED, TimerEvent.Type.COMPLETED, TimerEvent.Type.STARTED);
+        for (TimerEvent.Type type : published) {
+            manual.publish(event(type, 0));
+        }
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+
+        assertEquals(List.of(TimerEvent.Type.STARTED, TimerEvent.Type.TICK, TimerEvent.Type.TICK,
+                TimerEvent.Type.PAUSED, TimerEvent.Type.TICK, TimerEvent.Type.RESUMED,
+                TimerEvent.Type.COMPLETED, TimerEvent.Type.STARTED), seen);
+        TimerEventBus.SubscriptionMetrics metrics = manual.metrics().get(0);
+        assertEquals(2, metrics.coalesced());
+        assertEquals(0, metrics.dropped());
+    }
+
+    @Test
+    void testCoalesceOverflowIsBounded() {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        TimerEventBus manual = new TimerEventBus(tasks::add);
+        List<TimerEvent.Type> seen = new ArrayList<>();
+        manual.subscribe("stalled", event -> seen.add(event.type()), 2, BackpressurePolicy.COALESCE);
+
+        for (int i = 0; i < 10; i++) {
+            manual.publish(event(i % 2 == 0 ? TimerEvent.Type.PAUSED : TimerEvent.Type.RESUMED, i));
+        }
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+
+        // Two in the ring and two overflowing; the rest are dropped rather than queued without limit
+        assertEquals(List.of(TimerEvent.Type.PAUSED, TimerEvent.Type.RESUMED, TimerEvent.Type.PAUSED,
+                TimerEvent.Type.RESUMED), seen);
+        TimerEventBus.SubscriptionMetrics metrics = manual.metrics().get(0);
+        assertEquals(6, metrics.dropped());
+        assertEquals(4, metrics.delivered());
+    }
+
+    @Test
+    void testFailingListenerIsIsolated() throws InterruptedException {
+        CountDownLatch delivered = new CountDownLatch(3);
+        bus.subscribe("failing", event -> {
+            throw new IllegalStateException("boom");
+        }, 16, BackpressurePolicy.DROP);
+        bus.subscribe("healthy", event -> delivered.countDown(), 16, BackpressurePolicy.DROP);
+
+        bus.publish(event(TimerEvent.Type.STARTED, 0));
+        bus.publish(event(TimerEvent.Type.PAUSED, 0));
+        bus.publish(event(TimerEvent.Type.COMPLETED, 0));
+
+        assertTrue(delivered.await(1, TimeUnit.SECONDS));
+        assertTrue(bus.flush(1, TimeUnit.SECONDS));
+        assertEquals(3, bus.metrics().get(0).delivered());
+    }
+
+    private static TimerEvent event(TimerEvent.Type type, long remaining) {
+        return new TimerEvent(type, SessionType.WORK, 25, remaining, System.nanoTime());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.GCremez.metrics;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+class HistogramTest {
+
+    @Test
+    void testBucketsAreContiguousAndWithinSixPercent() {
+        for (int bucket = 1; bucket < Histogram.BUCKETS; bucket++) {
+            assertEquals(Histogram.upperBound(bucket - 1) + 1, lowerBound(bucket), "bucket " + bucket);
+        }
+        assertEquals(Long.MAX_VALUE, Histogram.upperBound(Histogram.BUCKETS - 1));
+        for (long value : new long[]{0, 1, 15, 16, 17, 100, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = Histogram.bucketOf(value);
+            assertTrue(lowerBound(bucket) <= value && value <= Histogram.upperBound(bucket), "value " + value);
+            assertTrue(Histogram.upperBound(bucket) - lowerBound(bucket) <= value / 16, "value " + value);
+        }
+    }
+
+    @Test
+    void testPercentilesAndSummary() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L);
+        }
+        histogram.record(-5);
+
+        Histogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1001, snapshot.count());
+        assertEquals(1_000_000L, snapshot.max());
+        assertEquals(500_500_000L / 1001.0, snapshot.mean(), 0.001);
+        assertEquals(500_000, snapshot.percentile(50), 500_000 / 16.0);
+        assertEquals(990_000, snapshot.percentile(99), 990_000 / 16.0);
+        assertEquals(1_000_000L, snapshot.percentile(100));
+        assertEquals(0, snapshot.percentile(0));
+        assertEquals(1, snapshot.countAtOrBelow(0));
+    }
+
+    @Test
+    void testConcurrentRecordingLosesNothing() throws InterruptedException {
+        Histogram histogram = new Histogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    histogram.record(i);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Histogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(200_000, snapshot.count());
+        assertEquals(4L * 49_999 * 50_000 / 2, snapshot.sum());
+        assertEquals(49_999, snapshot.max());
+    }
+
+    @Test
+    void testRecordingDoesNotAllocate() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Histogram histogram = new Histogram();
+        Counter counter = new Counter();
+        for (int i = 0; i < 100_000; i++) {
+            histogram.record(i);
+            counter.increment();
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100_000; i++) {
+            histogram.record(i * 31L);
+            counter.increment();
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Allow for the measurement itself, not for anything per call
+        assertTrue(allocated < 1024, "allocated " + allocated + " bytes");
+    }
+
+    private static long lowerBound(int bucket) {
+        return bucket == 0 ? 0 : Histogram.upperBound(bucket - 1) + 1;
+    }
+}
@@ -0,0 +1,37 @@
+package org.GCremez.metrics;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+class MetricsHttpServerTest {
+
+    @Test
+    void testServesMetricsInPrometheusFormat() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("timer.sessions.completed.work").add(7);
+        try (MetricsHttpServer server = MetricsHttpServer.start("127.0.0.1", 0, registry)) {
+            URI uri = URI.create("http://127.0.0.1:" + server.address().getPort() + MetricsHttpServer.PATH);
+            HttpClient client = HttpClient.newHttpClient();
+
+            HttpResponse<String> first = client.send(HttpRequest.newBuilder(uri).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            registry.counter("timer.sessions.completed.work").increment();
+            HttpResponse<String> second = client.send(HttpRequest.newBuilder(uri).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> post = client.send(
+                    HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(200, first.statusCode());
+            assertEquals(PrometheusFormat.CONTENT_TYPE, first.headers().firstValue("Content-Type").orElseThrow());
+            assertTrue(first.body().contains("pomodoro_timer_sessions_completed_work_total 7\n"), first.body());
+            assertTrue(second.body().contains("pomodoro_timer_sessions_completed_work_total 8\n"), second.body());
+            assertEquals(405, post.statusCode());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.GCremez.metrics;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+class MetricsRegistryTest {
+
+    @Test
+    void testLookupsReturnTheSameMetric() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        assertSame(registry.counter("a.count"), registry.counter("a.count"));
+        assertSame(registry.histogram("a.nanos"), registry.histogram("a.nanos"));
+    }
+
+    @Test
+    void testSnapshotIsSortedAndDetached() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("b.count").add(3);
+        registry.counter("a.count").increment();
+        registry.histogram("c.nanos").record(42);
+
+        MetricsRegistry.Snapshot snapshot = registry.snapshot();
+        registry.counter("a.count").increment();
+        registry.histogram("c.nanos").record(43);
+
+        assertEquals(List.of("a.count", "b.count"), List.copyOf(snapshot.counters().keySet()));
+        assertEquals(1, snapshot.counter("a.count"));
+        assertEquals(0, snapshot.counter("missing"));
+        assertEquals(1, snapshot.histograms().get("c.nanos").count());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.counters().put("x", 1L));
+    }
+
+    @Test
+    void testRateBetweenSnapshots() throws InterruptedException {
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricsRegistry.Snapshot before = registry.snapshot();
+        registry.counter("records").add(1_000);
+        Thread.sleep(10);
+        MetricsRegistry.Snapshot after = registry.snapshot();
+
+        double rate = after.rate("records", before);
+        assertTrue(rate > 0 && rate <= 1_000 / 0.010, "rate " + rate);
+    }
+}
@@ -0,0 +1,60 @@
+package org.GCremez.metrics;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+class PrometheusFormatTest {
+
+    @Test
+    void testRendersCountersGaugesAndSummaries() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("timer.pauses").add(3);
+        registry.gauge("timer.sessions.active").add(2);
+        Histogram latency = registry.histogram("sound.cue.start.nanos");
+        for (int i = 1; i <= 100; i++) {
+            latency.record(i * 1_000_000L);
+        }
+        registry.histogram("timer.session.length.seconds").record(1500);
+
+        PrometheusFormat format = new PrometheusFormat();
+        format.render(registry);
+        String text = new String(format.bytes(), 0, format.length(), StandardCharsets.US_ASCII);
+
+        assertEquals(format.toString(), text);
+        assertTrue(text.contains("# TYPE pomodoro_timer_pauses_total counter\npomodoro_timer_pauses_total 3\n"), text);
+        assertTrue(text.contains("# TYPE pomodoro_timer_sessions_active gauge\npomodoro_timer_sessions_active 2\n"), text);
+        assertTrue(text.contains("# TYPE pomodoro_sound_cue_start_seconds summary\n"), text);
+        assertTrue(text.contains("pomodoro_sound_cue_start_seconds_count 100\n"), text);
+        assertTrue(text.contains("pomodoro_sound_cue_start_seconds_sum 5.05\n"), text);
+        assertTrue(text.contains("pomodoro_sound_cue_start_seconds{quantile=\"0.99\"} 0.1\n"), text);
+        assertTrue(text.contains("pomodoro_timer_session_length_seconds{quantile=\"0.5\"} 1500\n"), text);
+    }
+
+    @Test
+    void testRepeatedRendersReuseTheirBuffers() {
+        MetricsRegistry registry = new MetricsRegistry();
+        for (int i = 0; i < 20; i++) {
+            registry.counter("counter." + i).add(i);
+            registry.histogram("latency." + i + ".nanos").record(i * 1000L);
+        }
+        PrometheusFormat format = new PrometheusFormat();
+        for (int i = 0; i < 200; i++) {
+            format.render(registry);
+        }
+
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100; i++) {
+            format.render(registry);
+        }
+        long perRender = (threads.getCurrentThreadAllocatedBytes() - before) / 100;
+
+        // The text alone is several KB; only iteration and number formatting garbage remains
+        assertTrue(format.length() > 4000);
+        assertTrue(perRender < 2048, "allocated " + perRender + " bytes per render");
+    }
+}
@@ -1,5 +1,7 @@
 package org.GCremez.model;
 
+import org.GCremez.storage.SessionEncoder;
+import org.GCremez.storage.SessionLogParser;
 import org.GCremez.timer.PomodoroTimer.SessionType;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,8 +28,8 @@ class SessionTest {
         Duration duration = Duration.ofMinutes(25);
         Session session = new Session(SessionType.WORK, duration, now);
         
-        String json = session.toJson();
-        Session deserialized = Session.fromJson(json);
+        String json = SessionEncoder.toJson(session);
+        Session deserialized = SessionLogParser.fromJson(json);
         
         assertNotNull(deserialized);
         assertEquals(session.getType(), deserialized.getType());
@@ -38,8 +40,8 @@ class SessionTest {
     @Test
     void testJsonEscaping() {
         Session session = new Session(SessionType.WORK, Duration.ofMinutes(25), LocalDateTime.now());
-        String json = session.toJson();
-        Session deserialized = Session.fromJson(json);
+        String json = SessionEncoder.toJson(session);
+        Session deserialized = SessionLogParser.fromJson(json);
         
         assertNotNull(deserialized);
         assertEquals(SessionType.WORK, deserialized.getType());
@@ -47,8 +49,8 @@ class SessionTest {
     
     @Test
     void testInvalidJson() {
-        assertNull(Session.fromJson("invalid json"));
-        assertNull(Session.fromJson("{invalid:json}"));
-        assertNull(Session.fromJson(null));
+        assertNull(SessionLogParser.fromJson("invalid json"));
+        assertNull(SessionLogParser.fromJson("{invalid:json}"));
+        assertNull(SessionLogParser.fromJson(null));
     }
 } 
\ No newline at end of file
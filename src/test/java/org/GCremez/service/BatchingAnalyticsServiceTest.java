@@ -0,0 +1,119 @@
+package org.GCremez.service;
+
+import com.sun.management.ThreadMXBean;
+import org.GCremez.config.ConfigManager;
+import org.GCremez.metrics.MetricsRegistry;
+import org.GCremez.sound.SoundService;
+import org.GCremez.timer.HeadlessConsole;
+import org.GCremez.timer.PomodoroTimer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+class BatchingAnalyticsServiceTest {
+    private static final long ONE_HOUR_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    @TempDir
+    Path tempDir;
+    private ConfigManager configManager;
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        configManager = mock(ConfigManager.class);
+        when(configManager.isAnalyticsEnabled()).thenReturn(true);
+        file = tempDir.resolve("analytics.json");
+    }
+
+    @Test
+    void testFlushWritesEventsInOrderInBatches() throws IOException {
+        long before = System.currentTimeMillis();
+        try (BatchingAnalyticsService service = BatchingAnalyticsService.start(configManager, file, 64, 2, ONE_HOUR_MILLIS)) {
+            service.logWorkSessionStart();
+            service.logSessionComplete();
+            service.logBreakSessionStart();
+            service.logSessionComplete();
+            service.logWorkSessionStart();
+
+            assertTrue(service.flush(5, TimeUnit.SECONDS));
+
+            List<String> lines = Files.readAllLines(file);
+            assertEquals(5, lines.size());
+            assertTrue(lines.get(0).startsWith("{\"event\":\"work_started\",\"timestamp_ms\":"), lines.get(0));
+            assertTrue(lines.get(2).startsWith("{\"event\":\"break_started\","), lines.get(2));
+            assertTrue(lines.get(3).startsWith("{\"event\":\"session_completed\","), lines.get(3));
+            long timestamp = Long.parseLong(lines.get(4).replaceAll("\\D", ""));
+            assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis(), lines.get(4));
+        }
+    }
+
+    @Test
+    void testFullQueueDropsAndCountsEvents() throws IOException {
+        long droppedBefore = MetricsRegistry.shared().counter("analytics.events.dropped").sum();
+        try (BatchingAnalyticsService service = BatchingAnalyticsService.start(configManager, file, 2, 16, ONE_HOUR_MILLIS)) {
+            for (int i = 0; i < 10; i++) {
+                service.logSessionComplete();
+            }
+            service.flush();
+
+            assertEquals(2, Files.readAllLines(file).size());
+            assertEquals(droppedBefore + 8, MetricsRegistry.shared().counter("analytics.events.dropped").sum());
+        }
+    }
+
+    @Test
+    void testDisabledAnalyticsWritesNothing() {
+        when(configManager.isAnalyticsEnabled()).thenReturn(false);
+        try (BatchingAnalyticsService service = BatchingAnalyticsService.start(configManager, file, 16, 16, ONE_HOUR_MILLIS)) {
+            service.logWorkSessionStart();
+
+            assertTrue(service.flush(5, TimeUnit.SECONDS));
+            assertFalse(Files.exists(file));
+        }
+    }
+
+    @Test
+    void testRecordingDoesNotAllocate() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        try (BatchingAnalyticsService service = BatchingAnalyticsService.start(configManager, file, 1 << 16, 256, ONE_HOUR_MILLIS)) {
+            for (int i = 0; i < 10_000; i++) {
+                service.logWorkSessionStart();
+            }
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < 10_000; i++) {
+                service.logSessionComplete();
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+            assertTrue(allocated < 1024, "allocated " + allocated + " bytes");
+        }
+    }
+
+    @Test
+    void testClosingTheTimerFlushesItsEvents() throws Exception {
+        BatchingAnalyticsService service = BatchingAnalyticsService.start(configManager, file, 64, 64, ONE_HOUR_MILLIS);
+        try (service) {
+            PomodoroTimer timer = new PomodoroTimer(configManager, mock(SoundService.class), service, null,
+                    new HeadlessConsole());
+            when(configManager.getWorkDuration()).thenReturn(25);
+            timer.startWorkSession();
+            timer.completeSession();
+
+            timer.close();
+
+            List<String> lines = Files.readAllLines(file);
+            assertEquals(2, lines.size());
+            assertTrue(lines.get(0).contains("work_started"));
+            assertTrue(lines.get(1).contains("session_completed"));
+        }
+    }
+}
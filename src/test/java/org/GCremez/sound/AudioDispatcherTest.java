@@ -0,0 +1,107 @@
+package org.GCremez.sound;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class AudioDispatcherTest {
+
+    @Test
+    void testCuesOverlapAndRepeatsAreCoalescedWhilePlaying() throws InterruptedException {
+        List<SoundCue> played = new CopyOnWriteArrayList<>();
+        Map<SoundCue, CompletableFuture<Void>> playing = new ConcurrentHashMap<>();
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        CountDownLatch replayed = new CountDownLatch(3);
+        AudioDispatcher.CuePlayer player = cue -> {
+            played.add(cue);
+            bothStarted.countDown();
+            replayed.countDown();
+            CompletableFuture<Void> playback = new CompletableFuture<>();
+            playing.put(cue, playback);
+            return playback;
+        };
+
+        try (AudioDispatcher dispatcher = new AudioDispatcher(player, Thread.ofPlatform().daemon(true).factory())) {
+            // The break cue starts while the work cue is still playing, so the mixer gets both
+            assertTrue(dispatcher.submit(SoundCue.WORK));
+            assertTrue(dispatcher.submit(SoundCue.BREAK));
+            assertTrue(bothStarted.await(1, TimeUnit.SECONDS));
+
+            // Skip spam while both play: every request is dropped
+            for (int i = 0; i < 100; i++) {
+                dispatcher.submit(SoundCue.BREAK);
+                dispatcher.submit(SoundCue.WORK);
+            }
+            assertEquals(200, dispatcher.coalescedCount());
+
+            // Once the work cue has been mixed out it can play again
+            playing.get(SoundCue.WORK).complete(null);
+            assertTrue(waitUntilAccepted(dispatcher, SoundCue.WORK));
+            assertTrue(replayed.await(1, TimeUnit.SECONDS));
+            assertEquals(List.of(SoundCue.WORK, SoundCue.BREAK, SoundCue.WORK), played);
+        }
+    }
+
+    @Test
+    void testSubmitDoesNotWaitForPlayback() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AudioDispatcher.CuePlayer slowPlayer = cue -> {
+            release.await();
+            return CompletableFuture.completedFuture(null);
+        };
+
+        try (AudioDispatcher dispatcher = new AudioDispatcher(slowPlayer, Thread.ofPlatform().daemon(true).factory())) {
+            long started = System.nanoTime();
+            dispatcher.submit(SoundCue.WORK);
+            dispatcher.submit(SoundCue.BREAK);
+            dispatcher.submit(SoundCue.WORK);
+            long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started);
+
+            assertTrue(elapsedMicros < 50_000, "submit took " + elapsedMicros + "us");
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testFailingPlayerDoesNotBlockItsKind() throws InterruptedException {
+        CountDownLatch attempts = new CountDownLatch(2);
+        AudioDispatcher.CuePlayer player = cue -> {
+            attempts.countDown();
+            throw new IllegalStateException("no line");
+        };
+
+        try (AudioDispatcher dispatcher = new AudioDispatcher(player, Thread.ofPlatform().daemon(true).factory())) {
+            assertTrue(dispatcher.submit(SoundCue.WORK));
+            assertTrue(waitUntilAccepted(dispatcher, SoundCue.WORK));
+            assertTrue(attempts.await(1, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testClosedDispatcherRejectsCues() {
+        AudioDispatcher dispatcher = new AudioDispatcher(cue -> CompletableFuture.completedFuture(null),
+                Thread.ofPlatform().daemon(true).factory());
+        dispatcher.close();
+
+        assertFalse(dispatcher.submit(SoundCue.WORK));
+    }
+
+    // The kind is released on the dispatcher thread, so retry briefly
+    private static boolean waitUntilAccepted(AudioDispatcher dispatcher, SoundCue cue) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (!dispatcher.submit(cue)) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+}
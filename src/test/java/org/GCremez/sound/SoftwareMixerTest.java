@@ -0,0 +1,124 @@
+package org.GCremez.sound;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+class SoftwareMixerTest {
+
+    @Test
+    void testMixesOverlappingSoundsWithClipping() throws Exception {
+        CapturingSink sink = new CapturingSink();
+        CountDownLatch queued = new CountDownLatch(1);
+        // Hold the mixer thread back until both sounds are queued, so they start together
+        ThreadFactory held = task -> new Thread(() -> {
+            awaitUninterruptibly(queued);
+            task.run();
+        });
+        try (SoftwareMixer mixer = new SoftwareMixer(sink, false, 4, held)) {
+            CompletableFuture<Void> loud = mixer.play(sound(30_000, 6));
+            CompletableFuture<Void> clipped = mixer.play(sound(5_000, 2));
+            queued.countDown();
+
+            CompletableFuture.allOf(loud, clipped).get(5, TimeUnit.SECONDS);
+        }
+
+        short[] expected = {
+                Short.MAX_VALUE, Short.MAX_VALUE, Short.MAX_VALUE, Short.MAX_VALUE,
+                30_000, 30_000, 30_000, 30_000, 30_000, 30_000, 30_000, 30_000};
+        assertArrayEquals(expected, sink.samples());
+        assertEquals(2, sink.writes);
+    }
+
+    @Test
+    void testAppliesVolumeAsGain() throws Exception {
+        CapturingSink sink = new CapturingSink();
+        try (SoftwareMixer mixer = new SoftwareMixer(sink, false, 64, Thread::new)) {
+            mixer.setVolume(0.5);
+            mixer.play(sound(-20_000, 8)).get(5, TimeUnit.SECONDS);
+        }
+
+        for (short sample : sink.samples()) {
+            assertEquals(-10_000, sample);
+        }
+    }
+
+    @Test
+    void testFallsBackToANullSinkWithoutAnAudioDevice() throws Exception {
+        try (SoftwareMixer mixer = SoftwareMixer.open(0, Thread::new)) {
+            if (AudioSystem.getMixerInfo().length == 0) {
+                assertTrue(mixer.isNullSink());
+            }
+            assertEquals(SoftwareMixer.DEFAULT_BUFFER_MILLIS, mixer.latency().toMillis());
+            mixer.play(sound(100, 441)).get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testNullMixerPlaysWithoutPacing() throws Exception {
+        try (SoftwareMixer mixer = SoftwareMixer.openNull(20, Thread::new)) {
+            assertTrue(mixer.isNullSink());
+            // Ten seconds of sound
+            mixer.play(sound(100, 441_000)).get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testRejectsSoundsInAnotherFormat() {
+        SoundClipCache.DecodedSound mono = new SoundClipCache.DecodedSound("mono.wav",
+                new AudioFormat(8000, 16, 1, true, false), new byte[16], FileTime.fromMillis(0));
+        try (SoftwareMixer mixer = new SoftwareMixer(new CapturingSink(), false, 4, Thread::new)) {
+            assertThrows(IllegalArgumentException.class, () -> mixer.play(mono));
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // A stereo sound of frames frames, every sample set to value
+    private static SoundClipCache.DecodedSound sound(int value, int frames) {
+        byte[] data = new byte[frames * SoftwareMixer.FORMAT.getFrameSize()];
+        for (int i = 0; i < data.length; i += 2) {
+            data[i] = (byte) value;
+            data[i + 1] = (byte) (value >> 8);
+        }
+        return new SoundClipCache.DecodedSound("test.wav", SoftwareMixer.FORMAT, data, FileTime.fromMillis(0));
+    }
+
+    private static final class CapturingSink implements SoftwareMixer.Sink {
+        private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+        private int writes;
+
+        @Override
+        public synchronized void write(byte[] buffer, int length) {
+            written.write(buffer, 0, length);
+            writes++;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        synchronized short[] samples() {
+            byte[] bytes = written.toByteArray();
+            short[] samples = new short[bytes.length / 2];
+            for (int i = 0; i < samples.length; i++) {
+                samples[i] = (short) ((bytes[2 * i + 1] << 8) | (bytes[2 * i] & 0xFF));
+            }
+            return samples;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.GCremez.sound;
+
+import org.GCremez.exception.SoundSystemException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+class SoundClipCacheTest {
+
+    @Test
+    void testDecodesOnceUntilTheFileChanges(@TempDir Path tempDir) throws IOException {
+        Path wav = tempDir.resolve("cue.wav");
+        writeWav(wav, 800);
+        SoundClipCache cache = new SoundClipCache();
+
+        SoundClipCache.DecodedSound first = cache.get(wav.toString());
+        assertEquals(1600, first.data().length);
+        assertSame(first, cache.get(wav.toString()));
+
+        writeWav(wav, 400);
+        Files.setLastModifiedTime(wav, FileTime.fromMillis(first.modified().toMillis() + 5_000));
+        SoundClipCache.DecodedSound reloaded = cache.get(wav.toString());
+        assertNotSame(first, reloaded);
+        assertEquals(800, reloaded.data().length);
+    }
+
+    @Test
+    void testFallsBackToTheBundledSounds() {
+        SoundClipCache cache = new SoundClipCache();
+
+        cache.preload("sounds/work.wav", "sounds/break.wav");
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.get("sounds/work.wav").data().length > 0);
+    }
+
+    @Test
+    void testConvertsToTheTargetFormat(@TempDir Path tempDir) throws IOException {
+        Path wav = tempDir.resolve("cue.wav");
+        writeWav(wav, 800);
+        SoundClipCache cache = new SoundClipCache(SoftwareMixer.FORMAT);
+
+        SoundClipCache.DecodedSound sound = cache.get(wav.toString());
+
+        assertTrue(sound.format().matches(SoftwareMixer.FORMAT));
+        // 0.1 s of 8 kHz mono becomes 0.1 s of 44.1 kHz stereo
+        assertEquals(4410, sound.data().length / SoftwareMixer.FORMAT.getFrameSize(), 20);
+        assertTrue(cache.get("sounds/work.wav").format().matches(SoftwareMixer.FORMAT));
+    }
+
+    @Test
+    void testRejectsMissingAndInvalidFiles(@TempDir Path tempDir) throws IOException {
+        Path notWav = tempDir.resolve("cue.wav");
+        Files.writeString(notWav, "not a wav file");
+        SoundClipCache cache = new SoundClipCache();
+
+        assertThrows(SoundSystemException.class, () -> cache.get(tempDir.resolve("missing.wav").toString()));
+        assertThrows(SoundSystemException.class, () -> cache.get(notWav.toString()));
+        assertThrows(SoundSystemException.class, () -> cache.get(" "));
+        assertEquals(0, cache.size());
+    }
+
+    private static void writeWav(Path file, int frames) throws IOException {
+        AudioFormat format = new AudioFormat(8000, 16, 1, true, false);
+        byte[] silence = new byte[frames * format.getFrameSize()];
+        try (AudioInputStream in = new AudioInputStream(new ByteArrayInputStream(silence), format, frames)) {
+            AudioSystem.write(in, AudioFileFormat.Type.WAVE, file.toFile());
+        }
+    }
+}
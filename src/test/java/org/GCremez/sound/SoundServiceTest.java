@@ -38,6 +38,21 @@ class SoundServiceTest {
         });
     }
     
+    @Test
+    void testCuesPlayOnceSoundIsEnabled() {
+        ConfigManager config = mock(ConfigManager.class);
+        when(config.getWorkSoundFile()).thenReturn("work.wav");
+        when(config.getSoundBufferMillis()).thenReturn(50);
+        try (SoundService service = new SoundService(config, true)) {
+            service.playWorkSound();
+            verify(config, after(200).never()).getWorkSoundFile();
+
+            when(config.isSoundEnabled()).thenReturn(true);
+            service.playWorkSound();
+            verify(config, timeout(5000)).getWorkSoundFile();
+        }
+    }
+
     @Test
     void testInvalidSoundTest() {
         assertDoesNotThrow(() -> {
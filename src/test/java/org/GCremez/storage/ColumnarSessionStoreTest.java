@@ -0,0 +1,77 @@
+package org.GCremez.storage;
+
+import org.GCremez.model.Session;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+class ColumnarSessionStoreTest {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 8, 0, 0, 123_000_000);
+
+    @Test
+    void testRoundTripsTheJsonLog(@TempDir Path tempDir) throws IOException {
+        Path log = tempDir.resolve("Session_log.json");
+        List<String> lines = new ArrayList<>();
+        SessionType[] types = SessionType.values();
+        for (int i = 0; i < 1_000; i++) {
+            lines.add(SessionEncoder.toJson(new Session(types[i % types.length], Duration.ofSeconds(60 + i), START.plusMinutes(30L * i))));
+        }
+        List<String> withGarbage = new ArrayList<>(lines);
+        withGarbage.add(500, "invalid json");
+        // Parses as JSON but does not fit the duration column
+        withGarbage.add(700, "{\"type\":\"WORK\",\"start_time\":\"2024-03-01T08:00\",\"duration_seconds\":-60}");
+        Files.write(log, withGarbage);
+
+        Path store = tempDir.resolve("store");
+        assertEquals(1_000, ColumnarSessionStore.fromLog(log, store));
+        assertTrue(Files.size(store.resolve("type.col")) < Files.size(log));
+
+        Path restored = tempDir.resolve("restored.json");
+        ColumnarSessionStore.open(store).toLog(restored);
+        assertEquals(lines, Files.readAllLines(restored));
+    }
+
+    @Test
+    void testAggregatesOverColumns(@TempDir Path tempDir) throws IOException {
+        Path store = tempDir.resolve("store");
+        try (ColumnarSessionStore.Writer writer = ColumnarSessionStore.create(store)) {
+            for (int i = 0; i < 100; i++) {
+                SessionType type = i % 2 == 0 ? SessionType.WORK : SessionType.SHORT_BREAK;
+                writer.session(type, START.plusHours(i).toEpochSecond(ZoneOffset.UTC), 0, type == SessionType.WORK ? 1500 : 300);
+            }
+        }
+
+        ColumnarSessionStore columns = ColumnarSessionStore.open(store);
+        long[] totals = new long[2];
+        columns.forEach((type, second, nano, duration) -> totals[type == SessionType.WORK ? 0 : 1] += duration);
+
+        assertEquals(100, columns.size());
+        assertEquals(50 * 1500, totals[0]);
+        assertEquals(50 * 300, totals[1]);
+        assertEquals(SessionType.SHORT_BREAK, columns.type(99));
+        assertEquals(START.plusHours(99).toEpochSecond(ZoneOffset.UTC), columns.startEpochSecond(99));
+        assertEquals(300, columns.durationSeconds(99));
+    }
+
+    @Test
+    void testIncompleteStoreIsRejected(@TempDir Path tempDir) throws IOException {
+        Path store = tempDir.resolve("store");
+        ColumnarSessionStore.Writer writer = ColumnarSessionStore.create(store);
+        writer.session(SessionType.WORK, 0, 0, 1500);
+
+        // Without the header written on close, the columns are not a store yet
+        assertThrows(IOException.class, () -> ColumnarSessionStore.open(store));
+        writer.close();
+        assertEquals(1, ColumnarSessionStore.open(store).size());
+    }
+}
@@ -0,0 +1,101 @@
+package org.GCremez.storage;
+
+import org.GCremez.model.Session;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ParallelSessionLoaderTest {
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testChunksComeBackInFileOrder(@TempDir Path tempDir) throws IOException {
+        Path log = tempDir.resolve("Session_log.json");
+        List<Session> written = writeLog(log, 5000);
+        Files.writeString(log, "invalid json\n", StandardOpenOption.APPEND);
+        writeLog(log, 1);
+
+        ParallelSessionLoader loader = new ParallelSessionLoader(pool, 1024);
+        SessionStore loaded = loader.loadSessions(log);
+        ParallelSessionLoader.Result<CountingVisitor> result = loader.load(log, 0, true, CountingVisitor::new);
+
+        assertTrue(result.chunks().size() > 1);
+        assertEquals(1, result.malformed());
+        assertEquals(5001, loaded.size());
+        for (int i = 0; i < written.size(); i++) {
+            assertEquals(written.get(i).getStartTime(), loaded.get(i).getStartTime());
+            assertEquals(written.get(i).getType(), loaded.get(i).getType());
+        }
+    }
+
+    @Test
+    void testStopsBeforeAnUnterminatedLine(@TempDir Path tempDir) throws IOException {
+        Path log = tempDir.resolve("Session_log.json");
+        writeLog(log, 100);
+        long complete = Files.size(log);
+        Files.writeString(log, "{\"type\":\"wo", StandardOpenOption.APPEND);
+
+        ParallelSessionLoader.Result<CountingVisitor> result = new ParallelSessionLoader(pool, 512)
+                .load(log, 0, false, CountingVisitor::new);
+
+        assertEquals(complete, result.end());
+        assertEquals(0, result.malformed());
+        assertEquals(100, result.chunks().stream().mapToLong(chunk -> chunk.count.get()).sum());
+    }
+
+    @Test
+    void testSkipsRecordsTheStoreCannotHold(@TempDir Path tempDir) throws IOException {
+        Path log = tempDir.resolve("Session_log.json");
+        writeLog(log, 2000);
+        Files.writeString(log, "{\"type\":\"WORK\",\"start_time\":\"2024-01-01T08:00\",\"duration_seconds\":-1500}\n"
+                + "{\"type\":\"WORK\",\"start_time\":\"2024-01-01T08:00\",\"duration_seconds\":4294967296}\n"
+                + "{\"type\":\"WORK\",\"start_time\":\"2300-01-01T08:00\",\"duration_seconds\":1500}\n",
+                StandardOpenOption.APPEND);
+        writeLog(log, 2000);
+
+        SessionStore loaded = new ParallelSessionLoader(pool, 1024).loadSessions(log);
+
+        assertEquals(4000, loaded.size());
+    }
+
+    private static List<Session> writeLog(Path log, int count) throws IOException {
+        List<Session> sessions = new ArrayList<>();
+        StringBuilder lines = new StringBuilder();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+        SessionType[] types = SessionType.values();
+        for (int i = 0; i < count; i++) {
+            Session session = new Session(types[i % types.length], Duration.ofMinutes(25), start.plusMinutes(i));
+            sessions.add(session);
+            lines.append(SessionEncoder.toJson(session)).append('\n');
+        }
+        Files.writeString(log, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        return sessions;
+    }
+
+    private static final class CountingVisitor implements SessionLogParser.Visitor {
+        private final AtomicLong count = new AtomicLong();
+
+        @Override
+        public void session(SessionType type, long startEpochSecond, int startNano, long durationSeconds) {
+            count.incrementAndGet();
+        }
+    }
+}
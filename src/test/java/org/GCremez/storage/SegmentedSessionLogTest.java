@@ -0,0 +1,87 @@
+package org.GCremez.storage;
+
+import org.GCremez.model.Session;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+class SegmentedSessionLogTest {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 15, 9, 0);
+
+    @Test
+    void testMigrationSplitsByMonthAndSealsAllButTheNewest(@TempDir Path tempDir) throws IOException {
+        Path source = tempDir.resolve("Session_log.json");
+        StringBuilder lines = new StringBuilder();
+        for (int day = 0; day < 90; day++) {
+            lines.append(SessionEncoder.toJson(new Session(SessionType.WORK, Duration.ofMinutes(25), START.plusDays(day)))).append('\n');
+        }
+        Files.writeString(source, lines.append("invalid json\n"));
+        Path directory = tempDir.resolve("segments");
+
+        assertEquals(90, SegmentedSessionLog.migrate(source, directory));
+
+        List<SegmentedSessionLog.Segment> segments = SegmentedSessionLog.open(directory).segments();
+        assertEquals(List.of(YearMonth.of(2024, 1), YearMonth.of(2024, 2), YearMonth.of(2024, 3), YearMonth.of(2024, 4)),
+                segments.stream().map(SegmentedSessionLog.Segment::month).toList());
+        assertEquals(90, segments.stream().mapToLong(SegmentedSessionLog.Segment::records).sum());
+        assertEquals(17, segments.get(0).records());
+        assertEquals(epochSecond(START), segments.get(0).minStart());
+        assertTrue(segments.get(0).sealed());
+        // Files.isWritable is always true for root, so look at the permission bits
+        assertFalse(Files.getPosixFilePermissions(segments.get(0).file()).contains(PosixFilePermission.OWNER_WRITE));
+        assertFalse(segments.get(3).sealed());
+    }
+
+    @Test
+    void testOnlyOverlappingOrOpenSegmentsAreQueried(@TempDir Path tempDir) throws IOException {
+        Path directory = tempDir.resolve("segments");
+        Path source = tempDir.resolve("Session_log.json");
+        StringBuilder lines = new StringBuilder();
+        for (int month = 0; month < 6; month++) {
+            lines.append(SessionEncoder.toJson(new Session(SessionType.WORK, Duration.ofMinutes(25), START.plusMonths(month)))).append('\n');
+        }
+        Files.writeString(source, lines);
+        SegmentedSessionLog.migrate(source, directory);
+
+        List<SegmentedSessionLog.Segment> overlapping = SegmentedSessionLog.open(directory)
+                .segmentsOverlapping(epochSecond(START.plusMonths(2).minusDays(1)), epochSecond(START.plusMonths(2).plusDays(1)));
+
+        assertEquals(List.of(YearMonth.of(2024, 3), YearMonth.of(2024, 6)),
+                overlapping.stream().map(SegmentedSessionLog.Segment::month).toList());
+    }
+
+    @Test
+    void testJournalRollsOverToANewSegmentAndSealsTheOldOne(@TempDir Path tempDir) throws IOException {
+        Path directory = tempDir.resolve("segments");
+        try (SessionJournal journal = SessionJournal.segmented(directory, FsyncPolicy.OS, 1000, 512)) {
+            journal.append(new Session(SessionType.WORK, Duration.ofMinutes(25), LocalDateTime.of(2024, 5, 31, 23, 0))).join();
+            journal.append(new Session(SessionType.WORK, Duration.ofMinutes(25), LocalDateTime.of(2024, 6, 1, 9, 0))).join();
+            // A late session for the sealed month lands in the open segment
+            journal.append(new Session(SessionType.SHORT_BREAK, Duration.ofMinutes(5), LocalDateTime.of(2024, 5, 31, 23, 30))).join();
+        }
+
+        List<SegmentedSessionLog.Segment> segments = SegmentedSessionLog.open(directory).segments();
+        assertEquals(2, segments.size());
+        assertTrue(segments.get(0).sealed());
+        assertEquals(1, segments.get(0).records());
+        assertFalse(segments.get(1).sealed());
+        assertEquals(2, segments.get(1).records());
+        assertEquals(epochSecond(LocalDateTime.of(2024, 5, 31, 23, 30)), segments.get(1).minStart());
+        assertEquals(2, Files.readAllLines(segments.get(1).file()).size());
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,89 @@
+package org.GCremez.storage;
+
+import org.GCremez.model.Session;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+class SessionEncoderTest {
+
+    @Test
+    void testWritesTheSessionLogFormat() {
+        List<LocalDateTime> starts = List.of(
+                LocalDateTime.of(2024, 1, 1, 0, 0),
+                LocalDateTime.of(2024, 2, 29, 23, 59, 59),
+                LocalDateTime.of(2023, 12, 31, 8, 5, 0, 120_000_000),
+                LocalDateTime.of(2023, 3, 1, 8, 5, 7, 123_456_000),
+                LocalDateTime.of(1999, 10, 9, 1, 2, 3, 1),
+                LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_999),
+                LocalDateTime.of(45, 6, 7, 8, 9),
+                LocalDateTime.of(-45, 6, 7, 8, 9),
+                LocalDateTime.of(-12_345, 1, 1, 0, 0),
+                LocalDateTime.of(123_456, 1, 1, 0, 0));
+        long[] durations = {0, 5, 1500, -60, 86_400L * 365 * 100};
+
+        ByteBuffer buffer = ByteBuffer.allocate(SessionEncoder.MAX_LINE_BYTES);
+        for (SessionType type : SessionType.values()) {
+            for (LocalDateTime start : starts) {
+                for (long duration : durations) {
+                    Session session = new Session(type, Duration.ofSeconds(duration), start);
+                    String expected = "{\"type\":\"" + type.name().toLowerCase() + "\",\"start_time\":\"" + start
+                            + "\",\"duration_seconds\":" + duration + "}\n";
+
+                    buffer.clear();
+                    assertEquals(expected.length(), SessionEncoder.encode(session, buffer));
+                    assertEquals(expected, decode(buffer));
+                    assertEquals(expected, SessionEncoder.toJson(session) + "\n");
+
+                    buffer.clear();
+                    SessionEncoder.encode(type, start.toEpochSecond(ZoneOffset.UTC), start.getNano(), duration, buffer);
+                    assertEquals(expected, decode(buffer));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testEncodesAWholeBatchIntoOneBuffer() {
+        List<Session> sessions = new ArrayList<>();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            Session session = new Session(SessionType.WORK, Duration.ofMinutes(25), LocalDateTime.of(2024, 5, 1, 9, 0).plusHours(i));
+            sessions.add(session);
+            expected.append(SessionEncoder.toJson(session)).append('\n');
+        }
+
+        ByteBuffer small = ByteBuffer.allocate(10 * SessionEncoder.MAX_LINE_BYTES);
+        StringBuilder written = new StringBuilder();
+        int next = 0;
+        while (next < sessions.size()) {
+            small.clear();
+            next = SessionEncoder.encodeAll(sessions, next, small);
+            written.append(decode(small));
+        }
+
+        assertEquals(expected.toString(), written.toString());
+    }
+
+    @Test
+    void testRefusesABufferThatMightOverflow() {
+        Session session = new Session(SessionType.WORK, Duration.ofMinutes(25), LocalDateTime.of(2024, 5, 1, 9, 0));
+        ByteBuffer buffer = ByteBuffer.allocate(SessionEncoder.MAX_LINE_BYTES - 1);
+
+        assertThrows(BufferOverflowException.class, () -> SessionEncoder.encode(session, buffer));
+        assertEquals(0, buffer.position());
+    }
+
+    private static String decode(ByteBuffer buffer) {
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII);
+    }
+}
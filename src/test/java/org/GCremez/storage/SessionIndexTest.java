@@ -0,0 +1,85 @@
+package org.GCremez.storage;
+
+import org.GCremez.model.Session;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+class SessionIndexTest {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void testRangeQueryReturnsExactlyTheSessionsInRange(@TempDir Path tempDir) throws IOException {
+        Path log = tempDir.resolve("Session_log.json");
+        write(log, 0, 10_000);
+
+        SessionIndex index = SessionIndex.build(log, 100);
+        assertEquals(100, index.blockCount());
+
+        List<Long> starts = query(index, START.plusMinutes(2_550), START.plusMinutes(2_600));
+        assertEquals(50, starts.size());
+        assertEquals(epochSecond(START.plusMinutes(2_550)), starts.get(0));
+        assertEquals(epochSecond(START.plusMinutes(2_599)), starts.get(49));
+
+        assertEquals(10_000, query(index, START, START.plusYears(1)).size());
+        assertTrue(query(index, START.minusDays(1), START).isEmpty());
+        assertTrue(query(index, START.plusYears(1), START.plusYears(2)).isEmpty());
+    }
+
+    @Test
+    void testCatchUpIndexesAppendedSessions(@TempDir Path tempDir) throws IOException {
+        Path log = tempDir.resolve("Session_log.json");
+        write(log, 0, 150);
+        SessionIndex index = SessionIndex.build(log, 100);
+
+        write(log, 150, 100);
+        index.catchUp();
+
+        assertEquals(Files.size(log), index.coveredBytes());
+        assertEquals(3, index.blockCount());
+        assertEquals(100, query(index, START.plusMinutes(120), START.plusMinutes(220)).size());
+    }
+
+    @Test
+    void testOutOfOrderLogStillAnswersCorrectly(@TempDir Path tempDir) throws IOException {
+        Path log = tempDir.resolve("Session_log.json");
+        write(log, 500, 500);
+        write(log, 0, 500);
+
+        SessionIndex index = SessionIndex.build(log, 64);
+
+        List<Long> starts = query(index, START.plusMinutes(450), START.plusMinutes(550));
+        assertEquals(100, starts.size());
+    }
+
+    private static List<Long> query(SessionIndex index, LocalDateTime from, LocalDateTime to) throws IOException {
+        List<Long> starts = new ArrayList<>();
+        long count = index.query(epochSecond(from), epochSecond(to),
+                (type, second, nano, duration) -> starts.add(second));
+        assertEquals(starts.size(), count);
+        return starts;
+    }
+
+    private static void write(Path log, int first, int count) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (int i = first; i < first + count; i++) {
+            lines.append(SessionEncoder.toJson(new Session(SessionType.WORK, Duration.ofMinutes(25), START.plusMinutes(i)))).append('\n');
+        }
+        Files.writeString(log, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,145 @@
+package org.GCremez.storage;
+
+import org.GCremez.model.Session;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class SessionJournalTest {
+
+    @Test
+    void testConcurrentAppendsAreAllWrittenAsNdjson(@TempDir Path tempDir) throws Exception {
+        Path log = tempDir.resolve("Session_log.json");
+        int threads = 8;
+        int perThread = 250;
+        CountDownLatch done = new CountDownLatch(threads);
+
+        try (SessionJournal journal = new SessionJournal(log, FsyncPolicy.ALWAYS, 1000, 64)) {
+            for (int t = 0; t < threads; t++) {
+                Thread.ofPlatform().start(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        journal.append(new Session(SessionType.WORK, Duration.ofMinutes(25),
+                                LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(i))).join();
+                    }
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(30, TimeUnit.SECONDS));
+        }
+
+        List<String> lines = Files.readAllLines(log);
+        assertEquals(threads * perThread, lines.size());
+        for (String line : lines) {
+            assertNotNull(SessionLogParser.fromJson(line));
+        }
+    }
+
+    @Test
+    void testFlushWaitsForQueuedRecords(@TempDir Path tempDir) throws IOException {
+        Path log = tempDir.resolve("Session_log.json");
+        try (SessionJournal journal = new SessionJournal(log, FsyncPolicy.OS, 1000, 512)) {
+            CompletableFuture<Void> last = null;
+            for (int i = 0; i < 1000; i++) {
+                last = journal.append(new Session(SessionType.SHORT_BREAK, Duration.ofMinutes(5), LocalDateTime.now()));
+            }
+            assertTrue(journal.flush(5, TimeUnit.SECONDS));
+            assertTrue(last.isDone());
+            assertEquals(1000, Files.readAllLines(log).size());
+        }
+    }
+
+    @Test
+    void testAppendAfterCloseFails(@TempDir Path tempDir) throws IOException {
+        SessionJournal journal = new SessionJournal(tempDir.resolve("log.json"), FsyncPolicy.INTERVAL, 10, 512);
+        journal.close();
+
+        CompletableFuture<Void> result = journal.append(
+                new Session(SessionType.WORK, Duration.ofMinutes(25), LocalDateTime.now()));
+        assertTrue(result.isCompletedExceptionally());
+    }
+
+    @Test
+    void testCloseCommitsEverythingQueuedAndKeepsTheRollupInStep(@TempDir Path tempDir) throws IOException {
+        Path log = tempDir.resolve("Session_log.json");
+        SessionJournal journal = new SessionJournal(log, FsyncPolicy.ALWAYS, 1000, 16);
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            results.add(journal.append(new Session(SessionType.WORK, Duration.ofMinutes(25),
+                    LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(i))));
+        }
+        journal.close();
+
+        for (CompletableFuture<Void> result : results) {
+            assertTrue(result.isDone() && !result.isCompletedExceptionally());
+        }
+        assertEquals(500, Files.readAllLines(log).size());
+        SessionRollup rollup = SessionRollup.open(log);
+        long[] count = new long[1];
+        rollup.forEachDay((day, workCount, workSeconds, breakCount, breakSeconds) -> count[0] += workCount);
+        assertEquals(Files.size(log), rollup.coveredBytes());
+        assertEquals(500, count[0]);
+    }
+
+    @Test
+    void testUnterminatedLineIsEndedAndCoveredByTheRollup(@TempDir Path tempDir) throws IOException {
+        Path log = tempDir.resolve("Session_log.json");
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 3; i++) {
+            lines.append(SessionEncoder.toJson(new Session(SessionType.WORK, Duration.ofMinutes(25),
+                    LocalDateTime.of(2024, 1, 1, 9, i)))).append('\n');
+        }
+        // What a crash or a failed write leaves behind
+        Files.writeString(log, lines + "{\"type\":\"wo");
+
+        try (SessionJournal journal = new SessionJournal(log, FsyncPolicy.ALWAYS, 1000, 16)) {
+            journal.append(new Session(SessionType.WORK, Duration.ofMinutes(25), LocalDateTime.of(2024, 1, 1, 10, 0)));
+            journal.append(new Session(SessionType.WORK, Duration.ofMinutes(25), LocalDateTime.of(2024, 1, 1, 11, 0)));
+        }
+
+        assertEquals(6, Files.readAllLines(log).size());
+        SessionRollup rollup = SessionRollup.open(log);
+        long[] count = new long[1];
+        rollup.forEachDay((day, workCount, workSeconds, breakCount, breakSeconds) -> count[0] += workCount);
+        assertEquals(Files.size(log), rollup.coveredBytes());
+        assertEquals(5, count[0]);
+    }
+
+    @Test
+    void testAppendsRacingCloseAreAllCompleted(@TempDir Path tempDir) throws Exception {
+        SessionJournal journal = new SessionJournal(tempDir.resolve("log.json"), FsyncPolicy.OS, 1000, 8);
+        List<CompletableFuture<Void>> results = new CopyOnWriteArrayList<>();
+        CountDownLatch started = new CountDownLatch(4);
+        List<Thread> appenders = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            appenders.add(Thread.ofPlatform().start(() -> {
+                started.countDown();
+                for (int i = 0; i < 2000; i++) {
+                    results.add(journal.append(new Session(SessionType.WORK, Duration.ofMinutes(25),
+                            LocalDateTime.of(2024, 1, 1, 12, 0))));
+                }
+            }));
+        }
+        started.await();
+        journal.close();
+        for (Thread appender : appenders) {
+            appender.join();
+        }
+
+        for (CompletableFuture<Void> result : results) {
+            assertTrue(result.isDone(), "an append was never completed");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.GCremez.storage;
+
+import org.GCremez.model.Session;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+
+class SessionLogCacheTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 3);
+
+    private final SessionLogCache cache = new SessionLogCache();
+
+    @Test
+    void testAppendedLinesAreFoldedIntoTheCachedRollup(@TempDir Path tempDir) throws IOException {
+        Path log = tempDir.resolve("Session_log.json");
+        append(log, 3, 25);
+        SessionRollup first = cache.get(log);
+        assertSame(first, cache.get(log));
+
+        append(log, 2, 25);
+        SessionRollup second = cache.get(log);
+
+        assertSame(first, second);
+        assertEquals(Files.size(log), second.coveredBytes());
+        assertEquals(5, workCount(second));
+    }
+
+    @Test
+    void testCatchingUpSavesTheSidecar(@TempDir Path tempDir) throws IOException {
+        Path log = tempDir.resolve("Session_log.json");
+        append(log, 3, 25);
+        cache.get(log);
+
+        append(log, 2, 25);
+        cache.get(log);
+
+        // A fresh process starts from here instead of parsing the appended lines again
+        assertEquals(Files.size(log), sidecarCoveredBytes(log));
+    }
+
+    @Test
+    void testTruncatedOrRotatedLogInvalidatesTheCache(@TempDir Path tempDir) throws IOException {
+        Path log = tempDir.resolve("Session_log.json");
+        append(log, 4, 25);
+        SessionRollup original = cache.get(log);
+
+        Files.write(log, new byte[0], StandardOpenOption.TRUNCATE_EXISTING);
+        append(log, 1, 25);
+        SessionRollup truncated = cache.get(log);
+        assertNotSame(original, truncated);
+        assertEquals(1, workCount(truncated));
+
+        Path rotated = tempDir.resolve("Session_log.json.1");
+        Files.move(log, rotated);
+        append(log, 6, 50);
+        SessionRollup replaced = cache.get(log);
+        assertNotSame(truncated, replaced);
+        assertEquals(6, workCount(replaced));
+    }
+
+    @Test
+    void testSameSizeRewriteIsDetected(@TempDir Path tempDir) throws IOException {
+        Path log = tempDir.resolve("Session_log.json");
+        append(log, 2, 25);
+        cache.get(log);
+
+        String rewritten = Files.readString(log).replace("\"work\"", "\"WORK\"");
+        Files.writeString(log, rewritten + SessionEncoder.toJson(new Session(SessionType.WORK, Duration.ofMinutes(25),
+                DAY.atTime(20, 0))) + "\n", StandardOpenOption.TRUNCATE_EXISTING);
+
+        assertEquals(3, workCount(cache.get(log)));
+    }
+
+    private static void append(Path log, int count, int minutes) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            lines.append(SessionEncoder.toJson(new Session(SessionType.WORK, Duration.ofMinutes(minutes), DAY.atTime(9, i)))).append('\n');
+        }
+        Files.writeString(log, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static long sidecarCoveredBytes(Path log) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(SessionRollup.sidecarFor(log)))) {
+            in.readInt();
+            in.readInt();
+            return in.readLong();
+        }
+    }
+
+    private static long workCount(SessionRollup rollup) {
+        long[] total = new long[1];
+        rollup.forEachDay((day, workCount, workSeconds, breakCount, breakSeconds) -> total[0] += workCount);
+        return total[0];
+    }
+}
@@ -0,0 +1,84 @@
+package org.GCremez.storage;
+
+import org.GCremez.model.Session;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class SessionLogParserTest {
+
+    @Test
+    void testToleratesFieldOrderWhitespaceAndUnknownFields() throws IOException {
+        String log = "{\"duration_seconds\":1500,\"type\":\"work\",\"start_time\":\"2024-01-01T12:00\"}\n"
+                + "  { \"tags\" : [\"a\", {\"b\": [1, 2]}], \"type\" : \"SHORT_BREAK\" ,"
+                + "\t\"start_time\" : \"2024-02-29T23:59:58.123456789\", \"note\": \"x\\\"y\", \"duration_seconds\" : 300 }\r\n";
+
+        List<Session> sessions = parse(new SessionLogParser(), log);
+
+        assertEquals(2, sessions.size());
+        assertEquals(SessionType.WORK, sessions.get(0).getType());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 12, 0), sessions.get(0).getStartTime());
+        assertEquals(Duration.ofSeconds(1500), sessions.get(0).getDuration());
+        assertEquals(SessionType.SHORT_BREAK, sessions.get(1).getType());
+        assertEquals(LocalDateTime.of(2024, 2, 29, 23, 59, 58, 123_456_789), sessions.get(1).getStartTime());
+        assertEquals(Duration.ofSeconds(300), sessions.get(1).getDuration());
+    }
+
+    @Test
+    void testSkipsMalformedLinesAndCountsThem() throws IOException {
+        String log = "invalid json\n"
+                + "{\"type\":\"work\",\"invalid\":true}\n"
+                + "\n"
+                + "{\"type\":\"nap\",\"start_time\":\"2024-01-01T12:00\",\"duration_seconds\":60}\n"
+                + "{\"type\":\"work\",\"start_time\":\"2023-02-29T12:00\",\"duration_seconds\":60}\n"
+                + "{\"type\":\"work\",\"start_time\":\"2024-01-01T12:00\",\"duration_seconds\":1500} trailing\n"
+                + "{\"type\":\"work\",\"start_time\":\"2024-01-01T12:00\",\"duration_seconds\":-60}\n"
+                + "{\"type\":\"work\",\"start_time\":\"2024-01-01T12:00\",\"duration_seconds\":2147483648}\n"
+                + "{\"type\":\"long_break\",\"start_time\":\"2024-01-01T12:00\",\"duration_seconds\":900}";
+        List<Session> sessions = new ArrayList<>();
+
+        long malformed = new SessionLogParser().parse(stream(log), (type, second, nano, duration) ->
+                sessions.add(SessionLogParser.toSession(type, second, nano, duration)));
+
+        assertEquals(7, malformed);
+        assertEquals(1, sessions.size());
+        assertEquals(SessionType.LONG_BREAK, sessions.get(0).getType());
+    }
+
+    @Test
+    void testLinesLongerThanTheBufferAreReassembled() throws IOException {
+        StringBuilder log = new StringBuilder();
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 8, 30, 15);
+        for (int i = 0; i < 100; i++) {
+            log.append(SessionEncoder.toJson(new Session(SessionType.WORK, Duration.ofMinutes(i), start.plusMinutes(i)))).append('\n');
+        }
+
+        List<Session> sessions = parse(new SessionLogParser(16), log.toString());
+
+        assertEquals(100, sessions.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(start.plusMinutes(i), sessions.get(i).getStartTime());
+            assertEquals(Duration.ofMinutes(i), sessions.get(i).getDuration());
+        }
+    }
+
+    private static List<Session> parse(SessionLogParser parser, String log) throws IOException {
+        List<Session> sessions = new ArrayList<>();
+        long malformed = parser.parse(stream(log), (type, second, nano, duration) ->
+                sessions.add(SessionLogParser.toSession(type, second, nano, duration)));
+        assertEquals(0, malformed);
+        return sessions;
+    }
+
+    private static ByteArrayInputStream stream(String log) {
+        return new ByteArrayInputStream(log.getBytes(StandardCharsets.UTF_8));
+    }
+}
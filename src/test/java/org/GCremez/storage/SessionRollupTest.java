@@ -0,0 +1,103 @@
+package org.GCremez.storage;
+
+import org.GCremez.model.Session;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+class SessionRollupTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 1);
+
+    @Test
+    void testBuildsPerDayTotalsAndSavesSidecar(@TempDir Path tempDir) throws IOException {
+        Path log = tempDir.resolve("Session_log.json");
+        append(log, new Session(SessionType.WORK, Duration.ofMinutes(25), DAY.atTime(9, 0)),
+                new Session(SessionType.SHORT_BREAK, Duration.ofMinutes(5), DAY.atTime(9, 25)),
+                new Session(SessionType.WORK, Duration.ofMinutes(50), DAY.plusDays(2).atTime(23, 59)));
+
+        SessionRollup rollup = SessionRollup.open(log);
+
+        assertTrue(Files.exists(SessionRollup.sidecarFor(log)));
+        assertEquals(Files.size(log), rollup.coveredBytes());
+        List<long[]> days = days(rollup);
+        assertEquals(2, days.size());
+        assertArrayEquals(new long[]{DAY.toEpochDay(), 1, 1500, 1, 300}, days.get(0));
+        assertArrayEquals(new long[]{DAY.plusDays(2).toEpochDay(), 1, 3000, 0, 0}, days.get(1));
+    }
+
+    @Test
+    void testCatchesUpWithAppendedSessions(@TempDir Path tempDir) throws IOException {
+        Path log = tempDir.resolve("Session_log.json");
+        append(log, new Session(SessionType.WORK, Duration.ofMinutes(25), DAY.atTime(9, 0)));
+        SessionRollup.open(log);
+
+        append(log, new Session(SessionType.WORK, Duration.ofMinutes(25), DAY.atTime(10, 0)),
+                new Session(SessionType.LONG_BREAK, Duration.ofMinutes(15), DAY.minusDays(1).atTime(10, 0)));
+        Files.writeString(log, "{\"type\":\"work\"", StandardOpenOption.APPEND);
+        SessionRollup rollup = SessionRollup.open(log);
+
+        List<long[]> days = days(rollup);
+        assertArrayEquals(new long[]{DAY.minusDays(1).toEpochDay(), 0, 0, 1, 900}, days.get(0));
+        assertArrayEquals(new long[]{DAY.toEpochDay(), 2, 3000, 0, 0}, days.get(1));
+        // The unterminated record is left for the next catch-up
+        assertEquals(Files.size(log) - "{\"type\":\"work\"".length(), rollup.coveredBytes());
+    }
+
+    @Test
+    void testRebuildsWhenTheLogIsRewrittenOrTheSidecarIsCorrupt(@TempDir Path tempDir) throws IOException {
+        Path log = tempDir.resolve("Session_log.json");
+        append(log, new Session(SessionType.WORK, Duration.ofMinutes(25), DAY.atTime(9, 0)),
+                new Session(SessionType.WORK, Duration.ofMinutes(25), DAY.atTime(10, 0)));
+        SessionRollup.open(log);
+
+        Files.delete(log);
+        append(log, new Session(SessionType.WORK, Duration.ofMinutes(45), DAY.atTime(11, 0)),
+                new Session(SessionType.WORK, Duration.ofMinutes(45), DAY.atTime(12, 0)),
+                new Session(SessionType.WORK, Duration.ofMinutes(45), DAY.atTime(13, 0)));
+        assertArrayEquals(new long[]{DAY.toEpochDay(), 3, 8100, 0, 0}, days(SessionRollup.open(log)).get(0));
+
+        Files.write(SessionRollup.sidecarFor(log), new byte[]{1, 2, 3});
+        assertArrayEquals(new long[]{DAY.toEpochDay(), 3, 8100, 0, 0}, days(SessionRollup.open(log)).get(0));
+    }
+
+    @Test
+    void testJournalKeepsTheRollupCurrent(@TempDir Path tempDir) throws IOException {
+        Path log = tempDir.resolve("Session_log.json");
+        try (SessionJournal journal = new SessionJournal(log, FsyncPolicy.OS, 1000, 512)) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(new Session(SessionType.WORK, Duration.ofMinutes(25), DAY.atTime(8 + i, 0)));
+            }
+        }
+
+        SessionRollup rollup = SessionRollup.open(log);
+        assertEquals(Files.size(log), rollup.coveredBytes());
+        assertArrayEquals(new long[]{DAY.toEpochDay(), 10, 15000, 0, 0}, days(rollup).get(0));
+    }
+
+    private static void append(Path log, Session... sessions) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (Session session : sessions) {
+            lines.append(SessionEncoder.toJson(session)).append('\n');
+        }
+        Files.write(log, lines.toString().getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static List<long[]> days(SessionRollup rollup) {
+        List<long[]> days = new ArrayList<>();
+        rollup.forEachDay((day, workCount, workSeconds, breakCount, breakSeconds) ->
+                days.add(new long[]{day, workCount, workSeconds, breakCount, breakSeconds}));
+        return days;
+    }
+}
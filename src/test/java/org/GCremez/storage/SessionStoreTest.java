@@ -0,0 +1,126 @@
+package org.GCremez.storage;
+
+import org.GCremez.model.Session;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+class SessionStoreTest {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 8, 0, 7, 250_000_000);
+    // "   1:   1000000   24000000  java.time.LocalDateTime (java.base@21)"
+    private static final Pattern HISTOGRAM_ROW = Pattern.compile("(?m)^\\s*\\d+:\\s+\\d+\\s+(\\d+)\\s+(\\S+)");
+
+    @Test
+    void testStoresAndReadsBackSessions() {
+        SessionStore store = new SessionStore(0);
+        List<Session> sessions = sessions(1_000);
+        sessions.forEach(store::add);
+
+        assertEquals(1_000, store.size());
+        int i = 0;
+        for (Session session : store) {
+            assertEquals(sessions.get(i).getType(), session.getType());
+            assertEquals(sessions.get(i).getStartTime(), session.getStartTime());
+            assertEquals(sessions.get(i).getDuration(), session.getDuration());
+            i++;
+        }
+
+        SessionStore.Cursor cursor = store.cursor();
+        assertTrue(cursor.next());
+        assertEquals(START, cursor.startTime());
+        assertEquals(START.toEpochSecond(ZoneOffset.UTC), cursor.startEpochSecond());
+        assertEquals(250_000_000, cursor.startNano());
+        int visited = 1;
+        while (cursor.next()) {
+            visited++;
+        }
+        assertEquals(1_000, visited);
+        assertThrows(IndexOutOfBoundsException.class, cursor::type);
+    }
+
+    @Test
+    void testVisitorSeesTheSameSessionsAsTheParser() {
+        SessionStore store = new SessionStore();
+        store.session(SessionType.LONG_BREAK, -1, 999_999_999, 900);
+        store.session(SessionType.WORK, 1_700_000_000, 0, 1500);
+
+        List<String> visited = new ArrayList<>();
+        store.forEach((type, second, nano, duration) -> visited.add(type + " " + second + " " + nano + " " + duration));
+
+        assertEquals(List.of("LONG_BREAK -1 999999999 900", "WORK 1700000000 0 1500"), visited);
+        assertThrows(IllegalArgumentException.class,
+                () -> store.session(SessionType.WORK, Long.MAX_VALUE / 2, 0, 1500));
+    }
+
+    @Test
+    void testUsesAFractionOfTheHeapOfASessionList() throws Exception {
+        int count = 1_000_000;
+        // The first histogram loads classes of its own
+        liveHeapBytes();
+
+        long before = liveHeapBytes();
+        SessionStore store = new SessionStore();
+        LocalDateTime start = START;
+        for (int i = 0; i < count; i++) {
+            store.add(new Session(SessionType.values()[i % 3], Duration.ofSeconds(1500 + i % 7), start));
+            start = start.plusSeconds(1801).plusNanos(1_000);
+        }
+        store.trimToSize();
+        long storeBytes = liveHeapBytes() - before;
+        Reference.reachabilityFence(store);
+        store = null;
+
+        // Built the way loading the log builds them, each with its own date and time objects
+        before = liveHeapBytes();
+        List<Session> list = new ArrayList<>(count);
+        long second = START.toEpochSecond(ZoneOffset.UTC);
+        for (int i = 0; i < count; i++) {
+            list.add(SessionLogParser.toSession(SessionType.values()[i % 3], second + 1801L * i, 250_000_000 + i, 1500 + i % 7));
+        }
+        long listBytes = liveHeapBytes() - before;
+        Reference.reachabilityFence(list);
+
+        // 13 bytes per session against about 124 for the session, its date-time and duration
+        assertTrue(storeBytes < 14L * count, "store took " + storeBytes + " bytes");
+        assertTrue(listBytes > 8 * storeBytes, "list took " + listBytes + " bytes, store " + storeBytes);
+    }
+
+    private static List<Session> sessions(int count) {
+        List<Session> sessions = new ArrayList<>(count);
+        LocalDateTime start = START;
+        for (int i = 0; i < count; i++) {
+            sessions.add(new Session(SessionType.values()[i % 3], Duration.ofSeconds(1500 + i % 7), start));
+            start = start.plusSeconds(1801).plusNanos(1_000);
+        }
+        return sessions;
+    }
+
+    // Live bytes from a class histogram, which runs a full GC first. The collector's filler
+    // objects are left out: they pad retired allocation buffers and belong to no one.
+    private static long liveHeapBytes() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        String histogram = (String) server.invoke(new ObjectName("com.sun.management:type=DiagnosticCommand"),
+                "gcClassHistogram", new Object[]{new String[0]}, new String[]{String[].class.getName()});
+        Matcher matcher = HISTOGRAM_ROW.matcher(histogram);
+        long bytes = 0;
+        while (matcher.find()) {
+            if (!matcher.group(2).contains("FillerArray") && !matcher.group(2).contains("FillerObject")) {
+                bytes += Long.parseLong(matcher.group(1));
+            }
+        }
+        assertTrue(bytes > 0, "empty class histogram");
+        return bytes;
+    }
+}
@@ -0,0 +1,58 @@
+package org.GCremez.timer;
+
+import org.GCremez.util.ExecutionMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ExecutorTimerEngineTest {
+    private ExecutorService executor;
+    private ExecutorTimerEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        executor = ExecutionMode.VIRTUAL.newExecutor("test-timer");
+        engine = new ExecutorTimerEngine(executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testThousandsOfBlockingCountdownsOnVirtualThreads() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            engine.schedule(50, TimeUnit.MILLISECONDS, fired::countDown);
+        }
+
+        assertTrue(fired.await(10, TimeUnit.SECONDS));
+        assertEquals(0, engine.pendingTimeouts());
+    }
+
+    @Test
+    void testCancelInterruptsParkedCountdown() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        TimerEngine.Timeout timeout = engine.schedule(100, TimeUnit.MILLISECONDS, runs::incrementAndGet);
+
+        assertTrue(timeout.cancel());
+        Thread.sleep(200);
+
+        assertEquals(0, runs.get());
+        assertTrue(timeout.isCancelled());
+    }
+
+    @Test
+    void testExecutionModeFromConfig() {
+        assertEquals(ExecutionMode.VIRTUAL, ExecutionMode.fromConfig("virtual"));
+        assertEquals(ExecutionMode.PLATFORM, ExecutionMode.fromConfig(null));
+        assertThrows(IllegalArgumentException.class, () -> ExecutionMode.fromConfig("green"));
+    }
+}
@@ -0,0 +1,71 @@
+package org.GCremez.timer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class HashedWheelTimerEngineTest {
+    private HashedWheelTimerEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new HashedWheelTimerEngine(5, TimeUnit.MILLISECONDS, 64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    void testScheduledTaskFires() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        TimerEngine.Timeout timeout = engine.schedule(20, TimeUnit.MILLISECONDS, fired::countDown);
+
+        assertTrue(fired.await(1, TimeUnit.SECONDS));
+        assertTrue(timeout.isExpired());
+        assertEquals(0, engine.pendingTimeouts());
+    }
+
+    @Test
+    void testCancelledTaskDoesNotFire() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        TimerEngine.Timeout timeout = engine.schedule(50, TimeUnit.MILLISECONDS, runs::incrementAndGet);
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        Thread.sleep(150);
+
+        assertEquals(0, runs.get());
+        assertTrue(timeout.isCancelled());
+        assertEquals(0, engine.pendingTimeouts());
+    }
+
+    @Test
+    void testDelaysBeyondOneRotation() throws InterruptedException {
+        // 64 buckets * 5ms = 320ms per rotation
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        engine.schedule(400, TimeUnit.MILLISECONDS, fired::countDown);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 400);
+    }
+
+    @Test
+    void testManyTimersShareOneThread() throws InterruptedException {
+        int before = Thread.activeCount();
+        CountDownLatch fired = new CountDownLatch(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            engine.schedule(i % 100, TimeUnit.MILLISECONDS, fired::countDown);
+        }
+
+        assertTrue(Thread.activeCount() <= before + 1);
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+    }
+}
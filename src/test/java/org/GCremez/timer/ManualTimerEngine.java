@@ -0,0 +1,87 @@
+package org.GCremez.timer;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deterministic {@link TimerEngine} for tests. Time only moves when {@link #advance} is called,
+ * and due timeouts fire {@code lateness} nanos after their deadline to mimic scheduler jitter.
+ */
+class ManualTimerEngine implements TimerEngine {
+    private final PriorityQueue<ManualTimeout> queue =
+            new PriorityQueue<>((a, b) -> Long.compare(a.deadline, b.deadline));
+    private long now;
+    private long lateness;
+
+    long nanoTime() {
+        return now;
+    }
+
+    void setLateness(long lateness, TimeUnit unit) {
+        this.lateness = unit.toNanos(lateness);
+    }
+
+    void advance(long amount, TimeUnit unit) {
+        long target = now + unit.toNanos(amount);
+        while (!queue.isEmpty() && queue.peek().deadline + lateness <= target) {
+            ManualTimeout timeout = queue.poll();
+            if (timeout.state == ManualTimeout.PENDING) {
+                now = Math.max(now, timeout.deadline + lateness);
+                timeout.state = ManualTimeout.EXPIRED;
+                timeout.task.run();
+            }
+        }
+        now = target;
+    }
+
+    @Override
+    public Timeout schedule(long delay, TimeUnit unit, Runnable task) {
+        ManualTimeout timeout = new ManualTimeout(task, now + unit.toNanos(delay));
+        queue.add(timeout);
+        return timeout;
+    }
+
+    @Override
+    public int pendingTimeouts() {
+        return (int) queue.stream().filter(t -> t.state == ManualTimeout.PENDING).count();
+    }
+
+    @Override
+    public void close() {
+        queue.clear();
+    }
+
+    private static final class ManualTimeout implements Timeout {
+        static final int PENDING = 0;
+        static final int CANCELLED = 1;
+        static final int EXPIRED = 2;
+
+        final Runnable task;
+        final long deadline;
+        int state = PENDING;
+
+        ManualTimeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (state != PENDING) {
+                return false;
+            }
+            state = CANCELLED;
+            return true;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+    }
+}
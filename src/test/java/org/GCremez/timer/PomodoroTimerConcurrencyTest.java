@@ -0,0 +1,139 @@
+package org.GCremez.timer;
+
+import org.GCremez.config.ConfigManager;
+import org.GCremez.service.AnalyticsService;
+import org.GCremez.sound.SoundService;
+import org.GCremez.timer.PomodoroTimer.SessionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class PomodoroTimerConcurrencyTest {
+    private static final int WORK_MINUTES = 25;
+    private static final int BREAK_MINUTES = 5;
+
+    @Mock
+    private ConfigManager configManager;
+    @Mock
+    private SoundService soundService;
+    @Mock
+    private AnalyticsService analyticsService;
+
+    private HashedWheelTimerEngine engine;
+    private PomodoroTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(configManager.getWorkDuration()).thenReturn(WORK_MINUTES);
+        when(configManager.getBreakDuration()).thenReturn(BREAK_MINUTES);
+        engine = new HashedWheelTimerEngine();
+        timer = new PomodoroTimer(configManager, soundService, analyticsService, engine, new HeadlessConsole());
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.close();
+        engine.close();
+    }
+
+    @Test
+    void testSnapshotsAreNeverTornUnderContention() throws InterruptedException {
+        AtomicBoolean stop = new AtomicBoolean();
+        ConcurrentLinkedQueue<String> violations = new ConcurrentLinkedQueue<>();
+        List<String> commands = List.of("pause", "resume", "skip", "status");
+        int writers = 4;
+        int readers = 4;
+        CountDownLatch done = new CountDownLatch(writers + readers);
+
+        for (int w = 0; w < writers; w++) {
+            int seed = w;
+            Thread.ofPlatform().start(() -> {
+                try {
+                    for (int i = 0; !stop.get(); i++) {
+                        switch ((i + seed) % 6) {
+                            case 0 -> timer.startWorkSession();
+                            case 1 -> timer.startBreakSession();
+                            case 5 -> timer.completeSession();
+                            default -> timer.processUserCommand(commands.get((i * 7 + seed) % commands.size()));
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        for (int r = 0; r < readers; r++) {
+            Thread.ofPlatform().start(() -> {
+                try {
+                    int lastFocus = 0;
+                    long lastGeneration = 0;
+                    while (!stop.get()) {
+                        TimerSnapshot s = timer.snapshot();
+                        String problem = check(s, lastFocus, lastGeneration);
+                        if (problem != null) {
+                            violations.add(problem + ": " + s);
+                        }
+                        lastFocus = s.focusCount();
+                        lastGeneration = s.generation();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        Thread.sleep(2000);
+        stop.set(true);
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        assertTrue(violations.isEmpty(), () -> violations.size() + " torn snapshots, e.g. " + violations.peek());
+        timer.completeSession();
+        TimerSnapshot last = timer.snapshot();
+        assertFalse(last.isRunning());
+        assertTrue(last.focusCount() > 0);
+    }
+
+    private static String check(TimerSnapshot s, int lastFocus, long lastGeneration) {
+        if (s.focusCount() < lastFocus) {
+            return "focus count went backwards";
+        }
+        if (s.generation() < lastGeneration) {
+            return "generation went backwards";
+        }
+        switch (s.phase()) {
+            case IDLE:
+                if (s.deadlineNanos() != 0 || s.pausedRemainingNanos() != 0) {
+                    return "idle timer with a deadline";
+                }
+                return null;
+            case RUNNING:
+                if (s.deadlineNanos() == 0 || s.pausedRemainingNanos() != 0) {
+                    return "running timer without a deadline";
+                }
+                break;
+            case PAUSED:
+                if (s.pausedRemainingNanos() > TimeUnit.MINUTES.toNanos(s.durationMinutes())) {
+                    return "paused with more time than the session length";
+                }
+                break;
+        }
+        int expectedMinutes = s.sessionType() == SessionType.WORK ? WORK_MINUTES : BREAK_MINUTES;
+        if (s.durationMinutes() != expectedMinutes) {
+            return "session type does not match its duration";
+        }
+        return null;
+    }
+}
@@ -1,6 +1,10 @@
 package org.GCremez.timer;
 
 import org.GCremez.config.ConfigManager;
+import org.GCremez.event.BackpressurePolicy;
+import org.GCremez.event.TimerEvent;
+import org.GCremez.metrics.Histogram;
+import org.GCremez.metrics.MetricsRegistry;
 import org.GCremez.service.AnalyticsService;
 import org.GCremez.sound.SoundService;
 import org.junit.jupiter.api.Test;
@@ -12,6 +16,16 @@ import org.mockito.MockitoAnnotations;
 
 import static org.mockito.Mockito.*;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 class PomodoroTimerTest {
     
     @Mock
@@ -96,21 +110,222 @@ class PomodoroTimerTest {
     @Test
     void testStartWorkSession() throws InterruptedException {
         pomodoroTimer.startWorkSession();
-        verify(soundService).playWorkSound();
-        verify(analyticsService).logWorkSessionStart();
+        verify(soundService, timeout(1000)).playWorkSound();
+        verify(analyticsService, timeout(1000)).logWorkSessionStart();
     }
 
     @Test
     void testStartBreakSession() throws InterruptedException {
         pomodoroTimer.startBreakSession();
-        verify(soundService).playBreakSound();
-        verify(analyticsService).logBreakSessionStart();
+        verify(soundService, timeout(1000)).playBreakSound();
+        verify(analyticsService, timeout(1000)).logBreakSessionStart();
+    }
+
+    @Test
+    void testStartWorkSessionDoesNotWaitForTheSound() throws InterruptedException {
+        when(configManager.isSoundEnabled()).thenReturn(true);
+        when(configManager.getWorkSoundFile()).thenReturn("sounds/work.wav");
+        when(configManager.getBreakSoundFile()).thenReturn("sounds/break.wav");
+        when(configManager.getSoundVolume()).thenReturn(1.0);
+        ManualTimerEngine engine = new ManualTimerEngine();
+        try (SoundService sound = new SoundService(configManager);
+             PomodoroTimer timer = new PomodoroTimer(configManager, sound, analyticsService,
+                     null, engine, new HeadlessConsole(), engine::nanoTime)) {
+            // Warm up class loading and the JIT on the same path first
+            for (int i = 0; i < 20; i++) {
+                timer.startWorkSession();
+                timer.stopSession();
+            }
+
+            long fastest = Long.MAX_VALUE;
+            for (int i = 0; i < 5; i++) {
+                long started = System.nanoTime();
+                timer.startWorkSession();
+                fastest = Math.min(fastest, System.nanoTime() - started);
+                timer.stopSession();
+            }
+
+            assertTrue(fastest < TimeUnit.MILLISECONDS.toNanos(1), "startWorkSession took " + fastest + "ns");
+        }
     }
 
     @Test
     void testCompleteSession() throws InterruptedException {
         pomodoroTimer.startWorkSession();
         pomodoroTimer.completeSession();
-        verify(analyticsService).logSessionComplete();
+        verify(analyticsService, timeout(1000)).logSessionComplete();
+    }
+
+    @Test
+    void testCountdownDoesNotDriftOverHourLongSession() throws InterruptedException {
+        when(configManager.getWorkDuration()).thenReturn(60);
+        ManualTimerEngine engine = new ManualTimerEngine();
+        engine.setLateness(3, TimeUnit.MILLISECONDS);
+        try (PomodoroTimer timer = new PomodoroTimer(configManager, soundService, analyticsService,
+                null, engine, new HeadlessConsole(), engine::nanoTime)) {
+            long deadline = engine.nanoTime() + TimeUnit.MINUTES.toNanos(60);
+            AtomicLong completedAt = new AtomicLong();
+            CountDownLatch completed = new CountDownLatch(1);
+            timer.eventBus().subscribe("test", event -> {
+                if (event.type() == TimerEvent.Type.COMPLETED) {
+                    completedAt.set(event.timestampNanos());
+                    completed.countDown();
+                }
+            }, 16, BackpressurePolicy.BLOCK);
+
+            timer.startWorkSession();
+            // Observe the countdown once a second with up to 20ms of scheduling jitter per step
+            Random jitter = new Random(42);
+            while (engine.nanoTime() < deadline - TimeUnit.SECONDS.toNanos(2)) {
+                engine.advance(1000 + jitter.nextInt(20), TimeUnit.MILLISECONDS);
+                long expected = deadline - engine.nanoTime();
+                assertEquals(expected, timer.getTimeRemaining().toNanos());
+            }
+            verify(analyticsService, never()).logSessionComplete();
+
+            engine.advance(5, TimeUnit.SECONDS);
+            assertTrue(completed.await(1, TimeUnit.SECONDS));
+            verify(analyticsService, timeout(1000)).logSessionComplete();
+            long driftMillis = TimeUnit.NANOSECONDS.toMillis(completedAt.get() - deadline);
+            assertTrue(driftMillis >= 0 && driftMillis < 5, "Completed " + driftMillis + "ms after the deadline");
+            assertEquals(Duration.ZERO, timer.getTimeRemaining());
+        }
+    }
+
+    @Test
+    void testRecordsWakeUpDriftAndCommandLatency() throws InterruptedException {
+        MetricsRegistry metrics = MetricsRegistry.shared();
+        Histogram.Snapshot driftBefore = metrics.histogram("timer.wakeup.drift.nanos").snapshot();
+        long commandsBefore = metrics.histogram("timer.command.latency.nanos").snapshot().count();
+        long sessionsBefore = metrics.histogram("timer.session.length.seconds").snapshot().count();
+        ManualTimerEngine engine = new ManualTimerEngine();
+        engine.setLateness(3, TimeUnit.MILLISECONDS);
+        try (PomodoroTimer timer = new PomodoroTimer(configManager, soundService, analyticsService,
+                null, engine, new HeadlessConsole(), engine::nanoTime)) {
+            timer.startWorkSession();
+            timer.processUserCommand("status");
+            engine.advance(26, TimeUnit.MINUTES);
+        }
+
+        Histogram.Snapshot drift = metrics.histogram("timer.wakeup.drift.nanos").snapshot();
+        long lateWakeUps = (drift.count() - drift.countAtOrBelow(TimeUnit.MILLISECONDS.toNanos(2)))
+                - (driftBefore.count() - driftBefore.countAtOrBelow(TimeUnit.MILLISECONDS.toNanos(2)));
+        assertEquals(1, lateWakeUps);
+        assertEquals(commandsBefore + 1, metrics.histogram("timer.command.latency.nanos").snapshot().count());
+        assertEquals(sessionsBefore + 1, metrics.histogram("timer.session.length.seconds").snapshot().count());
+    }
+
+    @Test
+    void testTracksActiveAndPausedSessions() throws InterruptedException {
+        MetricsRegistry metrics = MetricsRegistry.shared();
+        // The registry is shared by every timer in the JVM, so only compare against what it held before
+        long activeBefore = metrics.gauge("timer.sessions.active").value();
+        long pausedBefore = metrics.gauge("timer.sessions.paused").value();
+        long pausesBefore = metrics.counter("timer.pauses").sum();
+        long workBefore = metrics.counter("timer.sessions.completed.work").sum();
+        long focusBefore = metrics.counter("timer.focus.seconds").sum();
+        ManualTimerEngine engine = new ManualTimerEngine();
+        try (PomodoroTimer timer = new PomodoroTimer(configManager, soundService, analyticsService,
+                null, engine, new HeadlessConsole(), engine::nanoTime)) {
+            timer.startWorkSession();
+            timer.processUserCommand("pause");
+            assertEquals(activeBefore + 1, metrics.gauge("timer.sessions.active").value());
+            assertEquals(pausedBefore + 1, metrics.gauge("timer.sessions.paused").value());
+
+            timer.processUserCommand("resume");
+            engine.advance(25, TimeUnit.MINUTES);
+
+            assertEquals(activeBefore, metrics.gauge("timer.sessions.active").value());
+            assertEquals(pausedBefore, metrics.gauge("timer.sessions.paused").value());
+            assertEquals(pausesBefore + 1, metrics.counter("timer.pauses").sum());
+            assertEquals(workBefore + 1, metrics.counter("timer.sessions.completed.work").sum());
+            assertEquals(focusBefore + 25 * 60, metrics.counter("timer.focus.seconds").sum());
+        }
+    }
+
+    @Test
+    void testPauseFreezesRemainingTime() throws InterruptedException {
+        ManualTimerEngine engine = new ManualTimerEngine();
+        try (PomodoroTimer timer = new PomodoroTimer(configManager, soundService, analyticsService,
+                null, engine, new HeadlessConsole(), engine::nanoTime)) {
+            timer.startWorkSession();
+            engine.advance(10, TimeUnit.MINUTES);
+            timer.processUserCommand("pause");
+            assertEquals(0, engine.pendingTimeouts());
+
+            engine.advance(2, TimeUnit.HOURS);
+            assertEquals(Duration.ofMinutes(15), timer.getTimeRemaining());
+            verify(analyticsService, never()).logSessionComplete();
+
+            timer.processUserCommand("resume");
+            engine.advance(15, TimeUnit.MINUTES);
+            verify(analyticsService, timeout(1000)).logSessionComplete();
+        }
+    }
+
+    @Test
+    void testPausedTimerUsesNoCpu() throws InterruptedException {
+        HashedWheelTimerEngine engine = new HashedWheelTimerEngine();
+        try (PomodoroTimer timer = new PomodoroTimer(configManager, soundService, analyticsService, engine)) {
+            timer.startWorkSession();
+            timer.processUserCommand("pause");
+            Thread.sleep(50);
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            long workerId = engine.workerThread().threadId();
+            long cpuBefore = threads.getThreadCpuTime(workerId);
+            Thread.sleep(500);
+            long cpuMillis = TimeUnit.NANOSECONDS.toMillis(threads.getThreadCpuTime(workerId) - cpuBefore);
+
+            assertTrue(cpuMillis < 5, "Paused timer burned " + cpuMillis + "ms of CPU in 500ms");
+        } finally {
+            engine.close();
+        }
+    }
+
+    @Test
+    void testTerminalIsCreatedOnFirstInteractiveUse() throws InterruptedException {
+        TerminalConsole console = new TerminalConsole(configManager);
+        try (PomodoroTimer timer = new PomodoroTimer(configManager, soundService, analyticsService, null, console)) {
+            timer.startWorkSession();
+            assertFalse(console.isInitialized());
+
+            timer.processUserCommand("status");
+            assertTrue(console.isInitialized());
+        }
+    }
+
+    @Test
+    void testHeadlessTimerRunsWithoutTerminal() throws InterruptedException {
+        try (PomodoroTimer timer = new PomodoroTimer(configManager, soundService, analyticsService,
+                null, new HeadlessConsole())) {
+            timer.startWorkSession();
+            timer.processUserCommand("status");
+            timer.processUserCommand("stop");
+            assertEquals(Duration.ZERO, timer.getTimeRemaining());
+        }
+    }
+
+    @Test
+    void testTickEventsAlignedToDeadline() throws InterruptedException {
+        when(configManager.getTickIntervalSeconds()).thenReturn(60);
+        ManualTimerEngine engine = new ManualTimerEngine();
+        PomodoroTimer timer = new PomodoroTimer(configManager, soundService, analyticsService,
+                null, engine, new HeadlessConsole(), engine::nanoTime);
+        List<Long> tickRemaining = new CopyOnWriteArrayList<>();
+        timer.eventBus().subscribe("ticks", event -> {
+            if (event.type() == TimerEvent.Type.TICK) {
+                tickRemaining.add(event.remainingNanos());
+            }
+        }, 64, BackpressurePolicy.BLOCK);
+
+        timer.startWorkSession();
+        engine.advance(26, TimeUnit.MINUTES);
+        assertTrue(timer.eventBus().flush(1, TimeUnit.SECONDS));
+
+        assertEquals(24, tickRemaining.size());
+        assertEquals(TimeUnit.MINUTES.toNanos(24), tickRemaining.get(0));
+        assertEquals(TimeUnit.MINUTES.toNanos(1), tickRemaining.get(23));
+        timer.close();
     }
-} 
\ No newline at end of file
+}